@@ -0,0 +1,137 @@
+package com.example.blog.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.blog.BlogPlatformApplication;
+import com.example.blog.entity.Comment;
+import com.example.blog.entity.Post;
+import com.example.blog.service.CommentService;
+import com.example.blog.service.PostService;
+
+/**
+ * Shared set-up for the JMH benchmarks.
+ * <p>
+ * Builds detached entity graphs for the serialization benchmarks and starts
+ * the full application context against a private in-memory H2 database,
+ * shared by JDBC and R2DBC, for the service and controller benchmarks.
+ * </p>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Builds a detached post with the given body size and number of comments.
+     *
+     * @param id           The post ID.
+     * @param contentChars Length of the post body.
+     * @param comments     Number of comments to attach.
+     * @return The post, with back-references set on every comment.
+     */
+    static Post post(long id, int contentChars, int comments) {
+        Post post = new Post(id, "Benchmark post " + id, text(contentChars), new ArrayList<>());
+        post.setVersion(0L);
+        for (int i = 0; i < comments; i++) {
+            post.getComments().add(new Comment(id * 10_000 + i, text(120), post));
+        }
+        return post;
+    }
+
+    /**
+     * Starts the application on a fresh H2 database and seeds it.
+     * <p>
+     * Overrides are passed as command-line arguments so they take precedence
+     * over {@code application.properties}.
+     * </p>
+     *
+     * @param posts           Number of posts to create.
+     * @param commentsPerPost Number of comments to add to every post.
+     * @return The running context; callers close it in their tear-down.
+     */
+    static ConfigurableApplicationContext startContext(int posts, int commentsPerPost) {
+        return startContext(WebApplicationType.NONE, null, posts, commentsPerPost);
+    }
+
+    /**
+     * Starts the application on a fresh H2 database and seeds it.
+     *
+     * @param webType         {@link WebApplicationType#SERVLET} to start
+     *                        Tomcat on a random port, or {@code NONE}.
+     * @param latency         Optional database latency injector; it is installed
+     *                        before the context refreshes, so leave it at zero
+     *                        until seeding is done.
+     * @param posts           Number of posts to create.
+     * @param commentsPerPost Number of comments to add to every post.
+     * @param extraArgs       Additional command-line arguments.
+     * @return The running context; callers close it in their tear-down.
+     */
+    static ConfigurableApplicationContext startContext(WebApplicationType webType, DatabaseLatency latency,
+            int posts, int commentsPerPost, String... extraArgs) {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BlogPlatformApplication.class)
+                .web(webType)
+                .logStartupInfo(false);
+        if (latency != null) {
+            builder.initializers(context -> context.getBeanFactory().addBeanPostProcessor(latency));
+        }
+        String database = "bench-" + UUID.randomUUID();
+        String[] args = Stream.concat(Stream.of(
+                        "--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.r2dbc.url=r2dbc:h2:mem:///" + database + ";DB_CLOSE_DELAY=-1",
+                        "--spring.r2dbc.username=sa",
+                        "--spring.r2dbc.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"),
+                Stream.of(extraArgs))
+                .toArray(String[]::new);
+        ConfigurableApplicationContext context = builder.run(args);
+
+        PostService postService = context.getBean(PostService.class);
+        CommentService commentService = context.getBean(CommentService.class);
+        for (int p = 0; p < posts; p++) {
+            Post post = postService.createPost(new Post("Benchmark post " + p, text(2_000)));
+            List<Comment> comments = new ArrayList<>(commentsPerPost);
+            for (int c = 0; c < commentsPerPost; c++) {
+                Comment comment = new Comment();
+                comment.setContent(text(120));
+                comments.add(comment);
+            }
+            if (!comments.isEmpty()) {
+                commentService.addComments(post.getId(), comments);
+            }
+        }
+        return context;
+    }
+
+    /**
+     * Returns repeatable filler text of the given length.
+     *
+     * @param length Number of characters.
+     * @return The text.
+     */
+    static String text(int length) {
+        StringBuilder sb = new StringBuilder(length);
+        while (sb.length() < length) {
+            sb.append("Lorem ipsum dolor sit amet, consectetur adipiscing elit. ");
+        }
+        sb.setLength(length);
+        return sb.toString();
+    }
+}
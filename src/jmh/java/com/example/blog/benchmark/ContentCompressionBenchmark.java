@@ -0,0 +1,121 @@
+package com.example.blog.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.blog.entity.CompressedTextConverter;
+
+/**
+ * Measures the CPU cost of {@link CompressedTextConverter} against the bytes
+ * it saves, for typical post sizes.
+ * <p>
+ * Post bodies are generated prose with Markdown headings and emphasis
+ * rather than the repeated filler of {@link BenchmarkFixtures#text(int)},
+ * which would compress unrealistically well. The {@code rawBytes} and
+ * {@code storedBytes} secondary results add up the UTF-8 and stored sizes
+ * over all calls; their ratio is the compression ratio.
+ * </p>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContentCompressionBenchmark {
+
+    private static final String[] WORDS = { "the", "a", "of", "and", "to", "in", "is", "that", "for", "with",
+            "query", "index", "cache", "latency", "request", "server", "database", "thread", "memory", "page",
+            "response", "client", "throughput", "benchmark", "compression", "Spring", "Hibernate", "MySQL",
+            "transaction", "connection", "pool", "batch", "stream", "cursor", "post", "comment", "render",
+            "measure", "reduce", "avoid", "because", "when", "which", "every", "instead", "faster", "slower" };
+
+    @Param({ "1000", "10000", "100000" })
+    public int contentChars;
+
+    private String content;
+
+    private byte[] stored;
+
+    /**
+     * Per-thread totals reported as secondary results.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Sizes {
+
+        public long rawBytes;
+
+        public long storedBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rawBytes = 0;
+            storedBytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        content = prose(contentChars);
+        stored = CompressedTextConverter.encode(content);
+    }
+
+    @Benchmark
+    public byte[] compress(Sizes sizes) {
+        byte[] bytes = CompressedTextConverter.encode(content);
+        sizes.rawBytes += content.getBytes(StandardCharsets.UTF_8).length;
+        sizes.storedBytes += bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public String decompress() {
+        return CompressedTextConverter.decode(stored);
+    }
+
+    @Benchmark
+    public byte[] plainUtf8() {
+        return content.getBytes(StandardCharsets.UTF_8); // baseline: what an uncompressed column costs to bind
+    }
+
+    /**
+     * Generates repeatable prose of the given length.
+     */
+    private static String prose(int length) {
+        Random random = new Random(length);
+        StringBuilder sb = new StringBuilder(length + 64);
+        while (sb.length() < length) {
+            if (random.nextInt(12) == 0) {
+                sb.append("\n\n## ");
+            }
+            int sentence = 8 + random.nextInt(14);
+            for (int i = 0; i < sentence; i++) {
+                String word = WORDS[random.nextInt(WORDS.length)];
+                sb.append(random.nextInt(20) == 0 ? "**" + word + "**" : word);
+                sb.append(i == sentence - 1 ? ". " : " ");
+            }
+            sb.append(random.nextInt(1000)).append(' ');
+        }
+        sb.setLength(length);
+        return sb.toString();
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.blog.benchmark;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.example.blog.controller.CommentController;
+import com.example.blog.controller.PostController;
+import com.example.blog.service.PostService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Measures full request round trips through MockMvc: argument resolution,
+ * the service and repository calls, and JSON rendering of the response.
+ * <p>
+ * The controllers come from a running context backed by H2, so caching,
+ * transactions and conditional-request handling behave as in production;
+ * only the servlet container and security filters are left out.
+ * </p>
+ * <p>
+ * {@code getPosts} and {@code getPostSummaries} request the same number of
+ * rows ({@value #LIST_LIMIT}, the largest page the endpoints serve), so their
+ * {@code responseBytes} secondary results ({@link ResponseSizes}) compare
+ * directly. {@link Mode#SampleTime} reports latency percentiles alongside the
+ * average.
+ * </p>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.AverageTime, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ControllerBenchmark {
+
+    static final int LIST_LIMIT = 100;
+
+    private ConfigurableApplicationContext context;
+
+    private MockMvc mockMvc;
+
+    private Long postId;
+
+    private String postETag;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = BenchmarkFixtures.startContext(200, 20);
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(context.getBean(PostController.class), context.getBean(CommentController.class))
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(context.getBean(ObjectMapper.class)))
+                .build();
+        postId = context.getBean(PostService.class).getPostSummariesPage(null, 1).items().get(0).id();
+        postETag = mockMvc.perform(get("/posts/{id}", postId)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] getPostById(ResponseSizes sizes) throws Exception {
+        return sizes.record(mockMvc.perform(get("/posts/{id}", postId)).andReturn().getResponse()
+                .getContentAsByteArray());
+    }
+
+    @Benchmark
+    public int getPostByIdNotModified() throws Exception {
+        return mockMvc.perform(get("/posts/{id}", postId).header(HttpHeaders.IF_NONE_MATCH, postETag))
+                .andReturn().getResponse().getStatus();
+    }
+
+    @Benchmark
+    public byte[] getPosts(ResponseSizes sizes) throws Exception {
+        return sizes.record(mockMvc.perform(get("/posts").param("limit", String.valueOf(LIST_LIMIT)))
+                .andReturn().getResponse().getContentAsByteArray());
+    }
+
+    @Benchmark
+    public byte[] getPostSummaries(ResponseSizes sizes) throws Exception {
+        return sizes.record(mockMvc.perform(get("/posts/summaries").param("limit", String.valueOf(LIST_LIMIT)))
+                .andReturn().getResponse().getContentAsByteArray());
+    }
+
+    @Benchmark
+    public byte[] getComments(ResponseSizes sizes) throws Exception {
+        return sizes.record(mockMvc.perform(get("/posts/{postId}/comments", postId).param("order", "desc"))
+                .andReturn().getResponse().getContentAsByteArray());
+    }
+}
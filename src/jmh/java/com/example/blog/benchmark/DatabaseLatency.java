@@ -0,0 +1,124 @@
+package com.example.blog.benchmark;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import javax.sql.DataSource;
+
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Statement;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Adds a fixed delay to every statement the application runs, to stand in
+ * for a slow remote database while keeping H2 as the backing store.
+ * <p>
+ * The delay is taken while the pooled connection is held, so it occupies a
+ * pool slot exactly as a slow MySQL round trip would. JDBC statements block
+ * the calling thread; R2DBC statements delay their result without blocking.
+ * It can be changed at run time, which lets fixtures seed data at full speed
+ * before the measurement starts.
+ * </p>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+final class DatabaseLatency implements BeanPostProcessor {
+
+    private volatile long millis;
+
+    /**
+     * Sets the delay applied to each subsequent statement.
+     *
+     * @param millis Delay in milliseconds; zero disables it.
+     */
+    void set(long millis) {
+        this.millis = millis;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof DelegatingDataSource)) {
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return proxy(Connection.class, super.getConnection(), this::unchanged, this::sleepBeforePrepare);
+                }
+
+                private Object unchanged(Method method, Object result) {
+                    return result;
+                }
+
+                private void sleepBeforePrepare(Method method) throws InterruptedException {
+                    if (method.getName().startsWith("prepare") && millis > 0) {
+                        TimeUnit.MILLISECONDS.sleep(millis);
+                    }
+                }
+            };
+        }
+        if (bean instanceof ConnectionFactory connectionFactory) {
+            return proxy(ConnectionFactory.class, connectionFactory, this::delayedConnection, method -> {
+            });
+        }
+        return bean;
+    }
+
+    private Object delayedConnection(Method method, Object result) {
+        if (!method.getName().equals("create")) {
+            return result;
+        }
+        return Mono.from((Publisher<?>) result).map(connection -> proxy(io.r2dbc.spi.Connection.class,
+                (io.r2dbc.spi.Connection) connection, this::delayedStatement, m -> {
+                }));
+    }
+
+    private Object delayedStatement(Method method, Object result) {
+        if (!method.getName().equals("createStatement")) {
+            return result;
+        }
+        return proxy(Statement.class, (Statement) result, (m, r) -> {
+            if (m.getName().equals("execute") && millis > 0) {
+                return Flux.from((Publisher<?>) r).delaySubscription(Duration.ofMillis(millis));
+            }
+            return r;
+        }, m -> {
+        });
+    }
+
+    /**
+     * Proxies {@code target} as {@code type}: {@code before} runs ahead of
+     * each call and {@code after} may replace its result. Fluent calls that
+     * return the target itself return the proxy instead.
+     */
+    private static <T> T proxy(Class<T> type, Object target, BiFunction<Method, Object, Object> after,
+            Before before) {
+        Object[] self = new Object[1];
+        self[0] = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+            before.run(method);
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            return result == target ? self[0] : after.apply(method, result);
+        });
+        return type.cast(self[0]);
+    }
+
+    @FunctionalInterface
+    private interface Before {
+        void run(Method method) throws Exception;
+    }
+}
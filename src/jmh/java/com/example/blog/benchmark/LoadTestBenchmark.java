@@ -0,0 +1,145 @@
+package com.example.blog.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.blog.dto.PostSummary;
+import com.example.blog.service.PostService;
+
+/**
+ * Load test comparing the default platform-thread execution mode with the
+ * {@code virtual-threads} profile under a slow database.
+ * <p>
+ * Tomcat is started on a random port and driven over real HTTP by many
+ * concurrent JMH threads; every JDBC and R2DBC statement is delayed by
+ * {@link #latencyMillis} to mimic a slow MySQL. The servlet endpoints are
+ * measured next to their {@code /reactive} counterparts. Each run reports both
+ * throughput and the sampled latency distribution (including p0.99) in
+ * {@code target/jmh-result.json}. Security auto-configuration is excluded so
+ * the numbers reflect request execution and JDBC blocking only.
+ * </p>
+ *
+ * <p>Run with: {@code mvn -Pjmh,load-test -DskipTests verify}</p>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(400)
+@Fork(1)
+public class LoadTestBenchmark {
+
+    @Param({ "platform", "virtual-threads" })
+    public String mode;
+
+    @Param({ "20" })
+    public long latencyMillis;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient client;
+
+    private List<URI> commentUris;
+
+    private List<URI> reactiveCommentUris;
+
+    private URI summariesUri;
+
+    @Setup
+    public void setUp() {
+        DatabaseLatency latency = new DatabaseLatency();
+        context = BenchmarkFixtures.startContext(WebApplicationType.SERVLET, latency, 200, 20,
+                "--server.port=0",
+                "--spring.profiles.active=" + ("platform".equals(mode) ? "default" : mode),
+                "--spring.autoconfigure.exclude="
+                        + "org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration,"
+                        + "org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration");
+        latency.set(latencyMillis);
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        String base = "http://localhost:" + port;
+        summariesUri = URI.create(base + "/posts/summaries");
+        List<Long> postIds = context.getBean(PostService.class).getPostSummariesPage(null, 100).items().stream()
+                .map(PostSummary::id)
+                .toList();
+        commentUris = postIds.stream()
+                .map(id -> URI.create(base + "/posts/" + id + "/comments?order=desc"))
+                .toList();
+        reactiveCommentUris = postIds.stream()
+                .map(id -> URI.create(base + "/reactive/posts/" + id + "/comments"))
+                .toList();
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * One comments page: a version query and a keyset page query.
+     */
+    @Benchmark
+    public int getComments() throws IOException, InterruptedException {
+        URI uri = commentUris.get(ThreadLocalRandom.current().nextInt(commentUris.size()));
+        return send(uri);
+    }
+
+    /**
+     * The same comments through the non-blocking R2DBC endpoint: a single
+     * query, streamed as NDJSON.
+     */
+    @Benchmark
+    public int getCommentsReactive() throws IOException, InterruptedException {
+        URI uri = reactiveCommentUris.get(ThreadLocalRandom.current().nextInt(reactiveCommentUris.size()));
+        return send(uri);
+    }
+
+    /**
+     * One page of post summaries: a single projection query.
+     */
+    @Benchmark
+    public int getPostSummaries() throws IOException, InterruptedException {
+        return send(summariesUri);
+    }
+
+    private int send(URI uri) throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri).GET().build(),
+                HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(uri + " returned " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.blog.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.example.blog.dto.PostSummary;
+import com.example.blog.entity.Post;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Measures Jackson serialization of a {@link Post} and its comments.
+ * <p>
+ * The mapper is configured the way Spring MVC configures its own, so the
+ * numbers track what a {@code GET /posts/{id}} response costs to render.
+ * A {@link PostSummary} of the same post is serialized for comparison.
+ * </p>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PostSerializationBenchmark {
+
+    @Param({ "0", "10", "100" })
+    public int comments;
+
+    @Param({ "500", "10000" })
+    public int contentChars;
+
+    private ObjectMapper objectMapper;
+
+    private Post post;
+
+    private PostSummary summary;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        post = BenchmarkFixtures.post(1L, contentChars, comments);
+        summary = new PostSummary(post.getId(), post.getTitle(),
+                post.getContent().substring(0, Math.min(contentChars, PostSummary.EXCERPT_LENGTH)), comments);
+    }
+
+    @Benchmark
+    public byte[] serializePost() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(post);
+    }
+
+    @Benchmark
+    public byte[] serializeSummary() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(summary);
+    }
+}
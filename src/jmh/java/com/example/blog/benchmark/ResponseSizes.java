@@ -0,0 +1,42 @@
+package com.example.blog.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Per-thread totals of serialized response sizes, reported as secondary
+ * results; {@code responseBytes / responses} is the mean body size of an
+ * operation.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class ResponseSizes {
+
+    public long responses;
+
+    public long responseBytes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        responses = 0;
+        responseBytes = 0;
+    }
+
+    /**
+     * Counts one serialized response.
+     *
+     * @param body The serialized body.
+     * @return {@code body}, so benchmarks can return it.
+     */
+    byte[] record(byte[] body) {
+        responses++;
+        responseBytes += body.length;
+        return body;
+    }
+}
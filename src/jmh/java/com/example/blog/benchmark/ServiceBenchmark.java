@@ -0,0 +1,145 @@
+package com.example.blog.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.blog.config.CacheConfig;
+import com.example.blog.dto.PostSearchResult;
+import com.example.blog.dto.PostVersion;
+import com.example.blog.dto.PostView;
+import com.example.blog.entity.Comment;
+import com.example.blog.pagination.CursorPage;
+import com.example.blog.pagination.PageHeaders;
+import com.example.blog.search.PostSearchService;
+import com.example.blog.service.CommentService;
+import com.example.blog.service.PostService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Measures {@link PostService} and {@link CommentService} read paths against
+ * an embedded H2 database.
+ * <p>
+ * {@code getAllPosts}, {@code getPostsPage} and {@code getPostSummariesPage}
+ * all read every one of the {@code posts} rows and serialize the result, so
+ * they can be compared directly: the first loads the posts through
+ * {@code findAll()} and their comments lazily, the second batch-fetches the
+ * comments, and the third projects summaries. The {@code responseBytes}
+ * secondary result ({@link ResponseSizes}) shows the JSON each one produces;
+ * {@link Mode#SampleTime} reports latency percentiles alongside the average.
+ * </p>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.AverageTime, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceBenchmark {
+
+    @Param({ "100", "1000" })
+    public int posts;
+
+    @Param({ "10" })
+    public int commentsPerPost;
+
+    private ConfigurableApplicationContext context;
+
+    private PostService postService;
+
+    private CommentService commentService;
+
+    private CacheManager cacheManager;
+
+    private PostSearchService postSearchService;
+
+    private ObjectMapper objectMapper;
+
+    private TransactionTemplate readOnly;
+
+    private Long postId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkFixtures.startContext(posts, commentsPerPost);
+        postService = context.getBean(PostService.class);
+        commentService = context.getBean(CommentService.class);
+        cacheManager = context.getBean(CacheManager.class);
+        postSearchService = context.getBean(PostSearchService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        postId = postService.getPostSummariesPage(null, 1).items().get(0).id();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] getAllPosts(ResponseSizes sizes) throws JsonProcessingException {
+        // comments are lazy; load them while the session is open, as rendering the entities would
+        List<PostView> views = readOnly.execute(status -> postService.getAllPosts().stream()
+                .map(PostView::from)
+                .toList());
+        return sizes.record(objectMapper.writeValueAsBytes(views));
+    }
+
+    @Benchmark
+    public byte[] getPostsPage(ResponseSizes sizes) throws JsonProcessingException {
+        return sizes.record(objectMapper.writeValueAsBytes(postService.getPostsPage(null, posts).items()));
+    }
+
+    @Benchmark
+    public byte[] getPostSummariesPage(ResponseSizes sizes) throws JsonProcessingException {
+        return sizes.record(objectMapper.writeValueAsBytes(postService.getPostSummariesPage(null, posts).items()));
+    }
+
+    @Benchmark
+    public byte[] getPostJsonCached(ResponseSizes sizes) {
+        return sizes.record(postService.getPostJson(postId).body());
+    }
+
+    @Benchmark
+    public byte[] getPostJsonUncached(ResponseSizes sizes) {
+        cacheManager.getCache(CacheConfig.POST_JSON).evict(postId);
+        return sizes.record(postService.getPostJson(postId).body());
+    }
+
+    @Benchmark
+    public CursorPage<Comment> getCommentsPage() {
+        return commentService.getCommentsPage(postId, null, PageHeaders.DEFAULT_LIMIT, Sort.Direction.DESC);
+    }
+
+    @Benchmark
+    public List<PostSearchResult> search() {
+        return postSearchService.search("lorem benchmark", PageHeaders.DEFAULT_LIMIT);
+    }
+
+    @Benchmark
+    public PostVersion getCommentsVersion() {
+        return commentService.getCommentsVersion(postId);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.blog.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Enables {@code @Async} methods.
+ * <p>
+ * They run on Spring Boot's {@code applicationTaskExecutor}, which uses
+ * virtual threads when the {@code virtual-threads} profile is active.
+ * </p>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
@@ -0,0 +1,43 @@
+package com.example.blog.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables Spring's annotation-driven caching.
+ * <p>
+ * The cache manager itself is auto-configured from the
+ * {@code spring.cache.*} properties, which select Caffeine and define the
+ * size bound, TTL and statistics recording for each cache.
+ * </p>
+ *
+ * <h3>Caches:</h3>
+ * <ul>
+ * <li>{@value #POST_JSON} - serialized {@code PostJson} bytes keyed by post ID.</li>
+ * <li>{@value #POST_HTML} - {@code RenderedPost} HTML keyed by post ID.</li>
+ * </ul>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Name of the read-through cache in front of {@code PostService.getPostJson}.
+     * <p>
+     * Entries are evicted by {@code ClusterCacheInvalidator} after every
+     * committed change to the post or its comments, on every node, so a hit
+     * needs no version lookup.
+     * </p>
+     */
+    public static final String POST_JSON = "post-json";
+
+    /**
+     * Name of the read-through cache in front of
+     * {@code PostRenderService.getRendered}; evicted whenever a new rendering
+     * is stored, not on every post write.
+     */
+    public static final String POST_HTML = "post-html";
+}
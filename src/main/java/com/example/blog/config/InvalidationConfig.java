@@ -0,0 +1,70 @@
+package com.example.blog.config;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.NetworkInterface;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.blog.invalidation.InvalidationBus;
+import com.example.blog.invalidation.LoopbackInvalidationBus;
+import com.example.blog.invalidation.MulticastInvalidationBus;
+
+/**
+ * Selects the transport for cross-node cache invalidation with
+ * {@code blog.invalidation.transport}.
+ *
+ * <h3>Transports:</h3>
+ * <ul>
+ * <li>{@code loopback} (default) - in-JVM only; a no-op for a single node,
+ * and lets tests run several application contexts as a cluster.</li>
+ * <li>{@code multicast} - UDP multicast to {@code blog.invalidation.multicast.group}
+ * and {@code port}, for several nodes behind a load balancer.</li>
+ * </ul>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+@Configuration
+public class InvalidationConfig {
+
+    /**
+     * In-JVM transport.
+     *
+     * @param channel Contexts with the same channel name see each other's messages.
+     * @return The bus.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "blog.invalidation.transport", havingValue = "loopback", matchIfMissing = true)
+    public InvalidationBus loopbackInvalidationBus(
+            @Value("${blog.invalidation.loopback.channel:default}") String channel) {
+        return new LoopbackInvalidationBus(channel);
+    }
+
+    /**
+     * UDP multicast transport.
+     *
+     * @param group         The multicast group address.
+     * @param port          The UDP port.
+     * @param interfaceName The network interface to join on, or blank for the default.
+     * @param timeToLive    The number of router hops datagrams may cross.
+     * @return The bus.
+     * @throws IOException if the group or interface cannot be resolved.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "blog.invalidation.transport", havingValue = "multicast")
+    public InvalidationBus multicastInvalidationBus(
+            @Value("${blog.invalidation.multicast.group:239.255.42.99}") String group,
+            @Value("${blog.invalidation.multicast.port:45599}") int port,
+            @Value("${blog.invalidation.multicast.interface:}") String interfaceName,
+            @Value("${blog.invalidation.multicast.ttl:1}") int timeToLive) throws IOException {
+        NetworkInterface networkInterface = interfaceName.isBlank() ? null : NetworkInterface.getByName(interfaceName);
+        if (!interfaceName.isBlank() && networkInterface == null) {
+            throw new IOException("No network interface named " + interfaceName);
+        }
+        return new MulticastInvalidationBus(InetAddress.getByName(group), port, networkInterface, timeToLive);
+    }
+}
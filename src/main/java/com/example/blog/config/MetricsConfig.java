@@ -0,0 +1,100 @@
+package com.example.blog.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.example.blog.metrics.EntityLoadCounter;
+import com.example.blog.metrics.QueryBudgetInterceptor;
+import com.example.blog.metrics.RequestMetricsInterceptor;
+import com.example.blog.metrics.StatementCounter;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Application metrics, scraped from {@code /actuator/prometheus}.
+ * <p>
+ * Spring Boot already records request latency ({@code http.server.requests}),
+ * repository latency ({@code spring.data.repository.invocations}), Hikari
+ * pool waits ({@code hikaricp.connections.acquire}) and Hibernate
+ * statistics ({@code hibernate.*}); histograms for them are switched on in
+ * {@code application.properties}. This class adds:
+ * </p>
+ * <ul>
+ * <li>{@code @Timed} support, used by the services.</li>
+ * <li>A count of entities loaded per request, from {@link EntityLoadCounter}
+ * and {@link RequestMetricsInterceptor}.</li>
+ * <li>A per-request query budget for the {@code /posts} endpoints, from
+ * {@link StatementCounter} and {@link QueryBudgetInterceptor}, which logs
+ * (or, with {@code blog.query-budget.reject=true}, rejects) requests that
+ * issue too many SQL statements or load too many entities, e.g. after an
+ * N+1 regression.</li>
+ * </ul>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry registry;
+
+    @Value("${blog.query-budget.enabled:true}")
+    private boolean queryBudgetEnabled;
+
+    @Value("${blog.query-budget.max-statements:20}")
+    private int maxStatements;
+
+    @Value("${blog.query-budget.max-rows:5000}")
+    private long maxRows;
+
+    @Value("${blog.query-budget.reject:false}")
+    private boolean rejectOverBudget;
+
+    /**
+     * @param registry The application's meter registry.
+     */
+    public MetricsConfig(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Records {@code @Timed} methods as timers.
+     *
+     * @return The aspect.
+     */
+    @Bean
+    public TimedAspect timedAspect() {
+        return new TimedAspect(registry);
+    }
+
+    /**
+     * Installs the entity-load counter as Hibernate's session factory
+     * interceptor and the statement counter as its statement inspector.
+     *
+     * @return The customizer.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer queryCounters() {
+        return properties -> {
+            properties.put(AvailableSettings.INTERCEPTOR, new EntityLoadCounter());
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatementCounter());
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry interceptors) {
+        interceptors.addInterceptor(new RequestMetricsInterceptor(registry));
+        if (queryBudgetEnabled) {
+            // PostController and CommentController
+            interceptors.addInterceptor(new QueryBudgetInterceptor(registry, maxStatements, maxRows, rejectOverBudget))
+                    .addPathPatterns("/posts", "/posts/**")
+                    .excludePathPatterns("/posts/import"); // bulk writes are unbounded by design
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.blog.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs such as
+ * {@link com.example.blog.service.CommentCountRepairJob}.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,49 @@
+package com.example.blog.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.blog.dto.CacheStatistics;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Exposes hit, miss and eviction counters for the application's caches.
+ * <p>
+ * Only Caffeine-backed caches are reported; statistics are recorded because
+ * the cache spec includes {@code recordStats}.
+ * </p>
+ *
+ * @author Your Name
+ */
+@RestController
+@RequestMapping("/cache")
+public class CacheStatsController {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    /**
+     * Retrieves the current statistics of every Caffeine cache.
+     *
+     * @return A list of {@link CacheStatistics}, one per cache.
+     */
+    @GetMapping("/stats")
+    public List<CacheStatistics> getCacheStats() {
+        return cacheManager.getCacheNames().stream()
+                .map(cacheManager::getCache)
+                .filter(CaffeineCache.class::isInstance)
+                .map(CaffeineCache.class::cast)
+                .map(cache -> {
+                    CacheStats stats = cache.getNativeCache().stats();
+                    return new CacheStatistics(cache.getName(), stats.hitCount(), stats.missCount(),
+                            stats.evictionCount(), stats.hitRate(), cache.getNativeCache().estimatedSize());
+                })
+                .toList();
+    }
+}
@@ -1,18 +1,35 @@
 package com.example.blog.controller;
 
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.example.blog.dto.CommentBatchResult;
+import com.example.blog.dto.CommentReceipt;
+import com.example.blog.dto.CommentView;
+import com.example.blog.dto.PostVersion;
 import com.example.blog.entity.Comment;
+import com.example.blog.pagination.Cursor;
+import com.example.blog.pagination.CursorPage;
+import com.example.blog.pagination.PageHeaders;
 import com.example.blog.service.CommentService;
+import com.example.blog.service.CommentWriteBehindQueue;
+import com.example.blog.web.ETags;
+
+import jakarta.validation.ConstraintViolationException;
 
 
 
@@ -21,7 +38,8 @@ import com.example.blog.service.CommentService;
  * Provides endpoints to fetch and add comments associated with a blog post.
  *
  * <p>
- * This controller maps requests to "posts/{postId}/comments" and interacts with
+ * This controller maps requests to "posts/{postId}/comments" (and
+ * "posts/{postId}/comments:batch" for bulk inserts) and interacts with
  * the {@link CommentService} to manage comment data.
  * </p>
  *
@@ -32,9 +50,14 @@ import com.example.blog.service.CommentService;
  * @author Sohaib Khan
  */
 @RestController
-@RequestMapping("/posts/{postId}/comments")
+@RequestMapping("/posts/{postId}")
 public class CommentController {
 
+    /**
+     * Maximum number of comments accepted by a single batch request.
+     */
+    static final int MAX_BATCH_SIZE = 1000;
+
     /**
      * Service layer dependency for handling comment-related business logic.
      */
@@ -42,29 +65,92 @@ public class CommentController {
     private CommentService commentService;
 
     /**
-     * Retrieves all comments associated with a specific post.
+     * Present only when {@code blog.comments.write-behind.enabled=true}.
+     */
+    @Autowired(required = false)
+    private CommentWriteBehindQueue writeBehindQueue;
+
+    /**
+     * Retrieves a page of the comments associated with a specific post.
+     * <p>
+     * Comments are paged with a keyset cursor over {@code (post_id, id)}; when
+     * more comments exist, the response carries {@code Link: <...>; rel="next"}
+     * and {@code X-Next-Cursor} headers. The response also carries a strong
+     * {@code ETag} derived from the post's version, which every comment write
+     * bumps. The version is read by primary key first, so a matching
+     * {@code If-None-Match} returns 304 Not Modified without touching the
+     * comments table.
+     * </p>
      *
-     * @param postId The unique identifier of the post.
-     * @return List of comments belonging to the specified post.
-     * @throws IllegalArgumentException if postId is null or invalid.
+     * @param postId  The unique identifier of the post.
+     * @param after   Opaque continuation token from the previous page, or
+     *                absent for the first page.
+     * @param limit   Maximum number of comments to return (clamped to 1..100).
+     * @param order   {@code asc} for oldest first (default) or {@code desc} for
+     *                newest first.
+     * @param request The current request, inspected for conditional headers.
+     * @return A page of comments belonging to the specified post, 304 Not
+     *         Modified if the client's copy is current, 400 Bad Request if the
+     *         cursor or order is malformed, or 404 Not Found if the post does
+     *         not exist.
      *
-     *                                  <p>
-     *                                  <b>Time Complexity:</b> O(n), where n is the
-     *                                  number of comments for the given post.
-     *                                  </p>
+     *         <p>
+     *         <b>Time Complexity:</b> One primary-key lookup plus an index seek
+     *         returning {@code limit + 1} rows; neither depends on the number
+     *         of comments on the post.
+     *         </p>
      */
-    @GetMapping
-    public List<Comment> getCommentsByPostId(@PathVariable Long postId) {
-        return commentService.getCommentsByPostId(postId);
+    @GetMapping("/comments")
+    public ResponseEntity<List<CommentView>> getCommentsByPostId(@PathVariable Long postId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + PageHeaders.DEFAULT_LIMIT) int limit,
+            @RequestParam(defaultValue = "asc") String order,
+            WebRequest request) {
+        Long afterId;
+        Sort.Direction direction;
+        try {
+            afterId = Cursor.decode(after);
+            direction = Sort.Direction.fromString(order);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        PostVersion version = commentService.getCommentsVersion(postId);
+        if (version == null) {
+            return ResponseEntity.notFound().build();
+        }
+        String eTag = ETags.forComments(postId, version.version());
+        long lastModified = ETags.lastModified(version.updatedAt());
+        if (request.checkNotModified(eTag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+
+        int pageSize = PageHeaders.clampLimit(limit);
+        CursorPage<Comment> page = commentService.getCommentsPage(postId, afterId, pageSize, direction);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .headers(PageHeaders.forPage(page, pageSize))
+                .eTag(eTag);
+        if (lastModified >= 0) {
+            response.lastModified(lastModified);
+        }
+        return response.body(page.items().stream().map(CommentView::from).toList());
     }
 
     /**
      * Adds a new comment to a specific post.
+     * <p>
+     * In write-behind mode the comment is validated, journaled and queued,
+     * and the response is 202 Accepted with a {@link CommentReceipt}; the
+     * post's existence is checked only when the queue is flushed.
+     * </p>
      *
      * @param postId  The unique identifier of the post.
      * @param comment The comment entity containing the content.
-     * @return ResponseEntity containing the created comment or a 404 Not Found if
-     *         the post does not exist.
+     * @return ResponseEntity containing the created comment, 400 Bad Request if
+     *         the comment is invalid, or 404 Not Found if the post does not
+     *         exist; in write-behind mode, 202 Accepted with a receipt, 400 Bad
+     *         Request if the comment is invalid, or 503 Service Unavailable if
+     *         the queue is full.
      *
      *         <p>
      *         <b>Constraints:</b>
@@ -77,9 +163,50 @@ public class CommentController {
      *         database operation.
      *         </p>
      */
-    @PostMapping
-    public ResponseEntity<Comment> addComment(@PathVariable Long postId, @RequestBody Comment comment) {
-        Comment createdComment = commentService.addComment(postId, comment);
+    @PostMapping("/comments")
+    public ResponseEntity<?> addComment(@PathVariable Long postId, @RequestBody Comment comment) {
+        if (writeBehindQueue != null) {
+            try {
+                return ResponseEntity.accepted().body(writeBehindQueue.submit(postId, comment));
+            } catch (ConstraintViolationException e) {
+                return ResponseEntity.badRequest().build();
+            } catch (RejectedExecutionException e) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1")
+                        .build();
+            }
+        }
+        Comment createdComment;
+        try {
+            createdComment = commentService.addComment(postId, comment);
+        } catch (ConstraintViolationException e) {
+            return ResponseEntity.badRequest().build();
+        }
         return createdComment != null ? ResponseEntity.ok(createdComment) : ResponseEntity.notFound().build();
     }
+
+    /**
+     * Adds many comments to a specific post in a single request.
+     *
+     * @param postId   The unique identifier of the post.
+     * @param comments The comments to add (at most {@value #MAX_BATCH_SIZE}).
+     * @return ResponseEntity containing one result per submitted comment (its
+     *         new ID, or the validation error that caused it to be skipped),
+     *         400 Bad Request if the batch is too large, or 404 Not Found if
+     *         the post does not exist.
+     *
+     *         <p>
+     *         <b>Performance:</b> The post is validated once and the inserts
+     *         are sent as JDBC batches, so the cost is a handful of round trips
+     *         rather than one per comment.
+     *         </p>
+     */
+    @PostMapping("/comments:batch")
+    public ResponseEntity<List<CommentBatchResult>> addComments(@PathVariable Long postId,
+            @RequestBody List<Comment> comments) {
+        if (comments.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<CommentBatchResult> results = commentService.addComments(postId, comments);
+        return results != null ? ResponseEntity.ok(results) : ResponseEntity.notFound().build();
+    }
 }
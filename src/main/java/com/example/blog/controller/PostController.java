@@ -1,20 +1,46 @@
 package com.example.blog.controller;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.blog.dto.PostJson;
+import com.example.blog.dto.PostPatch;
+import com.example.blog.dto.PostSearchResult;
+import com.example.blog.dto.PostSummary;
+import com.example.blog.dto.PostVersion;
+import com.example.blog.dto.RenderedPost;
 import com.example.blog.entity.Post;
+import com.example.blog.feed.PostFeedService;
+import com.example.blog.pagination.Cursor;
+import com.example.blog.pagination.CursorPage;
+import com.example.blog.pagination.PageHeaders;
+import com.example.blog.render.PostRenderService;
+import com.example.blog.search.PostSearchService;
+import com.example.blog.service.PostImportService;
 import com.example.blog.service.PostService;
+import com.example.blog.web.ETags;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import jakarta.validation.ConstraintViolationException;
 
 /**
  * Controller for handling CRUD operations for blog posts.
@@ -26,30 +52,237 @@ import com.example.blog.service.PostService;
 @RequestMapping("/posts")
 public class PostController {
 
+    /**
+     * Media type of a JSON Merge Patch document (RFC 7396).
+     */
+    static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
     @Autowired
     private PostService postService;
 
+    @Autowired
+    private PostSearchService postSearchService;
+
+    @Autowired
+    private PostFeedService postFeedService;
+
+    @Autowired
+    private PostImportService postImportService;
+
+    @Autowired
+    private PostRenderService postRenderService;
+
     /**
-     * Retrieves all posts from the database.
+     * Retrieves a page of posts using keyset pagination.
+     * <p>
+     * Posts are returned in ascending ID order. When more posts exist, the
+     * response carries a {@code Link: <...>; rel="next"} header and an
+     * {@code X-Next-Cursor} header whose value is passed back as {@code after}.
+     * </p>
      *
-     * @return a list of {@link Post} objects.
+     * @param after Opaque continuation token from the previous page, or absent
+     *              for the first page.
+     * @param limit Maximum number of posts to return (clamped to 1..100).
+     * @return {@link ResponseEntity} containing the page of {@link Post} objects,
+     *         or 400 Bad Request if the cursor is malformed.
      */
     @GetMapping
-    public List<Post> getAllPosts() {
-        return postService.getAllPosts();
+    public ResponseEntity<List<Post>> getAllPosts(@RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + PageHeaders.DEFAULT_LIMIT) int limit) {
+        Long afterId;
+        try {
+            afterId = Cursor.decode(after);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        int pageSize = PageHeaders.clampLimit(limit);
+        CursorPage<Post> page = postService.getPostsPage(afterId, pageSize);
+        return ResponseEntity.ok().headers(PageHeaders.forPage(page, pageSize)).body(page.items());
+    }
+
+    /**
+     * Retrieves a page of post summaries (ID, title, excerpt, comment count).
+     * <p>
+     * Intended for list views: the response omits full content and comment
+     * bodies, and is paged the same way as {@link #getAllPosts(String, int)}.
+     * </p>
+     *
+     * @param after Opaque continuation token from the previous page, or absent
+     *              for the first page.
+     * @param limit Maximum number of summaries to return (clamped to 1..100).
+     * @return {@link ResponseEntity} containing the page of {@link PostSummary}
+     *         objects, or 400 Bad Request if the cursor is malformed.
+     */
+    @GetMapping("/summaries")
+    public ResponseEntity<List<PostSummary>> getPostSummaries(@RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + PageHeaders.DEFAULT_LIMIT) int limit) {
+        Long afterId;
+        try {
+            afterId = Cursor.decode(after);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        int pageSize = PageHeaders.clampLimit(limit);
+        CursorPage<PostSummary> page = postService.getPostSummariesPage(afterId, pageSize);
+        return ResponseEntity.ok().headers(PageHeaders.forPage(page, pageSize)).body(page.items());
+    }
+
+    /**
+     * Retrieves summaries of the newest posts, newest first.
+     * <p>
+     * Served from an in-memory feed without touching the database; comment
+     * counts may lag by up to the feed's reconciliation interval.
+     * </p>
+     *
+     * @param limit Maximum number of summaries to return (clamped to 1..100
+     *              and to the feed size).
+     * @return {@link ResponseEntity} containing the newest {@link PostSummary}
+     *         objects.
+     */
+    @GetMapping("/feed")
+    public ResponseEntity<List<PostSummary>> getLatestPosts(
+            @RequestParam(defaultValue = "" + PageHeaders.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(postFeedService.latest(Math.min(PageHeaders.clampLimit(limit), postFeedService.size())));
+    }
+
+    /**
+     * Exports every post as newline-delimited JSON ({@code application/x-ndjson}).
+     * <p>
+     * The body is written asynchronously while the posts table is read
+     * through a database cursor, so neither the server nor the database
+     * driver buffers the full result.
+     * </p>
+     *
+     * @return {@link ResponseEntity} whose body streams one post per line.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportPosts() {
+        StreamingResponseBody body = out -> postService.exportPosts(out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Imports posts in bulk from a JSON array or NDJSON body.
+     * <p>
+     * The body is parsed incrementally while posts are stored in chunked
+     * transactions, so uploads of any size are processed in constant memory.
+     * The response streams NDJSON progress: one line per rejected record,
+     * running totals after every chunk, and the final totals; see
+     * {@link PostImportService}.
+     * </p>
+     *
+     * @param body The request body, read as it arrives.
+     * @return {@link ResponseEntity} whose body streams the progress report.
+     */
+    @PostMapping(value = "/import", consumes = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE }, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importPosts(InputStream body) {
+        StreamingResponseBody report = out -> postImportService.importPosts(body, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(report);
+    }
+
+    /**
+     * Searches post titles and content.
+     * <p>
+     * Matching and ranking (BM25) run against an in-process inverted index;
+     * the database is not queried.
+     * </p>
+     *
+     * @param q     The free-text query.
+     * @param limit Maximum number of results (clamped to 1..100).
+     * @return {@link ResponseEntity} containing the ranked results, or 400 Bad
+     *         Request if the query is blank.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<PostSearchResult>> searchPosts(@RequestParam String q,
+            @RequestParam(defaultValue = "" + PageHeaders.DEFAULT_LIMIT) int limit) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(postSearchService.search(q, PageHeaders.clampLimit(limit)));
     }
 
     /**
      * Retrieves a specific post by its ID.
+     * <p>
+     * Responses carry a strong {@code ETag} and a {@code Last-Modified} header.
+     * The body is the post's cached, pre-serialized JSON, so a cache hit
+     * issues no SQL and copies bytes to the response without building or
+     * reflecting over an object graph. Conditional requests are answered
+     * from the same entry's version and modification time, so a 304 Not
+     * Modified for a cached post does not touch the database either.
+     * </p>
      *
-     * @param id The ID of the post to retrieve.
-     * @return {@link ResponseEntity} containing the post if found, or 404 Not Found
-     *         if the post does not exist.
+     * @param id      The ID of the post to retrieve.
+     * @param request The current request, inspected for conditional headers.
+     * @return {@link ResponseEntity} containing the post's JSON if found, 304
+     *         Not Modified if the client's copy is current, or 404 Not Found if
+     *         the post does not exist.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Post> getPostById(@PathVariable Long id) {
-        Post post = postService.getPostById(id);
-        return post != null ? ResponseEntity.ok(post) : ResponseEntity.notFound().build();
+    public ResponseEntity<byte[]> getPostById(@PathVariable Long id, WebRequest request) {
+        PostJson post = postService.getPostJson(id);
+        if (post != null && post.version() != null && ETags.isConditional(request)
+                && request.checkNotModified(ETags.forPost(id, post.version()), ETags.lastModified(post.updatedAt()))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return postJsonResponse(post);
+    }
+
+    /**
+     * Builds a 200 response carrying a post's JSON with its {@code ETag} and
+     * {@code Last-Modified} headers, or 404 if the post is missing.
+     */
+    private static ResponseEntity<byte[]> postJsonResponse(PostJson post) {
+        if (post == null) {
+            return ResponseEntity.notFound().build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (post.version() != null) {
+            response.eTag(ETags.forPost(post.id(), post.version()));
+        }
+        if (post.updatedAt() != null) {
+            response.lastModified(post.updatedAt());
+        }
+        return response.body(post.body()); // cached bytes, written as-is
+    }
+
+    /**
+     * Retrieves a post's content rendered from Markdown to sanitized HTML.
+     * <p>
+     * The HTML is rendered in the background when the content is written and
+     * served from storage here; a read never renders. Right after a write it
+     * may still reflect the previous content. A post that has not been
+     * rendered yet is queued, and 503 Service Unavailable with
+     * {@code Retry-After} is returned meanwhile. The {@code ETag} names the
+     * post version the HTML was rendered from.
+     * </p>
+     *
+     * @param id      The ID of the post.
+     * @param request The current request, inspected for conditional headers.
+     * @return {@link ResponseEntity} containing the HTML fragment, 304 Not
+     *         Modified if the client's copy is current, 503 Service
+     *         Unavailable if the post is still being rendered, or 404 Not
+     *         Found if the post does not exist.
+     */
+    @GetMapping("/{id}/rendered")
+    public ResponseEntity<byte[]> getRenderedPost(@PathVariable Long id, WebRequest request) {
+        RenderedPost rendered = postRenderService.getRendered(id);
+        if (rendered == null) {
+            if (postService.getPostVersion(id) == null) {
+                return ResponseEntity.notFound().build();
+            }
+            postRenderService.requestRender(id);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+        }
+        String etag = ETags.forRendered(id, rendered.version());
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8))
+                .eTag(etag)
+                .body(rendered.html());
     }
 
     /**
@@ -65,16 +298,66 @@ public class PostController {
 
     /**
      * Updates an existing blog post.
+     * <p>
+     * The title and content are written with a single UPDATE; the response
+     * then carries the post's current representation (read through the post
+     * JSON cache, which the next GET would fill anyway) and its new
+     * {@code ETag}.
+     * </p>
      *
      * @param id          The ID of the post to update.
      * @param postDetails The updated post details.
-     * @return {@link ResponseEntity} containing the updated post if successful, or
-     *         404 Not Found if the post does not exist.
+     * @return {@link ResponseEntity} containing the updated post's JSON if
+     *         successful, 400 Bad Request if the title or content is invalid,
+     *         or 404 Not Found if the post does not exist.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Post> updatePost(@PathVariable Long id, @RequestBody Post postDetails) {
-        Post updatedPost = postService.updatePost(id, postDetails);
-        return updatedPost != null ? ResponseEntity.ok(updatedPost) : ResponseEntity.notFound().build();
+    public ResponseEntity<byte[]> updatePost(@PathVariable Long id, @RequestBody Post postDetails) {
+        PostVersion version;
+        try {
+            version = postService.updatePost(id, postDetails);
+        } catch (ConstraintViolationException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (version == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return postJsonResponse(postService.getPostJson(id));
+    }
+
+    /**
+     * Partially updates a blog post with a JSON Merge Patch (RFC 7396).
+     * <p>
+     * Only {@code title} and {@code content} may appear in the patch, and
+     * only the columns named in it are written; see
+     * {@link PostService#patchPost(Long, PostPatch)}. The response has no
+     * body, so a title fix never sends the content back either; the new
+     * {@code ETag} and {@code Last-Modified} let the client revalidate.
+     * </p>
+     *
+     * @param id    The ID of the post to update.
+     * @param patch The merge patch document.
+     * @return {@link ResponseEntity} with 204 No Content if successful, 400
+     *         Bad Request if the patch is malformed or a field is invalid, or
+     *         404 Not Found if the post does not exist.
+     */
+    @PatchMapping(value = "/{id}", consumes = { MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE })
+    public ResponseEntity<Void> patchPost(@PathVariable Long id, @RequestBody JsonNode patch) {
+        PostVersion version;
+        try {
+            version = postService.patchPost(id, PostPatch.from(patch));
+        } catch (IllegalArgumentException | ConstraintViolationException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (version == null) {
+            return ResponseEntity.notFound().build();
+        }
+        ResponseEntity.HeadersBuilder<?> response = ResponseEntity.noContent()
+                .eTag(ETags.forPost(id, version.version()));
+        if (version.updatedAt() != null) {
+            response.lastModified(version.updatedAt());
+        }
+        return response.build();
     }
 
     /**
@@ -0,0 +1,96 @@
+package com.example.blog.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.example.blog.entity.Comment;
+import com.example.blog.entity.Post;
+import com.example.blog.pagination.Cursor;
+import com.example.blog.pagination.PageHeaders;
+import com.example.blog.service.ReactivePostService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variant of the read endpoints of {@link PostController} and
+ * {@link CommentController}, served under {@code /reactive/posts} so the two
+ * stacks can be A/B tested side by side.
+ * <p>
+ * Posts are keyset-paged exactly like {@code GET /posts}. A post's comments
+ * are streamed as newline-delimited JSON: each element is written as soon as
+ * R2DBC produces it, and the next row is only requested once the previous
+ * one has been written, so a slow client throttles the query instead of
+ * holding a request thread or buffering the result.
+ * </p>
+ */
+@RestController
+@RequestMapping("/reactive/posts")
+public class ReactivePostController {
+
+    @Autowired
+    private ReactivePostService reactivePostService;
+
+    /**
+     * Retrieves a page of posts with their comments using keyset pagination,
+     * with the same contract as {@link PostController#getAllPosts(String, int)}:
+     * ascending ID order, and {@code Link: <...>; rel="next"} and
+     * {@code X-Next-Cursor} headers when more posts exist.
+     *
+     * @param after Opaque continuation token from the previous page, or absent
+     *              for the first page.
+     * @param limit Maximum number of posts to return (clamped to 1..100).
+     * @return The page of posts, or 400 Bad Request if the cursor is malformed.
+     */
+    @GetMapping
+    public Mono<ResponseEntity<List<Post>>> getAllPosts(@RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + PageHeaders.DEFAULT_LIMIT) int limit) {
+        Long afterId;
+        try {
+            afterId = Cursor.decode(after);
+        } catch (IllegalArgumentException e) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        int pageSize = PageHeaders.clampLimit(limit);
+        // Resolved now: the page completes on a driver thread, outside the request
+        UriComponentsBuilder request = ServletUriComponentsBuilder.fromCurrentRequest();
+        return reactivePostService.getPostsPage(afterId, pageSize)
+                .map(page -> ResponseEntity.ok()
+                        .headers(PageHeaders.forPage(page, pageSize, request))
+                        .body(page.items()));
+    }
+
+    /**
+     * Retrieves a specific post with its comments.
+     *
+     * @param id The ID of the post to retrieve.
+     * @return The post, or 404 Not Found if it does not exist.
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Post>> getPostById(@PathVariable Long id) {
+        return reactivePostService.getPostById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Streams the comments of a post, oldest first.
+     *
+     * @param postId The ID of the post.
+     * @return One comment per line; empty if the post has no comments.
+     */
+    @GetMapping(value = "/{postId}/comments", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Comment> getCommentsByPostId(@PathVariable Long postId) {
+        return reactivePostService.getCommentsByPostId(postId);
+    }
+}
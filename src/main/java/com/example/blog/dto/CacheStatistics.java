@@ -0,0 +1,18 @@
+package com.example.blog.dto;
+
+/**
+ * Point-in-time counters for a single Caffeine-backed cache.
+ *
+ * @param name          Name of the cache.
+ * @param hitCount      Number of lookups that returned a cached value.
+ * @param missCount     Number of lookups that had to load from the database.
+ * @param evictionCount Number of entries removed by the size bound or TTL.
+ * @param hitRate       {@code hitCount / (hitCount + missCount)}, or 1.0 with no lookups.
+ * @param size          Approximate number of entries currently cached.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public record CacheStatistics(String name, long hitCount, long missCount, long evictionCount,
+        double hitRate, long size) {
+}
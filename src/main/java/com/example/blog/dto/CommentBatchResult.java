@@ -0,0 +1,44 @@
+package com.example.blog.dto;
+
+/**
+ * Outcome of a single item in a batched comment insert.
+ *
+ * @param index  Position of the item in the request body.
+ * @param status Whether the item was stored or rejected.
+ * @param id     ID of the stored comment, or {@code null} if rejected.
+ * @param error  Validation message, or {@code null} if stored.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public record CommentBatchResult(int index, Status status, Long id, String error) {
+
+    /**
+     * Per-item outcome.
+     */
+    public enum Status {
+        CREATED, REJECTED
+    }
+
+    /**
+     * Creates a result for a stored comment.
+     *
+     * @param index Position of the item in the request body.
+     * @param id    ID assigned to the comment.
+     * @return A {@link Status#CREATED} result.
+     */
+    public static CommentBatchResult created(int index, Long id) {
+        return new CommentBatchResult(index, Status.CREATED, id, null);
+    }
+
+    /**
+     * Creates a result for a comment that failed validation.
+     *
+     * @param index Position of the item in the request body.
+     * @param error Why the item was rejected.
+     * @return A {@link Status#REJECTED} result.
+     */
+    public static CommentBatchResult rejected(int index, String error) {
+        return new CommentBatchResult(index, Status.REJECTED, null, error);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.blog.dto;
+
+/**
+ * Acknowledgement of a comment accepted for write-behind persistence.
+ * <p>
+ * The ticket is the comment's position in the journal of the node that
+ * accepted it; it is increasing within that journal, and unique across nodes
+ * together with {@code journal}. It is not the ID the comment receives once
+ * written.
+ * </p>
+ *
+ * @param journal ID of the journal that accepted the comment.
+ * @param ticket  Journal sequence number of the accepted comment.
+ * @param postId  ID of the post the comment was submitted to.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public record CommentReceipt(String journal, long ticket, Long postId) {
+}
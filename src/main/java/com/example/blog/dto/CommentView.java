@@ -0,0 +1,36 @@
+package com.example.blog.dto;
+
+import java.time.Instant;
+
+import com.example.blog.entity.Comment;
+import com.example.blog.web.ViewSerializers;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * Immutable read model of a comment, serialized without reflection.
+ * <p>
+ * The JSON has the same fields as the {@link Comment} entity always had;
+ * the owning post is never included.
+ * </p>
+ *
+ * @param id        Unique identifier of the comment.
+ * @param content   The text content of the comment.
+ * @param version   Optimistic-locking version of the comment.
+ * @param updatedAt Last write time, or {@code null} if unknown.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+@JsonSerialize(using = ViewSerializers.CommentViewSerializer.class)
+public record CommentView(Long id, String content, Long version, Instant updatedAt) {
+
+    /**
+     * Copies the columns of a loaded comment; never touches its post.
+     *
+     * @param comment The comment entity.
+     * @return The view.
+     */
+    public static CommentView from(Comment comment) {
+        return new CommentView(comment.getId(), comment.getContent(), comment.getVersion(), comment.getUpdatedAt());
+    }
+}
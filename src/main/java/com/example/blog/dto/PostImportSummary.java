@@ -0,0 +1,16 @@
+package com.example.blog.dto;
+
+/**
+ * Running totals of a bulk post import.
+ *
+ * @param processed Records read from the request body so far.
+ * @param imported  Records stored.
+ * @param rejected  Records that failed validation or could not be stored.
+ * @param complete  Whether the whole body was read; {@code false} if the
+ *                  import stopped at malformed JSON.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public record PostImportSummary(long processed, long imported, long rejected, boolean complete) {
+}
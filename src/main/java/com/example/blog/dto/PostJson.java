@@ -0,0 +1,46 @@
+package com.example.blog.dto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+
+import com.example.blog.web.ViewSerializers;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * A post's JSON representation, serialized once and cached as bytes.
+ * <p>
+ * Every write that changes the representation (including a new comment)
+ * bumps the post's version, so {@code version} identifies the post state
+ * the bytes were written from and yields their ETag. The cached entry is
+ * evicted once such a write commits.
+ * </p>
+ *
+ * @param id        Unique identifier of the post.
+ * @param version   Version of the post the bytes were written from.
+ * @param updatedAt Last write time, or {@code null} for legacy rows.
+ * @param body      UTF-8 JSON; must not be modified.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public record PostJson(Long id, Long version, Instant updatedAt, byte[] body) {
+
+    /**
+     * Serializes a post view.
+     *
+     * @param view The post.
+     * @return The serialized post.
+     */
+    public static PostJson of(PostView view) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(
+                256 + (view.content() != null ? view.content().length() : 0));
+        try (JsonGenerator generator = ViewSerializers.JSON_FACTORY.createGenerator(out)) {
+            ViewSerializers.write(view, generator);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // cannot happen writing to memory
+        }
+        return new PostJson(view.id(), view.version(), view.updatedAt(), out.toByteArray());
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.blog.dto;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * The fields of a post changed by a JSON Merge Patch (RFC 7396).
+ * <p>
+ * Only {@code title} and {@code content} can be patched. A member absent
+ * from the patch is left unchanged and is {@code null} here; both fields are
+ * required, so a member explicitly set to {@code null} (which Merge Patch
+ * defines as removal) is rejected.
+ * </p>
+ *
+ * @param title   The new title, or {@code null} if unchanged.
+ * @param content The new content, or {@code null} if unchanged.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public record PostPatch(String title, String content) {
+
+    /**
+     * Reads a merge patch document.
+     *
+     * @param patch The parsed request body.
+     * @return The changed fields.
+     * @throws IllegalArgumentException if the patch is not an object, removes
+     *                                  a field, sets a field to a non-string,
+     *                                  or names a field that cannot be patched.
+     */
+    public static PostPatch from(JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("Merge patch must be a JSON object");
+        }
+        String title = null;
+        String content = null;
+        for (Iterator<Map.Entry<String, JsonNode>> it = patch.fields(); it.hasNext();) {
+            Map.Entry<String, JsonNode> field = it.next();
+            switch (field.getKey()) {
+                case "title" -> title = text(field);
+                case "content" -> content = text(field);
+                default -> throw new IllegalArgumentException("Field '" + field.getKey() + "' cannot be patched");
+            }
+        }
+        return new PostPatch(title, content);
+    }
+
+    private static String text(Map.Entry<String, JsonNode> field) {
+        if (!field.getValue().isTextual()) {
+            throw new IllegalArgumentException("Field '" + field.getKey() + "' must be a string");
+        }
+        return field.getValue().textValue();
+    }
+
+    /**
+     * Indicates whether the patch changes nothing.
+     *
+     * @return {@code true} if neither field is set.
+     */
+    public boolean isEmpty() {
+        return title == null && content == null;
+    }
+}
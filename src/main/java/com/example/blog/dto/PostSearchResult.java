@@ -0,0 +1,15 @@
+package com.example.blog.dto;
+
+/**
+ * A single ranked hit returned by {@code GET /posts/search}.
+ *
+ * @param id      Unique identifier of the post.
+ * @param title   Title of the post.
+ * @param excerpt The first {@value PostSummary#EXCERPT_LENGTH} characters of the content.
+ * @param score   BM25 relevance score; higher is more relevant.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public record PostSearchResult(Long id, String title, String excerpt, double score) {
+}
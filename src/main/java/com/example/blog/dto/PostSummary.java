@@ -0,0 +1,26 @@
+package com.example.blog.dto;
+
+/**
+ * Lightweight read model of a blog post for list endpoints.
+ * <p>
+ * Populated directly by a JPQL constructor expression in
+ * {@link com.example.blog.repository.PostRepository}, so neither the full
+ * {@code content} column nor the comment rows are materialized as entities.
+ * </p>
+ *
+ * @param id           Unique identifier of the post.
+ * @param title        Title of the post.
+ * @param excerpt      The first {@value #EXCERPT_LENGTH} characters of the content.
+ * @param commentCount Number of comments on the post.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public record PostSummary(Long id, String title, String excerpt, long commentCount) {
+
+    /**
+     * Maximum length of {@link #excerpt()}, and of the {@code posts.excerpt}
+     * column it is read from.
+     */
+    public static final int EXCERPT_LENGTH = 200;
+}
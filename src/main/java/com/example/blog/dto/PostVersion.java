@@ -0,0 +1,16 @@
+package com.example.blog.dto;
+
+import java.time.Instant;
+
+/**
+ * Version stamp of a single post, read without loading its content.
+ *
+ * @param id        Unique identifier of the post.
+ * @param version   Optimistic-locking version of the post.
+ * @param updatedAt Last write time, or {@code null} for legacy rows.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public record PostVersion(Long id, Long version, Instant updatedAt) {
+}
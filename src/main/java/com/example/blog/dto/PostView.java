@@ -0,0 +1,44 @@
+package com.example.blog.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.example.blog.entity.Post;
+import com.example.blog.web.ViewSerializers;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+/**
+ * Immutable read model of a post and its comments, serialized without
+ * reflection.
+ * <p>
+ * The JSON has the same fields, in the same order, as the {@link Post}
+ * entity always had, so clients are unaffected.
+ * </p>
+ *
+ * @param id           Unique identifier of the post.
+ * @param title        Title of the post.
+ * @param content      Content of the post.
+ * @param version      Optimistic-locking version of the post.
+ * @param updatedAt    Last write time, or {@code null} for legacy rows.
+ * @param commentCount Denormalized number of comments.
+ * @param comments     The post's comments.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+@JsonSerialize(using = ViewSerializers.PostViewSerializer.class)
+public record PostView(Long id, String title, String content, Long version, Instant updatedAt, long commentCount,
+        List<CommentView> comments) {
+
+    /**
+     * Copies a post whose comments are already initialized.
+     *
+     * @param post The post entity.
+     * @return The view.
+     */
+    public static PostView from(Post post) {
+        return new PostView(post.getId(), post.getTitle(), post.getContent(), post.getVersion(),
+                post.getUpdatedAt(), post.getCommentCount(),
+                post.getComments().stream().map(CommentView::from).toList());
+    }
+}
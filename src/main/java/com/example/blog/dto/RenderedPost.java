@@ -0,0 +1,14 @@
+package com.example.blog.dto;
+
+/**
+ * A post's rendered HTML, cached as bytes ready to write.
+ *
+ * @param id      Unique identifier of the post.
+ * @param version Version of the post the HTML was rendered from.
+ * @param html    UTF-8 HTML fragment; must not be modified.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public record RenderedPost(Long id, Long version, byte[] html) {
+}
@@ -1,15 +1,26 @@
 package com.example.blog.entity;
 
+import java.time.Instant;
 import java.util.Objects;
 
+import org.hibernate.annotations.UpdateTimestamp;
+
+import com.fasterxml.jackson.annotation.JsonBackReference;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.Version;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 
 /**
  * Represents a comment entity in the blogging system.
@@ -23,31 +34,53 @@ import jakarta.persistence.Table;
  * <li>{@code id} - Unique identifier for each comment.</li>
  * <li>{@code content} - The text content of the comment.</li>
  * <li>{@code post} - The {@link Post} that the comment belongs to.</li>
+ * <li>{@code version} - Optimistic-locking version, used for ETags.</li>
+ * <li>{@code updatedAt} - Last write time, used for Last-Modified.</li>
  * </ul>
  *
  * <h3>Constraints & Behavior:</h3>
  * <ul>
- * <li>{@code content} is required (cannot be null).</li>
+ * <li>{@code content} is required (cannot be null) and at most 500 characters.</li>
  * <li>{@code post} is required (cannot be null).</li>
- * <li>Auto-generated ID using {@code GenerationType.IDENTITY}.</li>
+ * <li>Auto-generated ID from the pooled {@code id_generators} table (50 IDs
+ * per round trip), which lets Hibernate batch inserts. Databases that predate
+ * this generator must be seeded once with
+ * {@code src/main/resources/db/comment-id-generator.sql}.</li>
+ * <li>{@code post} is loaded lazily and is not serialized, which breaks the
+ * {@code Post.comments} / {@code Comment.post} cycle.</li>
  * </ul>
  *
  * @author Your Name
  * @version 1.0
  */
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        // Serves keyset pages of a post's comments in either direction as index range scans
+        @Index(name = "idx_comments_post_id_id", columnList = "post_id, id") })
 public class Comment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "comment_id")
+    @TableGenerator(name = "comment_id", table = "id_generators", pkColumnName = "entity",
+            valueColumnName = "next_id", pkColumnValue = "comments", allocationSize = 50)
+    private Long id; // Pooled table generator: IDs are known before INSERT, so inserts can be batched
 
     @Column(nullable = false, columnDefinition = "TEXT")
+    @NotBlank(message = "Comment cannot be blank")
+    @Size(max = 500, message = "Comment must be at most 500 characters")
     private String content;
 
-    @ManyToOne
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "post_id", nullable = false)
+    @JsonBackReference
     private Post post;
 
     /**
@@ -107,6 +140,42 @@ public class Comment {
         this.content = Objects.requireNonNull(content, "cannot set null content");
     }
 
+    /**
+     * Retrieves the optimistic-locking version of the comment.
+     *
+     * @return The version, or {@code null} if the comment has not been persisted.
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets the optimistic-locking version of the comment.
+     *
+     * @param version The new version.
+     */
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    /**
+     * Retrieves the time the comment was last written.
+     *
+     * @return The last modification time.
+     */
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /**
+     * Sets the time the comment was last written (overwritten by Hibernate on flush).
+     *
+     * @param updatedAt The new modification time.
+     */
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
     /**
      * Retrieves the associated post.
      *
@@ -0,0 +1,104 @@
+package com.example.blog.entity;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores long text in a binary column as gzip-compressed UTF-8.
+ * <p>
+ * Values of at least {@value #MIN_COMPRESS_BYTES} UTF-8 bytes are
+ * compressed; shorter values, and values that would not shrink, are stored
+ * as plain UTF-8. When reading, the two are told apart by the gzip magic
+ * number {@code 1f 8b}: {@code 8b} is a UTF-8 continuation byte, so no
+ * UTF-8 text starts with it. Rows written before the column was compressed
+ * are therefore read as they are.
+ * </p>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+
+    /**
+     * Smallest UTF-8 length worth compressing; below it the gzip header and
+     * trailer (18 bytes) and the CPU cost outweigh the savings.
+     */
+    public static final int MIN_COMPRESS_BYTES = 512;
+
+    private static final int GZIP_MAGIC_1 = 0x1f;
+
+    private static final int GZIP_MAGIC_2 = 0x8b;
+
+    @Override
+    public byte[] convertToDatabaseColumn(String text) {
+        return encode(text);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] bytes) {
+        return decode(bytes);
+    }
+
+    /**
+     * Encodes text for storage.
+     *
+     * @param text The text, possibly {@code null}.
+     * @return Gzipped or plain UTF-8 bytes, or {@code null} for {@code null}.
+     */
+    public static byte[] encode(String text) {
+        if (text == null) {
+            return null;
+        }
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length < MIN_COMPRESS_BYTES) {
+            return utf8;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(utf8.length / 3);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, 8192)) {
+            gzip.write(utf8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // not thrown by in-memory streams
+        }
+        return out.size() < utf8.length ? out.toByteArray() : utf8;
+    }
+
+    /**
+     * Decodes stored bytes written by {@link #encode(String)}, or plain UTF-8.
+     *
+     * @param bytes The column value, possibly {@code null}.
+     * @return The text, or {@code null} for {@code null}.
+     * @throws UncheckedIOException if the bytes look compressed but are corrupt.
+     */
+    public static String decode(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        if (!isCompressed(bytes)) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(bytes), 8192)) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Corrupt compressed text", e);
+        }
+    }
+
+    /**
+     * Indicates whether stored bytes are gzip-compressed.
+     *
+     * @param bytes The column value.
+     * @return {@code true} if the value starts with the gzip magic number.
+     */
+    public static boolean isCompressed(byte[] bytes) {
+        return bytes.length >= 2 && (bytes[0] & 0xff) == GZIP_MAGIC_1 && (bytes[1] & 0xff) == GZIP_MAGIC_2;
+    }
+}
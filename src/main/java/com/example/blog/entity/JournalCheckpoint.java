@@ -0,0 +1,79 @@
+package com.example.blog.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Records how far a local write-ahead journal has been applied to the
+ * database.
+ * <p>
+ * The checkpoint is updated in the same transaction as the rows it covers,
+ * so after a crash every journal entry above {@code sequence} is known to be
+ * missing from the database and every entry at or below it is known to be
+ * present.
+ * </p>
+ *
+ * <h3>Entity Properties:</h3>
+ * <ul>
+ * <li>{@code name} - Identifies the journal. Journals are local to a node,
+ * so every node's journal has its own row.</li>
+ * <li>{@code sequence} - Highest journal sequence number committed.</li>
+ * </ul>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+@Entity
+@Table(name = "journal_checkpoints")
+public class JournalCheckpoint {
+
+    @Id
+    private String name;
+
+    @Column(nullable = false)
+    private long sequence;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public JournalCheckpoint() {
+    }
+
+    /**
+     * @param name     Identifies the journal.
+     * @param sequence Highest journal sequence number committed.
+     */
+    public JournalCheckpoint(String name, long sequence) {
+        this.name = name;
+        this.sequence = sequence;
+    }
+
+    /**
+     * Retrieves the journal name.
+     *
+     * @return The name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieves the highest committed sequence number.
+     *
+     * @return The sequence number.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Sets the highest committed sequence number.
+     *
+     * @param sequence The sequence number.
+     */
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+}
@@ -1,16 +1,31 @@
 package com.example.blog.entity;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.type.SqlTypes;
+
+import com.example.blog.dto.PostSummary;
+
+import com.fasterxml.jackson.annotation.JsonManagedReference;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.TableGenerator;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
@@ -32,29 +47,57 @@ import jakarta.validation.constraints.Size;
  * usage.</li>
  * <li>✅ Getter/Setter Documentation: Provides clarity on field accessors.</li>
  * <li>✅ Inline Comments: Improves readability by explaining key logic.</li>
+ * <li>✅ Versioning: {@code version} and {@code updatedAt} back HTTP conditional
+ * requests (ETag / Last-Modified).</li>
+ * <li>✅ Compression: long content is stored gzipped by
+ * {@link CompressedTextConverter}, with a plain-text excerpt alongside.</li>
  * </ul>
  *
  * @author Your Name
- * @version 1.1
+ * @version 1.2
  */
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = @Index(name = "idx_posts_updated_at", columnList = "updated_at"))
 public class Post {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id; // Unique identifier for the post
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "post_id")
+    @TableGenerator(name = "post_id", table = "id_generators", pkColumnName = "entity",
+            valueColumnName = "next_id", pkColumnValue = "posts", allocationSize = 50)
+    private Long id; // Pooled table generator: IDs are known before INSERT, so bulk imports can be batched
 
     @Column(nullable = false, length = 255)
     @NotBlank(message = "Title cannot be blank")
     @Size(min = 5, max = 255, message = "Title must be between 5 and 255 characters")
     private String title;
 
-    @Column(nullable = false, columnDefinition = "TEXT")
+    @Column(nullable = false)
+    @Convert(converter = CompressedTextConverter.class)
+    @JdbcTypeCode(SqlTypes.LONG32VARBINARY) // LONGBLOB on MySQL; see db/post-content-compression.sql
     @NotBlank(message = "Content cannot be blank")
-    private String content;
+    private String content; // Gzipped at rest when long
+
+    // Denormalized prefix of the content, written with it, so list views never read the compressed column
+    @Column(length = PostSummary.EXCERPT_LENGTH)
+    private String excerpt;
+
+    @Version
+    @Column(nullable = false)
+    private Long version; // Incremented on every update; drives the post's ETag
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt; // Set on insert and update; drives Last-Modified
+
+    // Denormalized count maintained by single-statement UPDATEs in PostRepository;
+    // never written through the entity, so a stale in-memory value cannot overwrite it
+    @Column(name = "comment_count", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private long commentCount;
 
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 50) // Initializing one collection loads up to 50 sibling collections in one query
+    @JsonManagedReference
     private List<Comment> comments = new ArrayList<>(); // Initialize list to prevent NullPointerException
 
     /**
@@ -73,13 +116,13 @@ public class Post {
      * 
      * @param id       Unique identifier of the post.
      * @param title    Title of the blog post (Min: 5, Max: 255 characters).
-     * @param content  Content of the blog post (Stored as TEXT).
+     * @param content  Content of the blog post (stored compressed when long).
      * @param comments List of comments associated with this post.
      */
     public Post(Long id, String title, String content, List<Comment> comments) {
         this.id = id;
         this.title = title;
-        this.content = content;
+        setContent(content);
         this.comments = (comments != null) ? comments : new ArrayList<>();
     }
 
@@ -91,7 +134,7 @@ public class Post {
      */
     public Post(String title, String content) {
         this.title = title;
-        this.content = content;
+        setContent(content);
         this.comments = new ArrayList<>();
     }
 
@@ -143,12 +186,91 @@ public class Post {
     }
 
     /**
-     * Sets the content of the post.
+     * Sets the content of the post and its excerpt.
      * 
      * @param content The new content of the post.
      */
     public void setContent(String content) {
         this.content = content;
+        this.excerpt = excerptOf(content);
+    }
+
+    /**
+     * Truncates content to the excerpt stored alongside it.
+     * 
+     * @param content The content, possibly {@code null}.
+     * @return The first {@value PostSummary#EXCERPT_LENGTH} characters, or
+     *         {@code null} for {@code null}.
+     */
+    public static String excerptOf(String content) {
+        if (content == null || content.length() <= PostSummary.EXCERPT_LENGTH) {
+            return content;
+        }
+        return content.substring(0, PostSummary.EXCERPT_LENGTH);
+    }
+
+    /**
+     * Retrieves the optimistic-locking version of the post.
+     * 
+     * @return The version, or {@code null} if the post has not been persisted.
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Sets the optimistic-locking version of the post.
+     * 
+     * @param version The new version.
+     */
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    /**
+     * Retrieves the time the post was last written.
+     * 
+     * @return The last modification time, or {@code null} for rows written
+     *         before the column existed.
+     */
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    /**
+     * Sets the time the post was last written.
+     * <p>
+     * Hibernate overwrites this value on flush; setting it on a managed post
+     * marks the post dirty, which forces a version increment.
+     * </p>
+     * 
+     * @param updatedAt The new modification time.
+     */
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * Retrieves the number of comments on the post.
+     * <p>
+     * Read from the denormalized {@code comment_count} column, so no comment
+     * rows are loaded.
+     * </p>
+     * 
+     * @return The comment count as of when the post was loaded.
+     */
+    public long getCommentCount() {
+        return commentCount;
+    }
+
+    /**
+     * Sets the number of comments on the post (in memory only; the column is
+     * maintained by the repository).
+     * 
+     * @param commentCount The comment count.
+     */
+    public void setCommentCount(long commentCount) {
+        this.commentCount = commentCount;
     }
 
     /**
@@ -0,0 +1,136 @@
+package com.example.blog.entity;
+
+import java.time.Instant;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.MapsId;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+
+/**
+ * The pre-rendered HTML of a post's content.
+ * <p>
+ * Written in the background after a post is created or its content
+ * changes, so reads serve stored HTML and never render. The row shares the
+ * post's primary key, and its foreign key is declared
+ * {@code ON DELETE CASCADE}, so deleting the post (including the bulk
+ * DELETE in {@code PostService.deletePost}) removes it without an extra
+ * statement.
+ * </p>
+ *
+ * <h3>Entity Properties:</h3>
+ * <ul>
+ * <li>{@code postId} - ID of the rendered post.</li>
+ * <li>{@code version} - Version of the post the HTML was rendered from; a
+ * rendering is never replaced by one from an older version.</li>
+ * <li>{@code html} - The sanitized HTML, stored compressed like post
+ * content.</li>
+ * <li>{@code renderedAt} - When the HTML was rendered.</li>
+ * </ul>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+@Entity
+@Table(name = "post_renderings")
+public class PostRendering {
+
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "post_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Post post;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(nullable = false)
+    @Convert(converter = CompressedTextConverter.class)
+    @JdbcTypeCode(SqlTypes.LONG32VARBINARY)
+    private String html;
+
+    @Column(name = "rendered_at", nullable = false)
+    private Instant renderedAt;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public PostRendering() {
+    }
+
+    /**
+     * @param post       The rendered post (a reference is enough).
+     * @param version    Version of the post the HTML was rendered from.
+     * @param html       The sanitized HTML.
+     * @param renderedAt When the HTML was rendered.
+     */
+    public PostRendering(Post post, Long version, String html, Instant renderedAt) {
+        this.post = post;
+        this.version = version;
+        this.html = html;
+        this.renderedAt = renderedAt;
+    }
+
+    /**
+     * Retrieves the ID of the rendered post.
+     *
+     * @return The post ID.
+     */
+    public Long getPostId() {
+        return postId;
+    }
+
+    /**
+     * Retrieves the version of the post the HTML was rendered from.
+     *
+     * @return The source version.
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * Retrieves the rendered HTML.
+     *
+     * @return The sanitized HTML.
+     */
+    public String getHtml() {
+        return html;
+    }
+
+    /**
+     * Retrieves when the HTML was rendered.
+     *
+     * @return The render time.
+     */
+    public Instant getRenderedAt() {
+        return renderedAt;
+    }
+
+    /**
+     * Replaces the HTML with a rendering of a newer version.
+     *
+     * @param version    Version of the post the HTML was rendered from.
+     * @param html       The sanitized HTML.
+     * @param renderedAt When the HTML was rendered.
+     */
+    public void update(Long version, String html, Instant renderedAt) {
+        this.version = version;
+        this.html = html;
+        this.renderedAt = renderedAt;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.blog.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Records how far a resumable background scan over a table's ID space has
+ * progressed, so the next run continues where the last one stopped.
+ * <p>
+ * The scan is shared by all nodes: whichever node runs it advances the same
+ * row, and the position never moves backwards.
+ * </p>
+ *
+ * <h3>Entity Properties:</h3>
+ * <ul>
+ * <li>{@code name} - Identifies the scan.</li>
+ * <li>{@code lastId} - Highest ID whose row is done; the next run starts
+ * after it.</li>
+ * </ul>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+@Entity
+@Table(name = "scan_checkpoints")
+public class ScanCheckpoint {
+
+    @Id
+    private String name;
+
+    @Column(name = "last_id", nullable = false)
+    private long lastId;
+
+    /**
+     * Default constructor for JPA.
+     */
+    public ScanCheckpoint() {
+    }
+
+    /**
+     * @param name   Identifies the scan.
+     * @param lastId Highest ID done.
+     */
+    public ScanCheckpoint(String name, long lastId) {
+        this.name = name;
+        this.lastId = lastId;
+    }
+
+    /**
+     * Retrieves the scan name.
+     *
+     * @return The name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieves the highest ID done.
+     *
+     * @return The ID.
+     */
+    public long getLastId() {
+        return lastId;
+    }
+
+    /**
+     * Sets the highest ID done.
+     *
+     * @param lastId The ID.
+     */
+    public void setLastId(long lastId) {
+        this.lastId = lastId;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.blog.event;
+
+/**
+ * Published by {@link com.example.blog.service.CommentService} (and the
+ * comment write-behind queue) after comments have been added to a post, and
+ * by the comment-count repair job after correcting a post's count.
+ * <p>
+ * Comments are part of the post representation, so listeners treat this as
+ * a change to the post itself.
+ * </p>
+ *
+ * @param postId Unique identifier of the post whose comments changed.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public record CommentsChangedEvent(Long postId) {
+}
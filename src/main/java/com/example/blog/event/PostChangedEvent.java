@@ -0,0 +1,102 @@
+package com.example.blog.event;
+
+import com.example.blog.entity.Post;
+
+/**
+ * Published by {@link com.example.blog.service.PostService} after a post has
+ * been created, updated or deleted.
+ * <p>
+ * The event carries a snapshot of the fields derived views need, so
+ * listeners never have to read the post back from the database.
+ * </p>
+ * <p>
+ * Changes made on other nodes are republished locally by
+ * {@link com.example.blog.invalidation.ClusterCacheInvalidator} with
+ * {@code remote} set, so node-local views such as the search index and the
+ * feed follow them. Work done once for the whole cluster, such as
+ * rendering or broadcasting, is left to the originating node.
+ * </p>
+ *
+ * @param id      Unique identifier of the post.
+ * @param title   Title after the change, or {@code null} if deleted or
+ *                left unchanged by a partial update.
+ * @param content Content after the change, or {@code null} if deleted or
+ *                left unchanged by a partial update.
+ * @param version Version after the change, or {@code null} if deleted.
+ * @param deleted Whether the post was deleted.
+ * @param remote  Whether the change was made on another node.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public record PostChangedEvent(Long id, String title, String content, Long version, boolean deleted,
+        boolean remote) {
+
+    /**
+     * Creates an event for a change made on this node.
+     *
+     * @param id      Unique identifier of the post.
+     * @param title   Title after the change, or {@code null}.
+     * @param content Content after the change, or {@code null}.
+     * @param version Version after the change, or {@code null} if deleted.
+     * @param deleted Whether the post was deleted.
+     */
+    public PostChangedEvent(Long id, String title, String content, Long version, boolean deleted) {
+        this(id, title, content, version, deleted, false);
+    }
+
+    /**
+     * Creates an event for a post that was created or updated.
+     *
+     * @param post The saved post.
+     * @return The event.
+     */
+    public static PostChangedEvent saved(Post post) {
+        return new PostChangedEvent(post.getId(), post.getTitle(), post.getContent(), post.getVersion(), false);
+    }
+
+    /**
+     * Creates an event for a partially updated post. Fields the update did
+     * not write are {@code null}, so a title fix never carries the content.
+     *
+     * @param id      The ID of the post.
+     * @param title   The new title, or {@code null} if unchanged.
+     * @param content The new content, or {@code null} if unchanged.
+     * @param version The version after the update.
+     * @return The event.
+     */
+    public static PostChangedEvent patched(Long id, String title, String content, Long version) {
+        return new PostChangedEvent(id, title, content, version, false);
+    }
+
+    /**
+     * Creates an event for a deleted post.
+     *
+     * @param id The ID of the deleted post.
+     * @return The event.
+     */
+    public static PostChangedEvent deleted(Long id) {
+        return new PostChangedEvent(id, null, null, null, true);
+    }
+
+    /**
+     * Creates an event for a post changed on another node, as read back from
+     * the database.
+     *
+     * @param post The post as now stored.
+     * @return The event.
+     */
+    public static PostChangedEvent received(Post post) {
+        return new PostChangedEvent(post.getId(), post.getTitle(), post.getContent(), post.getVersion(), false, true);
+    }
+
+    /**
+     * Creates an event for a post deleted on another node.
+     *
+     * @param id The ID of the deleted post.
+     * @return The event.
+     */
+    public static PostChangedEvent receivedDeletion(Long id) {
+        return new PostChangedEvent(id, null, null, null, true, true);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.blog.event;
+
+/**
+ * Published by {@link com.example.blog.render.PostRenderService} after a
+ * post's rendered HTML has been stored.
+ *
+ * @param id      Unique identifier of the post.
+ * @param version Version of the post the HTML was rendered from.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public record PostRenderedEvent(Long id, Long version) {
+}
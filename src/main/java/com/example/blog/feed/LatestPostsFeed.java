@@ -0,0 +1,221 @@
+package com.example.blog.feed;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.example.blog.dto.PostSummary;
+
+/**
+ * Fixed-size ring buffer holding the summaries of the newest posts.
+ * <p>
+ * Each slot holds an immutable {@code Entry} stamped with the sequence
+ * number it was written at; {@code head} is the next sequence number and is
+ * published (volatile write) only after its slot is filled. Readers take no
+ * lock: they walk back from {@code head} and skip any slot whose stamp does
+ * not match the sequence they expect, which is exactly the slot a
+ * concurrent writer is recycling. Updates and deletes replace an entry in
+ * place (a delete leaves a tombstone), so a reader sees either the old or
+ * the new summary, never a torn one.
+ * </p>
+ * <p>
+ * Writers are rare (post create, update and delete) and are serialized by a
+ * lock; they also bump a modification count that lets
+ * {@link #reseedIfUnchanged(List, long)} detect that a reseed computed from
+ * an older database snapshot would overwrite a newer change.
+ * </p>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public class LatestPostsFeed {
+
+    /**
+     * One slot; {@code summary} is {@code null} for a deleted post.
+     */
+    private record Entry(long sequence, long id, PostSummary summary) {
+    }
+
+    private final int capacity;
+
+    private final AtomicReferenceArray<Entry> slots;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile long head;
+
+    private long modifications;
+
+    private long newestId;
+
+    /**
+     * @param capacity The number of newest posts kept.
+     */
+    public LatestPostsFeed(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Returns the number of newest posts kept.
+     *
+     * @return The capacity.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the newest posts, newest first. Never blocks.
+     *
+     * @param limit The maximum number of summaries.
+     * @return Up to {@code limit} summaries; fewer if posts in the window were
+     *         deleted since the last reseed.
+     */
+    public List<PostSummary> latest(int limit) {
+        long h = head;
+        int n = Math.min(limit, capacity);
+        PostSummary[] result = new PostSummary[n];
+        int count = 0;
+        for (long sequence = h - 1; sequence >= Math.max(0, h - capacity) && count < n; sequence--) {
+            Entry entry = slots.get(slot(sequence));
+            if (entry == null || entry.sequence() != sequence) {
+                // Recycled by a writer that has moved past our snapshot of head: everything older is gone too
+                break;
+            }
+            if (entry.summary() != null) {
+                result[count++] = entry.summary();
+            }
+        }
+        return Arrays.asList(result).subList(0, count);
+    }
+
+    /**
+     * Applies a created or updated post. A post already in the window is
+     * replaced in place, keeping its comment count; a post newer than every
+     * post in the window is appended with no comments; anything else is
+     * older than the window and ignored. A {@code null} title or excerpt
+     * (from a partial update) keeps the current value; such a post is only
+     * applied if it is already in the window.
+     *
+     * @param id      The post ID.
+     * @param title   The post title, or {@code null} if unchanged.
+     * @param excerpt The post excerpt, or {@code null} if unchanged.
+     * @return {@code true} if the window changed.
+     */
+    public boolean put(long id, String title, String excerpt) {
+        writeLock.lock();
+        try {
+            int index = find(id);
+            if (index >= 0) {
+                Entry entry = slots.get(index);
+                PostSummary current = entry.summary();
+                slots.set(index, new Entry(entry.sequence(), id,
+                        new PostSummary(id, title != null ? title : current.title(),
+                                excerpt != null ? excerpt : current.excerpt(), current.commentCount())));
+            } else if (id > newestId && title != null && excerpt != null) {
+                append(id, new PostSummary(id, title, excerpt, 0));
+            } else {
+                return false;
+            }
+            modifications++;
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes a post, leaving a gap until the next reseed.
+     *
+     * @param id The post ID.
+     * @return {@code true} if the post was in the window.
+     */
+    public boolean remove(long id) {
+        writeLock.lock();
+        try {
+            int index = find(id);
+            if (index >= 0) {
+                slots.set(index, new Entry(slots.get(index).sequence(), id, null));
+                modifications++;
+                return true;
+            }
+            return false;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the modification count, to be passed to
+     * {@link #reseedIfUnchanged(List, long)}.
+     *
+     * @return The number of changes applied so far.
+     */
+    public long modifications() {
+        writeLock.lock();
+        try {
+            return modifications;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole window, unless it has changed since
+     * {@code expectedModifications} was read.
+     *
+     * @param newestFirst           The newest posts, newest first.
+     * @param expectedModifications {@link #modifications()} read before the
+     *                              summaries were loaded.
+     * @return {@code true} if the window was replaced.
+     */
+    public boolean reseedIfUnchanged(List<PostSummary> newestFirst, long expectedModifications) {
+        writeLock.lock();
+        try {
+            if (modifications != expectedModifications) {
+                return false;
+            }
+            int n = Math.min(newestFirst.size(), capacity);
+            newestId = 0;
+            // Overwrite every slot, so nothing from the previous window stays reachable
+            for (int i = n; i < capacity; i++) {
+                append(-1, null);
+            }
+            for (int i = n - 1; i >= 0; i--) {
+                PostSummary summary = newestFirst.get(i);
+                append(summary.id(), summary);
+            }
+            modifications++;
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void append(long id, PostSummary summary) {
+        long sequence = head;
+        slots.set(slot(sequence), new Entry(sequence, id, summary));
+        newestId = Math.max(newestId, id);
+        head = sequence + 1; // publish only after the slot is filled
+    }
+
+    private int find(long id) {
+        for (long sequence = head - 1; sequence >= Math.max(0, head - capacity); sequence--) {
+            int index = slot(sequence);
+            Entry entry = slots.get(index);
+            if (entry != null && entry.id() == id && entry.summary() != null) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % capacity);
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.blog.feed;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.blog.dto.PostSummary;
+import com.example.blog.entity.Post;
+import com.example.blog.event.PostChangedEvent;
+import com.example.blog.repository.PostRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Serves the newest posts from an in-memory {@link LatestPostsFeed}.
+ * <p>
+ * Once the application is ready the feed is seeded with the newest
+ * {@code blog.feed.size} summaries. From then on it is kept current from
+ * {@link PostChangedEvent}s, applied after the publishing transaction
+ * commits, and {@link #latest(int)} never reaches the database.
+ * </p>
+ *
+ * <h3>Consistency:</h3>
+ * <ul>
+ * <li>Every {@code blog.feed.reconcile-interval-ms} the feed is compared
+ * with the posts table and reseeded on any difference. Differences other
+ * than comment counts also increment the {@value #DRIFT_METRIC}
+ * counter.</li>
+ * <li>A reseed is skipped if an event was applied while the table was
+ * being read, so an older snapshot never overwrites a newer change; the
+ * next run retries.</li>
+ * <li>Comment counts are not carried by events, so they are refreshed by
+ * reconciliation only.</li>
+ * <li>Deleted posts leave a gap, and a post whose creating transaction
+ * commits after a newer one is missing, until the next reseed.</li>
+ * </ul>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+@Service
+public class PostFeedService {
+
+    private static final Logger log = LoggerFactory.getLogger(PostFeedService.class);
+
+    /**
+     * Counter incremented whenever reconciliation finds the feed out of date.
+     */
+    static final String DRIFT_METRIC = "blog.feed.reconcile.drift";
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${blog.feed.size:100}")
+    private int size = 100;
+
+    private LatestPostsFeed feed;
+
+    private Counter drift;
+
+    private volatile boolean ready;
+
+    /**
+     * Creates the empty feed.
+     */
+    @PostConstruct
+    public void init() {
+        feed = new LatestPostsFeed(size);
+        drift = Counter.builder(DRIFT_METRIC)
+                .description("Reconciliations that found the latest-posts feed out of date")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the newest posts, newest first, without touching the database.
+     *
+     * @param limit The maximum number of summaries (at most the feed size).
+     * @return Up to {@code limit} summaries.
+     */
+    public List<PostSummary> latest(int limit) {
+        return feed.latest(limit);
+    }
+
+    /**
+     * Returns the number of posts the feed holds.
+     *
+     * @return The feed size.
+     */
+    public int size() {
+        return feed.capacity();
+    }
+
+    /**
+     * Seeds the feed with the newest posts.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+        ready = true;
+        log.info("Latest-posts feed seeded with {} posts", feed.latest(size).size());
+    }
+
+    /**
+     * Compares the feed with the newest rows of the posts table and reseeds
+     * it if they differ.
+     *
+     * @return {@code true} if the feed was reseeded.
+     */
+    @Scheduled(fixedDelayString = "${blog.feed.reconcile-interval-ms:30000}",
+            initialDelayString = "${blog.feed.reconcile-interval-ms:30000}")
+    public boolean reconcile() {
+        long modifications = feed.modifications();
+        List<PostSummary> expected = postRepository.findLatestSummaries(Limit.of(size));
+        List<PostSummary> actual = feed.latest(size);
+        if (expected.equals(actual)) {
+            return false;
+        }
+        if (!feed.reseedIfUnchanged(expected, modifications)) {
+            log.debug("Latest-posts feed changed during reconciliation; retrying on the next run");
+            return false;
+        }
+        if (ready && !sameExceptCommentCounts(expected, actual)) {
+            drift.increment();
+            log.info("Latest-posts feed was out of date and has been reseeded");
+        }
+        return true;
+    }
+
+    /**
+     * Applies a post change once its transaction has committed.
+     *
+     * @param event The change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.deleted()) {
+            feed.remove(event.id());
+        } else {
+            feed.put(event.id(), event.title(), excerpt(event.content()));
+        }
+    }
+
+    private static boolean sameExceptCommentCounts(List<PostSummary> a, List<PostSummary> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            PostSummary x = a.get(i);
+            PostSummary y = b.get(i);
+            if (!x.id().equals(y.id()) || !Objects.equals(x.title(), y.title())
+                    || !Objects.equals(x.excerpt(), y.excerpt())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Truncates content the same way as the stored {@code posts.excerpt}.
+     */
+    static String excerpt(String content) {
+        return Post.excerptOf(content);
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.blog.invalidation;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.blog.config.CacheConfig;
+import com.example.blog.event.CommentsChangedEvent;
+import com.example.blog.event.PostChangedEvent;
+import com.example.blog.event.PostRenderedEvent;
+import com.example.blog.repository.PostRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Keeps the post caches and node-local views of every application node
+ * consistent.
+ * <p>
+ * Once a post or comment change commits, the post is evicted from this
+ * node's {@link CacheConfig#POST_JSON} and the change is broadcast on the
+ * {@link InvalidationBus}. On the other nodes:
+ * </p>
+ * <ul>
+ * <li>{@value InvalidationMessage#POST} and
+ * {@value InvalidationMessage#POST_DELETED} evict the post from
+ * {@link CacheConfig#POST_JSON} and {@link CacheConfig#POST_HTML}, then are
+ * republished as a remote {@link PostChangedEvent}, so the search index and
+ * latest-posts feed follow through the same listeners as local changes. A
+ * saved post is read back by primary key first, since messages carry only
+ * its ID.</li>
+ * <li>{@value InvalidationMessage#COMMENTS} evicts only
+ * {@link CacheConfig#POST_JSON}.</li>
+ * <li>{@value InvalidationMessage#RENDERED}, sent when a rendering is
+ * stored, evicts only {@link CacheConfig#POST_HTML}.</li>
+ * </ul>
+ * <p>
+ * Remote events are published from a single thread of their own, in
+ * arrival order and outside any transaction, so a bus that delivers on the
+ * sender's thread cannot tie them to the sender's transaction. They are
+ * not broadcast again.
+ * </p>
+ * <p>
+ * Evicting after the commit, rather than inside the writing transaction,
+ * means no reader can reload the old row once the entry is gone. A read
+ * still loading the old row when the eviction arrives is not a problem
+ * either: {@code PostService.getPostJson} loads under the entry's lock, so
+ * the eviction waits for it and removes what it stored.
+ * </p>
+ *
+ * <h3>Limitations:</h3>
+ * <ul>
+ * <li>Lost messages leave stale entries on the receiving node until the
+ * cache TTL expires them, the feed's reconciliation reseeds it, or a
+ * restart reconciles the search index with the table.</li>
+ * </ul>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+@Component
+public class ClusterCacheInvalidator {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterCacheInvalidator.class);
+
+    /**
+     * Counter of invalidations sent and received, tagged by direction.
+     */
+    static final String METRIC = "blog.cache.invalidations";
+
+    @Autowired
+    private InvalidationBus bus;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${blog.invalidation.node-id:#{T(java.util.UUID).randomUUID().toString()}}")
+    private String nodeId;
+
+    private Counter sent;
+
+    private Counter received;
+
+    private final ExecutorService republisher = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("invalidation-republish").daemon().factory());
+
+    /**
+     * Starts listening for invalidations from other nodes.
+     *
+     * @throws IOException if the bus cannot be started.
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        sent = Counter.builder(METRIC).tag("direction", "sent").register(meterRegistry);
+        received = Counter.builder(METRIC).tag("direction", "received").register(meterRegistry);
+        bus.start(this::onMessage);
+        log.info("Cache invalidation node {} started", nodeId);
+    }
+
+    /**
+     * Stops republishing changes from other nodes.
+     */
+    @PreDestroy
+    public void stop() {
+        republisher.shutdownNow();
+    }
+
+    /**
+     * Returns the ID this node stamps on the messages it sends.
+     *
+     * @return The node ID.
+     */
+    public String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Evicts and broadcasts a post change once its transaction has committed.
+     *
+     * @param event The change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.remote()) {
+            return; // evicted when the message arrived
+        }
+        evict(CacheConfig.POST_JSON, event.id());
+        broadcast(event.deleted() ? InvalidationMessage.POST_DELETED : InvalidationMessage.POST, event.id());
+    }
+
+    /**
+     * Evicts and broadcasts a comment change, as a change to its post, once
+     * its transaction has committed.
+     *
+     * @param event The change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentsChanged(CommentsChangedEvent event) {
+        evict(CacheConfig.POST_JSON, event.postId());
+        broadcast(InvalidationMessage.COMMENTS, event.postId());
+    }
+
+    /**
+     * Broadcasts a newly stored rendering once its transaction has committed.
+     *
+     * @param event The rendering.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostRendered(PostRenderedEvent event) {
+        broadcast(InvalidationMessage.RENDERED, event.id());
+    }
+
+    private void broadcast(String entity, Long id) {
+        bus.publish(new InvalidationMessage(nodeId, entity, id));
+        sent.increment();
+    }
+
+    void onMessage(InvalidationMessage message) {
+        if (nodeId.equals(message.origin())) {
+            return;
+        }
+        String[] caches = switch (message.entity()) {
+        case InvalidationMessage.POST, InvalidationMessage.POST_DELETED ->
+            new String[] { CacheConfig.POST_JSON, CacheConfig.POST_HTML };
+        case InvalidationMessage.COMMENTS -> new String[] { CacheConfig.POST_JSON };
+        case InvalidationMessage.RENDERED -> new String[] { CacheConfig.POST_HTML };
+        default -> null;
+        };
+        if (caches == null) {
+            return;
+        }
+        received.increment();
+        for (String name : caches) {
+            evict(name, message.id());
+        }
+        switch (message.entity()) {
+        case InvalidationMessage.POST -> republisher.execute(() -> republishSaved(message.id()));
+        case InvalidationMessage.POST_DELETED ->
+            republisher.execute(() -> eventPublisher.publishEvent(PostChangedEvent.receivedDeletion(message.id())));
+        default -> {
+        }
+        }
+    }
+
+    private void republishSaved(long postId) {
+        try {
+            eventPublisher.publishEvent(postRepository.findById(postId)
+                    .map(PostChangedEvent::received)
+                    .orElseGet(() -> PostChangedEvent.receivedDeletion(postId))); // deleted since
+        } catch (RuntimeException e) {
+            log.warn("Could not apply the change of post {} made on another node", postId, e);
+        }
+    }
+
+    private void evict(String name, Long postId) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache != null) {
+            cache.evict(postId);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.blog.invalidation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts {@link InvalidationMessage}s to every application node,
+ * including the sender.
+ * <p>
+ * Delivery is best effort: a message may be lost, so caches fed by the bus
+ * must still expire on their own. Receivers ignore messages from their own
+ * node.
+ * </p>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public interface InvalidationBus extends Closeable {
+
+    /**
+     * Starts receiving messages.
+     *
+     * @param listener Called for every message received; must not block.
+     * @throws IOException if the transport cannot be opened.
+     */
+    void start(Consumer<InvalidationMessage> listener) throws IOException;
+
+    /**
+     * Sends a message to all nodes. Never throws; failures are logged.
+     *
+     * @param message The message.
+     */
+    void publish(InvalidationMessage message);
+
+    /**
+     * Stops receiving messages and releases the transport.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,96 @@
+package com.example.blog.invalidation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * An entity-changed notification exchanged between application nodes.
+ *
+ * <h3>Wire Format (big-endian):</h3>
+ * <ul>
+ * <li>Magic number and format version.</li>
+ * <li>Origin node ID and entity type, as modified UTF-8.</li>
+ * <li>Entity ID.</li>
+ * </ul>
+ *
+ * @param origin ID of the node on which the change was made.
+ * @param entity The changed entity type, e.g. {@value #POST}.
+ * @param id     ID of the changed entity.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public record InvalidationMessage(String origin, String entity, long id) {
+
+    /**
+     * Entity type of a created or updated post.
+     */
+    public static final String POST = "post";
+
+    /**
+     * Entity type of a deleted post.
+     */
+    public static final String POST_DELETED = "post-deleted";
+
+    /**
+     * Entity type of a post's comments; the ID is the post's.
+     */
+    public static final String COMMENTS = "comments";
+
+    /**
+     * Entity type of a post's rendered HTML; sent when a new rendering is
+     * stored, which does not change the post itself.
+     */
+    public static final String RENDERED = "rendered";
+
+    private static final int MAGIC = 0x42494E56; // "BINV"
+
+    private static final byte FORMAT_VERSION = 1;
+
+    /**
+     * Largest encoded message accepted by {@link #decode(byte[], int)}.
+     */
+    static final int MAX_BYTES = 512;
+
+    /**
+     * Encodes the message for a datagram transport.
+     *
+     * @return The encoded bytes.
+     */
+    byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            out.writeUTF(origin);
+            out.writeUTF(entity);
+            out.writeLong(id);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a message written by {@link #encode()}.
+     *
+     * @param data   The buffer.
+     * @param length The number of bytes received.
+     * @return The message, or {@code null} if the bytes are not a message in
+     *         this format.
+     */
+    static InvalidationMessage decode(byte[] data, int length) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, 0, length))) {
+            if (in.readInt() != MAGIC || in.readByte() != FORMAT_VERSION) {
+                return null;
+            }
+            return new InvalidationMessage(in.readUTF(), in.readUTF(), in.readLong());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.blog.invalidation;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * In-JVM {@link InvalidationBus}: every bus on the same channel, i.e. every
+ * application context in this JVM configured with the same channel name,
+ * receives each message synchronously.
+ * <p>
+ * A single node uses this as a no-op transport; tests use it to run
+ * several application contexts as a cluster.
+ * </p>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public class LoopbackInvalidationBus implements InvalidationBus {
+
+    private static final Map<String, Set<LoopbackInvalidationBus>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final String channel;
+
+    private volatile Consumer<InvalidationMessage> listener;
+
+    /**
+     * @param channel Name of the channel to join.
+     */
+    public LoopbackInvalidationBus(String channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public void start(Consumer<InvalidationMessage> listener) {
+        this.listener = listener;
+        CHANNELS.computeIfAbsent(channel, name -> ConcurrentHashMap.newKeySet()).add(this);
+    }
+
+    @Override
+    public void publish(InvalidationMessage message) {
+        for (LoopbackInvalidationBus member : CHANNELS.getOrDefault(channel, Set.of())) {
+            member.listener.accept(message);
+        }
+    }
+
+    @Override
+    public void close() {
+        CHANNELS.computeIfPresent(channel, (name, members) -> {
+            members.remove(this);
+            return members.isEmpty() ? null : members;
+        });
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.blog.invalidation;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.NetworkInterface;
+import java.net.SocketException;
+import java.net.StandardSocketOptions;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link InvalidationBus} over UDP multicast, for nodes on one network
+ * segment (or a network that routes the group).
+ * <p>
+ * Each message is one datagram sent to the group; a daemon thread receives
+ * them. Multicast loopback stays enabled so that several nodes on one host
+ * see each other's messages. Nothing is retransmitted, so lost datagrams
+ * leave entries stale until the cache expires them.
+ * </p>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public class MulticastInvalidationBus implements InvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(MulticastInvalidationBus.class);
+
+    private final InetSocketAddress group;
+
+    private final NetworkInterface networkInterface;
+
+    private final int timeToLive;
+
+    private MulticastSocket socket;
+
+    private volatile boolean running;
+
+    /**
+     * @param group            The multicast group address.
+     * @param port             The UDP port.
+     * @param networkInterface The interface to join on, or {@code null} for
+     *                         the system default.
+     * @param timeToLive       The number of router hops datagrams may cross.
+     */
+    public MulticastInvalidationBus(InetAddress group, int port, NetworkInterface networkInterface, int timeToLive) {
+        if (!group.isMulticastAddress()) {
+            throw new IllegalArgumentException(group + " is not a multicast address");
+        }
+        this.group = new InetSocketAddress(group, port);
+        this.networkInterface = networkInterface;
+        this.timeToLive = timeToLive;
+    }
+
+    @Override
+    public void start(Consumer<InvalidationMessage> listener) throws IOException {
+        socket = new MulticastSocket(group.getPort());
+        socket.setTimeToLive(timeToLive);
+        socket.setOption(StandardSocketOptions.IP_MULTICAST_LOOP, true);
+        if (networkInterface != null) {
+            socket.setNetworkInterface(networkInterface);
+        }
+        socket.joinGroup(group, networkInterface);
+        running = true;
+        Thread.ofPlatform().name("invalidation-multicast").daemon().start(() -> receive(listener));
+        log.info("Joined invalidation multicast group {}", group);
+    }
+
+    private void receive(Consumer<InvalidationMessage> listener) {
+        byte[] buffer = new byte[InvalidationMessage.MAX_BYTES];
+        DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+        while (running) {
+            try {
+                packet.setLength(buffer.length);
+                socket.receive(packet);
+                InvalidationMessage message = InvalidationMessage.decode(packet.getData(), packet.getLength());
+                if (message == null) {
+                    log.debug("Ignoring unrecognized datagram from {}", packet.getSocketAddress());
+                    continue;
+                }
+                listener.accept(message);
+            } catch (SocketException e) {
+                if (running) {
+                    log.warn("Invalidation multicast socket failed; no longer receiving", e);
+                }
+                return;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not process invalidation datagram", e);
+            }
+        }
+    }
+
+    @Override
+    public void publish(InvalidationMessage message) {
+        byte[] bytes = message.encode();
+        try {
+            socket.send(new DatagramPacket(bytes, bytes.length, group));
+        } catch (IOException e) {
+            log.warn("Could not send invalidation for {} {}", message.entity(), message.id(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        if (socket != null) {
+            socket.close();
+        }
+    }
+}
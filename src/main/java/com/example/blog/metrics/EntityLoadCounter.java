@@ -0,0 +1,40 @@
+package com.example.blog.metrics;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+/**
+ * Hibernate interceptor that counts the entities loaded on the current
+ * thread.
+ * <p>
+ * Every entity materialized from a result set (including lazily initialized
+ * proxies and collection elements) increments the count, so the difference
+ * between two readings is the number of rows turned into entities by the
+ * code that ran in between. The counter is thread-confined and costs one
+ * increment per entity. Loads are also counted against the current
+ * {@link QueryBudget} scope.
+ * </p>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public class EntityLoadCounter implements Interceptor {
+
+    private static final ThreadLocal<long[]> LOADED = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * Returns the number of entities loaded on this thread so far.
+     *
+     * @return The running count.
+     */
+    public static long current() {
+        return LOADED.get()[0];
+    }
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        LOADED.get()[0]++;
+        QueryBudget.onEntityLoaded();
+        return false;
+    }
+}
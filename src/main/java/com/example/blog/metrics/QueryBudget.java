@@ -0,0 +1,155 @@
+package com.example.blog.metrics;
+
+/**
+ * Thread-confined counters of SQL statements and loaded entities, used to
+ * enforce per-request query budgets and to pin query counts in tests.
+ * <p>
+ * A {@link Scope} is opened around a unit of work; every statement Hibernate
+ * prepares ({@link StatementCounter}) and every entity it loads
+ * ({@link EntityLoadCounter}) on the same thread is counted against it and
+ * against any enclosing scope. A scope with limits can reject the statement
+ * or entity that exceeds them by throwing {@link QueryBudgetExceededException}.
+ * </p>
+ *
+ * <h3>Usage in tests:</h3>
+ * <pre>
+ * try (QueryBudget.Scope scope = QueryBudget.track()) {
+ *     mockMvc.perform(get("/posts/{id}", id));
+ *     assertEquals(1, scope.statements());
+ * }
+ * </pre>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public final class QueryBudget {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private QueryBudget() {
+    }
+
+    /**
+     * Opens a scope that counts without limits.
+     *
+     * @return The scope; close it on the same thread.
+     */
+    public static Scope track() {
+        return open("tracking", Integer.MAX_VALUE, Long.MAX_VALUE, false);
+    }
+
+    /**
+     * Opens a scope with limits.
+     *
+     * @param name          Describes the unit of work in messages.
+     * @param maxStatements Statements allowed before the budget is exceeded.
+     * @param maxRows       Entities allowed before the budget is exceeded.
+     * @param reject        Whether exceeding the budget throws.
+     * @return The scope; close it on the same thread.
+     */
+    public static Scope open(String name, int maxStatements, long maxRows, boolean reject) {
+        Scope scope = new Scope(CURRENT.get(), name, maxStatements, maxRows, reject);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static void onStatement() {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            if (++scope.statements > scope.maxStatements && scope.reject) {
+                throw new QueryBudgetExceededException(scope.describe());
+            }
+        }
+    }
+
+    static void onEntityLoaded() {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            if (++scope.rows > scope.maxRows && scope.reject) {
+                throw new QueryBudgetExceededException(scope.describe());
+            }
+        }
+    }
+
+    /**
+     * Counts for one unit of work.
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+
+        private final String name;
+
+        private final int maxStatements;
+
+        private final long maxRows;
+
+        private final boolean reject;
+
+        private int statements;
+
+        private long rows;
+
+        private boolean closed;
+
+        private Scope(Scope parent, String name, int maxStatements, long maxRows, boolean reject) {
+            this.parent = parent;
+            this.name = name;
+            this.maxStatements = maxStatements;
+            this.maxRows = maxRows;
+            this.reject = reject;
+        }
+
+        /**
+         * Returns the number of SQL statements prepared in this scope.
+         *
+         * @return The statement count.
+         */
+        public int statements() {
+            return statements;
+        }
+
+        /**
+         * Returns the number of entities loaded in this scope.
+         *
+         * @return The entity count.
+         */
+        public long rows() {
+            return rows;
+        }
+
+        /**
+         * Returns whether either limit has been exceeded.
+         *
+         * @return {@code true} if over budget.
+         */
+        public boolean exceeded() {
+            return statements > maxStatements || rows > maxRows;
+        }
+
+        /**
+         * Describes the scope's counts against its limits.
+         *
+         * @return A human-readable summary.
+         */
+        public String describe() {
+            return name + " issued " + statements + " SQL statements (budget " + maxStatements + ") and loaded "
+                    + rows + " entities (budget " + maxRows + ")";
+        }
+
+        /**
+         * Stops counting and restores the enclosing scope.
+         */
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                if (CURRENT.get() == this) {
+                    if (parent != null) {
+                        CURRENT.set(parent);
+                    } else {
+                        CURRENT.remove();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.blog.metrics;
+
+/**
+ * Thrown when a unit of work issues more SQL statements or loads more
+ * entities than its {@link QueryBudget} allows and the budget is enforced.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public class QueryBudgetExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * @param message Describes the counts and limits.
+     */
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.blog.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Applies a {@link QueryBudget} to each request it is registered for.
+ * <p>
+ * When a request exceeds the budget, a warning naming the handler is logged
+ * and {@value #METRIC} is incremented. In reject mode the offending
+ * statement or entity load throws {@link QueryBudgetExceededException}
+ * instead, failing the request with 500 before the extra work is done.
+ * </p>
+ * <p>
+ * Only the request thread is counted; work continued on another thread
+ * (such as a streaming response body) is outside the budget.
+ * </p>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public class QueryBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetInterceptor.class);
+
+    /**
+     * Name of the counter of requests that exceeded their budget.
+     */
+    public static final String METRIC = "blog.query.budget.exceeded";
+
+    private static final String SCOPE = QueryBudgetInterceptor.class.getName() + ".scope";
+
+    private final MeterRegistry registry;
+
+    private final int maxStatements;
+
+    private final long maxRows;
+
+    private final boolean reject;
+
+    /**
+     * @param registry      Registry the exceeded counter is recorded in.
+     * @param maxStatements SQL statements allowed per request.
+     * @param maxRows       Entities allowed per request.
+     * @param reject        Whether exceeding the budget fails the request.
+     */
+    public QueryBudgetInterceptor(MeterRegistry registry, int maxStatements, long maxRows, boolean reject) {
+        this.registry = registry;
+        this.maxStatements = maxStatements;
+        this.maxRows = maxRows;
+        this.reject = reject;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String name = handler instanceof HandlerMethod method
+                ? method.getBeanType().getSimpleName() + "." + method.getMethod().getName()
+                : request.getMethod() + " " + request.getRequestURI();
+        request.setAttribute(SCOPE, QueryBudget.open(name, maxStatements, maxRows, reject));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        close(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        close(request);
+    }
+
+    private void close(HttpServletRequest request) {
+        if (!(request.getAttribute(SCOPE) instanceof QueryBudget.Scope scope)) {
+            return;
+        }
+        request.removeAttribute(SCOPE);
+        scope.close();
+        if (scope.exceeded()) {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            Counter.builder(METRIC)
+                    .description("Requests that exceeded their SQL statement or entity budget")
+                    .tag("method", request.getMethod())
+                    .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                    .register(registry)
+                    .increment();
+            log.warn("Query budget exceeded: {}", scope.describe());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.blog.metrics;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Records how many entities each MVC request loaded, as the
+ * {@value #METRIC} distribution summary tagged with the request's method and
+ * URI template (matching the tags of {@code http.server.requests}).
+ * <p>
+ * Work handed off to another thread (streaming exports, {@code @Async}
+ * methods, the write-behind flusher) is not attributed to the request.
+ * </p>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public class RequestMetricsInterceptor implements HandlerInterceptor {
+
+    /**
+     * Name of the per-request entity-load summary.
+     */
+    public static final String METRIC = "blog.request.entities.loaded";
+
+    private static final String START = RequestMetricsInterceptor.class.getName() + ".start";
+
+    private final MeterRegistry registry;
+
+    /**
+     * @param registry Registry the summary is recorded in.
+     */
+    public RequestMetricsInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(START, EntityLoadCounter.current());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        if (!(request.getAttribute(START) instanceof Long start)) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder(METRIC)
+                .description("Entities loaded by Hibernate while handling a request")
+                .baseUnit("entities")
+                .tag("method", request.getMethod())
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(EntityLoadCounter.current() - start);
+    }
+}
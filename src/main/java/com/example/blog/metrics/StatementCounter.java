@@ -0,0 +1,22 @@
+package com.example.blog.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector that counts every SQL statement against
+ * the current {@link QueryBudget} scope. The SQL is passed through
+ * unchanged.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public String inspect(String sql) {
+        QueryBudget.onStatement();
+        return sql;
+    }
+}
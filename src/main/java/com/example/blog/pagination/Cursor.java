@@ -0,0 +1,62 @@
+package com.example.blog.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes opaque continuation tokens for keyset pagination.
+ * <p>
+ * A token wraps the primary key of the last row a client has seen. Clients
+ * must treat it as an opaque string and pass it back unchanged in the
+ * {@code after} query parameter; the format may change between releases.
+ * </p>
+ *
+ * <h3>Token Format:</h3>
+ * <ul>
+ * <li>The string {@code v1:<id>}, Base64 URL-encoded without padding.</li>
+ * </ul>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public final class Cursor {
+
+    private static final String PREFIX = "v1:";
+
+    private Cursor() {
+    }
+
+    /**
+     * Encodes the given key into an opaque continuation token.
+     *
+     * @param id The primary key of the last row returned to the client.
+     * @return A URL-safe token that can be passed back as {@code after}.
+     */
+    public static String encode(long id) {
+        byte[] raw = (PREFIX + id).getBytes(StandardCharsets.US_ASCII);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * Decodes a continuation token previously produced by {@link #encode(long)}.
+     *
+     * @param token The token supplied by the client; may be {@code null} or blank.
+     * @return The decoded key, or {@code null} if no token was supplied.
+     * @throws IllegalArgumentException if the token is malformed.
+     */
+    public static Long decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException is an IllegalArgumentException as well
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.blog.pagination;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * A single page of a keyset-paginated result.
+ *
+ * @param items      The rows on this page, in key order.
+ * @param nextCursor Opaque token for the next page, or {@code null} if this is
+ *                   the last page.
+ * @param <T>        The element type.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    /**
+     * Builds a page from a result that was fetched with {@code limit + 1} rows.
+     * <p>
+     * The extra row only signals that another page exists; it is dropped from
+     * the returned items and the key of the last kept row becomes the cursor.
+     * </p>
+     *
+     * @param rows  The rows returned by the seek query (at most {@code limit + 1}).
+     * @param limit The page size requested by the client.
+     * @param keyOf Extracts the seek key from a row.
+     * @param <T>   The element type.
+     * @return The page, with {@code nextCursor} set when more rows remain.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, ToLongFunction<T> keyOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        return new CursorPage<>(items, Cursor.encode(keyOf.applyAsLong(items.get(limit - 1))));
+    }
+
+    /**
+     * Indicates whether another page can be fetched.
+     *
+     * @return {@code true} if {@link #nextCursor()} is set.
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
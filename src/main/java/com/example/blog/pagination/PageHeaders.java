@@ -0,0 +1,92 @@
+package com.example.blog.pagination;
+
+import java.util.function.Supplier;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Builds the navigation headers sent with a keyset-paginated response.
+ * <p>
+ * When another page exists, the response carries:
+ * </p>
+ * <ul>
+ * <li>{@code Link: <...?after=token&limit=n>; rel="next"} (RFC 8288).</li>
+ * <li>{@code X-Next-Cursor: token} for clients that do not parse links.</li>
+ * </ul>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public final class PageHeaders {
+
+    /**
+     * Name of the header carrying the raw continuation token.
+     */
+    public static final String NEXT_CURSOR = "X-Next-Cursor";
+
+    /**
+     * Default page size when the client does not supply {@code limit}.
+     */
+    public static final int DEFAULT_LIMIT = 20;
+
+    /**
+     * Upper bound on {@code limit}, protecting the server from unbounded pages.
+     */
+    public static final int MAX_LIMIT = 100;
+
+    private PageHeaders() {
+    }
+
+    /**
+     * Clamps a client-supplied page size into {@code [1, MAX_LIMIT]}.
+     *
+     * @param limit The requested page size.
+     * @return The effective page size.
+     */
+    public static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    /**
+     * Creates the headers for a page, resolving the next link against the
+     * current request.
+     *
+     * @param page  The page being returned.
+     * @param limit The effective page size.
+     * @return Headers containing next-page navigation, or empty headers on
+     *         the last page.
+     */
+    public static HttpHeaders forPage(CursorPage<?> page, int limit) {
+        return forPage(page, limit, ServletUriComponentsBuilder::fromCurrentRequest);
+    }
+
+    /**
+     * Creates the headers for a page, resolving the next link against a
+     * request captured earlier; for pages completed outside the request
+     * thread.
+     *
+     * @param page    The page being returned.
+     * @param limit   The effective page size.
+     * @param request Builder initialized from the request being answered.
+     * @return Headers containing next-page navigation, or empty headers on
+     *         the last page.
+     */
+    public static HttpHeaders forPage(CursorPage<?> page, int limit, UriComponentsBuilder request) {
+        return forPage(page, limit, request::cloneBuilder);
+    }
+
+    private static HttpHeaders forPage(CursorPage<?> page, int limit, Supplier<UriComponentsBuilder> request) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page.hasNext()) {
+            String next = request.get()
+                    .replaceQueryParam("after", page.nextCursor())
+                    .replaceQueryParam("limit", limit)
+                    .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+            headers.add(NEXT_CURSOR, page.nextCursor());
+        }
+        return headers;
+    }
+}
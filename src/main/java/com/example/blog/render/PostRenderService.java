@@ -0,0 +1,289 @@
+package com.example.blog.render;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.blog.config.CacheConfig;
+import com.example.blog.dto.RenderedPost;
+import com.example.blog.entity.Post;
+import com.example.blog.entity.PostRendering;
+import com.example.blog.event.PostChangedEvent;
+import com.example.blog.event.PostRenderedEvent;
+import com.example.blog.repository.PostRenderingRepository;
+import com.example.blog.repository.PostRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Renders post content to sanitized HTML once per change and serves the
+ * stored result.
+ * <p>
+ * Content changes are picked up from {@link PostChangedEvent}s after the
+ * publishing transaction commits and rendered on a bounded pool of
+ * {@code blog.render.threads} platform threads, so writes only pay for a
+ * queue insertion. The HTML is stored as a {@link PostRendering} tagged with
+ * the post version it was rendered from; {@link #getRendered(Long)} reads it
+ * through {@value CacheConfig#POST_HTML} and never renders.
+ * </p>
+ *
+ * <h3>Scheduling:</h3>
+ * <ul>
+ * <li>At most one render per post is queued; changes arriving meanwhile
+ * replace the queued content, so a burst of edits renders once.</li>
+ * <li>A rendering never replaces one from a newer version.</li>
+ * <li>Title-only updates keep the existing HTML.</li>
+ * <li>When the queue ({@code blog.render.queue-capacity}) is full the render
+ * is dropped and counted in {@value #REJECTED_METRIC}; the post is rendered
+ * when it is next requested, via {@link #requestRender(Long)}. The same
+ * applies to posts written before rendering existed.</li>
+ * </ul>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+@Service
+public class PostRenderService {
+
+    private static final Logger log = LoggerFactory.getLogger(PostRenderService.class);
+
+    /**
+     * Timer of render durations.
+     */
+    static final String RENDER_METRIC = "blog.render";
+
+    /**
+     * Counter of renders dropped because the queue was full.
+     */
+    static final String REJECTED_METRIC = "blog.render.rejected";
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostRenderingRepository renderingRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${blog.render.threads:2}")
+    private int threads = 2;
+
+    @Value("${blog.render.queue-capacity:1000}")
+    private int queueCapacity = 1000;
+
+    private final MarkdownRenderer renderer = new MarkdownRenderer();
+
+    private final ConcurrentMap<Long, Job> pending = new ConcurrentHashMap<>();
+
+    private Executor executor;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Timer renderTimer;
+
+    private Counter rejected;
+
+    /**
+     * Content waiting to be rendered; a {@code null} content means the post
+     * is read from the database when the render runs.
+     */
+    private record Job(Long version, String content) {
+    }
+
+    /**
+     * Starts the render pool.
+     */
+    @PostConstruct
+    public void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        renderTimer = Timer.builder(RENDER_METRIC).register(meterRegistry);
+        rejected = Counter.builder(REJECTED_METRIC).register(meterRegistry);
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("post-render-", 0).daemon().factory());
+    }
+
+    /**
+     * Stops the render pool, letting queued renders finish for a few seconds;
+     * anything left is rendered on demand after the next start.
+     *
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (executor instanceof ExecutorService service) {
+            service.shutdown();
+            service.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Retrieves the stored HTML of a post.
+     * <p>
+     * The HTML may be one render behind the post's current content for the
+     * moment it takes the queue to catch up.
+     * </p>
+     *
+     * @param id The ID of the post.
+     * @return The rendered post, or {@code null} if the post does not exist
+     *         or has not been rendered yet.
+     */
+    @Cacheable(cacheNames = CacheConfig.POST_HTML, key = "#id", unless = "#result == null")
+    public RenderedPost getRendered(Long id) {
+        return renderingRepository.findById(id)
+                .map(rendering -> new RenderedPost(id, rendering.getVersion(),
+                        rendering.getHtml().getBytes(StandardCharsets.UTF_8)))
+                .orElse(null);
+    }
+
+    /**
+     * Queues a post to be rendered from its stored content, unless a render
+     * is already queued. Used when a reader finds no rendering.
+     *
+     * @param id The ID of the post.
+     */
+    public void requestRender(Long id) {
+        submit(id, new Job(null, null));
+    }
+
+    /**
+     * Queues a render of changed content once its transaction has committed,
+     * or evicts the HTML of a deleted post (the row itself is removed by the
+     * foreign key cascade).
+     *
+     * @param event The change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.remote() && !event.deleted()) {
+            return; // the node that made the change renders it
+        }
+        if (event.deleted()) {
+            pending.remove(event.id());
+            evict(event.id());
+        } else if (event.content() != null) {
+            submit(event.id(), new Job(event.version(), event.content()));
+        }
+    }
+
+    private void submit(Long id, Job job) {
+        if (pending.put(id, job) != null) {
+            return; // the queued render will pick up this job instead
+        }
+        try {
+            executor.execute(() -> drain(id));
+        } catch (RejectedExecutionException e) {
+            pending.remove(id, job);
+            rejected.increment();
+            log.debug("Render queue full; post {} will be rendered on demand", id);
+        }
+    }
+
+    private void drain(Long id) {
+        Job job = pending.remove(id);
+        if (job == null) {
+            return;
+        }
+        try {
+            render(id, job);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Post {} was deleted or rendered concurrently; rendering discarded", id);
+        } catch (RuntimeException e) {
+            log.warn("Could not render post {}", id, e);
+        }
+    }
+
+    private boolean render(Long id, Job job) {
+        Long version = job.version();
+        String content = job.content();
+        if (content == null) {
+            Post post = postRepository.findById(id).orElse(null);
+            if (post == null) {
+                return false;
+            }
+            version = post.getVersion();
+            content = post.getContent();
+        }
+        String markdown = content;
+        String html = renderTimer.record(() -> renderer.render(markdown));
+        Long sourceVersion = version;
+        boolean stored = Boolean.TRUE.equals(transactionTemplate.execute(status -> store(id, sourceVersion, html)));
+        if (stored) {
+            evict(id);
+        }
+        return stored;
+    }
+
+    private boolean store(Long id, Long version, String html) {
+        PostRendering current = renderingRepository.findById(id).orElse(null);
+        if (current == null) {
+            renderingRepository.save(new PostRendering(entityManager.getReference(Post.class, id), version, html,
+                    Instant.now()));
+        } else if (current.getVersion() < version) {
+            current.update(version, html, Instant.now());
+        } else {
+            return false; // already rendered from this version or a newer one
+        }
+        eventPublisher.publishEvent(new PostRenderedEvent(id, version));
+        return true;
+    }
+
+    private void evict(Long id) {
+        Cache cache = cacheManager.getCache(CacheConfig.POST_HTML);
+        if (cache != null) {
+            cache.evict(id);
+        }
+    }
+
+    /**
+     * Renders a post synchronously, bypassing the queue; for tests.
+     *
+     * @param id      The ID of the post.
+     * @param version The post version the content belongs to.
+     * @param content The content.
+     * @return {@code true} if a rendering was stored.
+     */
+    boolean renderNow(Long id, Long version, String content) {
+        return render(id, new Job(version, content));
+    }
+}
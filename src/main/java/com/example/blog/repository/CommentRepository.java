@@ -2,7 +2,12 @@ package com.example.blog.repository;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.example.blog.entity.Comment;
 
@@ -29,4 +34,44 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
      * @return A list of comments linked to the given post.
      */
     List<Comment> findByPostId(Long postId);
+
+    /**
+     * Seeks forward through a post's comments (oldest first).
+     * <p>
+     * Returns a {@link Slice}, so Spring Data fetches one extra row to detect
+     * a further page instead of issuing a COUNT query. Backed by the
+     * {@code (post_id, id)} index.
+     * </p>
+     *
+     * @param postId   The ID of the post.
+     * @param afterId  The exclusive lower bound on the comment ID.
+     * @param pageable Page size and {@code id} ascending sort; the page number must be 0.
+     * @return Comments with an ID greater than {@code afterId}.
+     */
+    Slice<Comment> findByPostIdAndIdGreaterThan(Long postId, Long afterId, Pageable pageable);
+
+    /**
+     * Seeks backward through a post's comments (newest first).
+     *
+     * @param postId   The ID of the post.
+     * @param beforeId The exclusive upper bound on the comment ID.
+     * @param pageable Page size and {@code id} descending sort; the page number must be 0.
+     * @return Comments with an ID less than {@code beforeId}.
+     * @see #findByPostIdAndIdGreaterThan(Long, Long, Pageable)
+     */
+    Slice<Comment> findByPostIdAndIdLessThan(Long postId, Long beforeId, Pageable pageable);
+
+    /**
+     * Deletes every comment of a post with a single set-based DELETE.
+     * <p>
+     * Unlike a derived {@code deleteBy...} method, no comment is loaded and
+     * no per-row statements are issued, however many comments the post has.
+     * </p>
+     *
+     * @param postId The ID of the post.
+     * @return The number of comments deleted.
+     */
+    @Modifying
+    @Query("delete from Comment c where c.post.id = :postId")
+    int deleteAllByPostIdInBulk(@Param("postId") Long postId);
 }
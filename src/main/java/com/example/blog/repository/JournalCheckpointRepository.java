@@ -0,0 +1,34 @@
+package com.example.blog.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.blog.entity.JournalCheckpoint;
+
+/**
+ * Repository interface for {@link JournalCheckpoint} rows, keyed by journal
+ * name.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public interface JournalCheckpointRepository extends JpaRepository<JournalCheckpoint, String> {
+
+    /**
+     * Moves a checkpoint forward with a single UPDATE; a checkpoint never
+     * moves backwards, so concurrent writers cannot lose each other's
+     * progress.
+     *
+     * @param name     The journal name.
+     * @param sequence The highest sequence number now committed.
+     * @return The number of rows updated: 1, or 0 if the checkpoint is
+     *         missing or already at or beyond {@code sequence}.
+     */
+    @Transactional
+    @Modifying
+    @Query("update JournalCheckpoint c set c.sequence = :sequence where c.name = :name and c.sequence < :sequence")
+    int advance(@Param("name") String name, @Param("sequence") long sequence);
+}
@@ -0,0 +1,14 @@
+package com.example.blog.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.example.blog.entity.PostRendering;
+
+/**
+ * Repository interface for {@link PostRendering} rows, keyed by post ID.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public interface PostRenderingRepository extends JpaRepository<PostRendering, Long> {
+}
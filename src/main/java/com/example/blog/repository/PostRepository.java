@@ -1,9 +1,28 @@
 package com.example.blog.repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.AvailableHints;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.blog.dto.PostSummary;
+import com.example.blog.dto.PostVersion;
 import com.example.blog.entity.Post;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository interface for managing {@link Post} entities.
  * <p>
@@ -18,6 +37,315 @@ import com.example.blog.entity.Post;
  * @version 1.0
  */
 public interface PostRepository extends JpaRepository<Post, Long> {
-    // JpaRepository provides built-in CRUD operations for Post entities.
-    // Additional custom queries can be defined here if needed.
+
+    /**
+     * Number of rows fetched per round trip when streaming the posts table.
+     */
+    int STREAM_FETCH_SIZE = 500;
+
+    /**
+     * Retrieves a post together with its comments in a single query.
+     * <p>
+     * The entity graph turns the lazy {@code comments} collection into a left
+     * join fetch, so serializing the result issues no further statements.
+     * </p>
+     *
+     * @param id The ID of the post.
+     * @return The post with its comments initialized, if it exists.
+     */
+    @EntityGraph(attributePaths = "comments")
+    Optional<Post> findWithCommentsById(Long id);
+
+    /**
+     * Reads only the version stamp of a post.
+     * <p>
+     * Used to answer conditional requests without loading the
+     * {@code content} column or the comments.
+     * </p>
+     *
+     * @param id The ID of the post.
+     * @return The version stamp, if the post exists.
+     */
+    @Query("select new com.example.blog.dto.PostVersion(p.id, p.version, p.updatedAt) from Post p where p.id = :id")
+    Optional<PostVersion> findVersionById(@Param("id") Long id);
+
+    /**
+     * Streams every post in ID order through a forward-only cursor.
+     * <p>
+     * Rows are fetched from the driver {@value #STREAM_FETCH_SIZE} at a time
+     * (MySQL requires {@code useCursorFetch=true} on the JDBC URL to honour
+     * the fetch size) and loaded read-only, so Hibernate keeps no snapshots.
+     * The caller must consume the stream inside a transaction, close it, and
+     * detach entities as it goes to keep memory constant.
+     * </p>
+     *
+     * @return A lazily populated stream of all posts.
+     */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true") })
+    @Query("select p from Post p order by p.id")
+    Stream<Post> streamAllByOrderByIdAsc();
+
+    /**
+     * Streams the posts created or changed since a point in time, in ID order.
+     * <p>
+     * Used to catch a persisted search index up with the table; the same
+     * cursor and read-only hints as {@link #streamAllByOrderByIdAsc()} apply.
+     * </p>
+     *
+     * @param id        Posts with a greater ID are included.
+     * @param updatedAt Posts updated after this instant are included.
+     * @return A lazily populated stream of matching posts.
+     */
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true") })
+    @Query("select p from Post p where p.id > :id or p.updatedAt > :updatedAt order by p.id")
+    Stream<Post> streamChangedSince(@Param("id") long id, @Param("updatedAt") Instant updatedAt);
+
+    /**
+     * Streams every post ID in ascending order, reading only the primary key
+     * index.
+     * <p>
+     * Used to find posts that a persisted search index still holds but the
+     * table no longer does; the caller must consume the stream inside a
+     * transaction and close it.
+     * </p>
+     *
+     * @return A lazily populated stream of all post IDs.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE))
+    @Query("select p.id from Post p order by p.id")
+    Stream<Long> streamAllIds();
+
+    /**
+     * Seeks to the first post after the given key and returns up to
+     * {@code limit} posts in ascending ID order.
+     * <p>
+     * This is a range scan on the primary key, so its cost depends only on
+     * the page size, not on how deep into the table the client has paged.
+     * </p>
+     *
+     * @param id    The exclusive lower bound (use 0 for the first page).
+     * @param limit Maximum number of rows to return.
+     * @return Posts with an ID greater than {@code id}, ordered by ID.
+     */
+    List<Post> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Keyset-paginated summary projection for list endpoints.
+     * <p>
+     * Only the ID, title, and the denormalized excerpt and comment count are
+     * selected, so the compressed {@code content} column is never read and no
+     * {@link com.example.blog.entity.Comment} rows are loaded.
+     * </p>
+     *
+     * @param after The exclusive lower bound on the post ID (use 0 for the first page).
+     * @param limit Maximum number of rows to return.
+     * @return Summaries of posts with an ID greater than {@code after}, ordered by ID.
+     */
+    @Query("select new com.example.blog.dto.PostSummary(p.id, p.title, p.excerpt, p.commentCount) "
+            + "from Post p where p.id > :after order by p.id")
+    List<PostSummary> findSummariesAfter(@Param("after") Long after, Limit limit);
+
+    /**
+     * Summaries of the newest posts, newest first.
+     * <p>
+     * A backward range scan on the primary key, used to seed and reconcile
+     * the in-memory latest-posts feed.
+     * </p>
+     *
+     * @param limit Maximum number of rows to return.
+     * @return Summaries of the newest posts, ordered by descending ID.
+     */
+    @Query("select new com.example.blog.dto.PostSummary(p.id, p.title, p.excerpt, p.commentCount) "
+            + "from Post p order by p.id desc")
+    List<PostSummary> findLatestSummaries(Limit limit);
+
+    /**
+     * Overwrites a post's title and content with a single UPDATE.
+     * <p>
+     * The post is not loaded, so neither its current content nor its
+     * comments are read. The version and modification time are bumped here
+     * because bulk updates bypass Hibernate's versioning and
+     * {@code @UpdateTimestamp}; the excerpt is derived from the content.
+     * </p>
+     *
+     * @param id      The ID of the post.
+     * @param title   The new title.
+     * @param content The new content.
+     * @param now     The modification time to record.
+     * @return The number of rows updated: 1, or 0 if the post does not exist.
+     */
+    default int updateTitleAndContent(Long id, String title, String content, Instant now) {
+        return updateTitleAndContent(id, title, content, Post.excerptOf(content), now);
+    }
+
+    /**
+     * Overwrites a post's title, content and excerpt with a single UPDATE;
+     * use {@link #updateTitleAndContent(Long, String, String, Instant)}.
+     *
+     * @param id      The ID of the post.
+     * @param title   The new title.
+     * @param content The new content (compressed by the attribute converter).
+     * @param excerpt The excerpt of the new content.
+     * @param now     The modification time to record.
+     * @return The number of rows updated: 1, or 0 if the post does not exist.
+     */
+    @Modifying
+    @Query("update Post p set p.title = :title, p.content = :content, p.excerpt = :excerpt, "
+            + "p.version = p.version + 1, p.updatedAt = :now where p.id = :id")
+    int updateTitleAndContent(@Param("id") Long id, @Param("title") String title, @Param("content") String content,
+            @Param("excerpt") String excerpt, @Param("now") Instant now);
+
+    /**
+     * Overwrites only a post's title with a single UPDATE.
+     * <p>
+     * The {@code content} column is neither read nor written, so fixing the
+     * title of a long post costs the same as fixing a short one.
+     * </p>
+     *
+     * @param id    The ID of the post.
+     * @param title The new title.
+     * @param now   The modification time to record.
+     * @return The number of rows updated: 1, or 0 if the post does not exist.
+     */
+    @Modifying
+    @Query("update Post p set p.title = :title, p.version = p.version + 1, p.updatedAt = :now where p.id = :id")
+    int updateTitle(@Param("id") Long id, @Param("title") String title, @Param("now") Instant now);
+
+    /**
+     * Overwrites only a post's content (and its excerpt) with a single UPDATE.
+     *
+     * @param id      The ID of the post.
+     * @param content The new content.
+     * @param now     The modification time to record.
+     * @return The number of rows updated: 1, or 0 if the post does not exist.
+     */
+    default int updateContent(Long id, String content, Instant now) {
+        return updateContent(id, content, Post.excerptOf(content), now);
+    }
+
+    /**
+     * Overwrites only a post's content and excerpt with a single UPDATE; use
+     * {@link #updateContent(Long, String, Instant)}.
+     *
+     * @param id      The ID of the post.
+     * @param content The new content (compressed by the attribute converter).
+     * @param excerpt The excerpt of the new content.
+     * @param now     The modification time to record.
+     * @return The number of rows updated: 1, or 0 if the post does not exist.
+     */
+    @Modifying
+    @Query("update Post p set p.content = :content, p.excerpt = :excerpt, p.version = p.version + 1, "
+            + "p.updatedAt = :now where p.id = :id")
+    int updateContent(@Param("id") Long id, @Param("content") String content, @Param("excerpt") String excerpt,
+            @Param("now") Instant now);
+
+    /**
+     * Finds posts in an ID range whose content is stored uncompressed although
+     * it is long enough to compress, or whose excerpt is missing; i.e. rows
+     * written before content compression.
+     *
+     * @param fromId   The inclusive lower bound of the ID range.
+     * @param toId     The inclusive upper bound of the ID range.
+     * @param minBytes The smallest stored length worth compressing.
+     * @return The IDs of the posts to rewrite.
+     */
+    @Query(value = "SELECT id FROM posts WHERE id BETWEEN :fromId AND :toId "
+            + "AND ((OCTET_LENGTH(content) >= :minBytes AND SUBSTRING(content, 1, 2) <> X'1F8B') "
+            + "OR excerpt IS NULL)", nativeQuery = true)
+    List<Long> findUncompressedContentIds(@Param("fromId") long fromId, @Param("toId") long toId,
+            @Param("minBytes") int minBytes);
+
+    /**
+     * Rewrites a post's content and excerpt in their current encoding,
+     * unless the post has changed since it was read.
+     * <p>
+     * The version is deliberately not bumped: the post's representation is
+     * unchanged, so cached copies and ETags stay valid.
+     * </p>
+     *
+     * @param id      The ID of the post.
+     * @param content The content, as read.
+     * @param excerpt The excerpt of the content.
+     * @param version The version the content was read at.
+     * @return The number of rows updated: 1, or 0 if the post has since been
+     *         changed or deleted.
+     */
+    @Transactional
+    @Modifying
+    @Query("update Post p set p.content = :content, p.excerpt = :excerpt where p.id = :id and p.version = :version")
+    int rewriteContent(@Param("id") Long id, @Param("content") String content, @Param("excerpt") String excerpt,
+            @Param("version") Long version);
+
+    /**
+     * Deletes a post with a single DELETE, without loading it or cascading
+     * to its comments; delete those first with
+     * {@link CommentRepository#deleteAllByPostIdInBulk(Long)}.
+     *
+     * @param id The ID of the post.
+     * @return The number of rows deleted: 1, or 0 if the post does not exist.
+     */
+    @Modifying
+    @Query("delete from Post p where p.id = :id")
+    int deleteByIdInBulk(@Param("id") Long id);
+
+    /**
+     * Atomically adjusts a post's denormalized comment count.
+     * <p>
+     * A single {@code UPDATE ... SET comment_count = comment_count + :delta}
+     * rather than a read-modify-write, so concurrent writers cannot lose
+     * increments. The post's version and modification time are bumped as
+     * well, because the post representation (and its ETag) includes the
+     * count.
+     * </p>
+     *
+     * @param id    The ID of the post.
+     * @param delta The number of comments added (negative for removals).
+     * @param now   The modification time to record.
+     * @return The number of rows updated: 1, or 0 if the post does not exist.
+     */
+    @Modifying
+    @Query("update Post p set p.commentCount = p.commentCount + :delta, p.version = p.version + 1, "
+            + "p.updatedAt = :now where p.id = :id")
+    int incrementCommentCount(@Param("id") Long id, @Param("delta") long delta, @Param("now") Instant now);
+
+    /**
+     * Finds the posts in an ID range whose stored comment count has drifted
+     * from the actual number of comments.
+     *
+     * @param fromId The inclusive lower bound of the ID range.
+     * @param toId   The inclusive upper bound of the ID range.
+     * @return The IDs of the drifted posts, in ascending order.
+     */
+    @Query("select p.id from Post p where p.id between :fromId and :toId "
+            + "and p.commentCount <> (select count(c) from Comment c where c.post.id = p.id) order by p.id")
+    List<Long> findIdsWithDriftedCommentCount(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    /**
+     * Recomputes the comment count of the given posts where it still differs
+     * from the actual number of comments. Like
+     * {@link #incrementCommentCount(Long, long, Instant)}, a rewrite also bumps
+     * the version and modification time, since both feed the post's ETag.
+     *
+     * @param ids The IDs of the posts to repair.
+     * @param now The modification time to record.
+     * @return The number of posts whose count was corrected.
+     */
+    @Transactional
+    @Modifying
+    @Query("update Post p set p.commentCount = (select count(c) from Comment c where c.post.id = p.id), "
+            + "p.version = p.version + 1, p.updatedAt = :now "
+            + "where p.id in :ids and p.commentCount <> (select count(c) from Comment c where c.post.id = p.id)")
+    int repairCommentCounts(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
+
+    /**
+     * Retrieves the highest post ID.
+     *
+     * @return The highest ID, or 0 if there are no posts.
+     */
+    @Query("select coalesce(max(p.id), 0) from Post p")
+    long findMaxId();
 }
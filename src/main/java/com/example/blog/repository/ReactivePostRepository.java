@@ -0,0 +1,193 @@
+package com.example.blog.repository;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.example.blog.entity.Comment;
+import com.example.blog.entity.CompressedTextConverter;
+import com.example.blog.entity.Post;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking, read-only access to the {@code posts} and {@code comments}
+ * tables through R2DBC.
+ * <p>
+ * The schema is the one the JPA entities define; rows are mapped onto
+ * detached {@link Post} and {@link Comment} instances so the reactive
+ * endpoints render the same JSON as their servlet counterparts. Posts and
+ * comments are read with separate queries and joined in memory, so each
+ * post's columns are transferred and decoded once however many comments it
+ * has.
+ * </p>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+@Repository
+public class ReactivePostRepository {
+
+    private static final String POST_COLUMNS =
+            "SELECT id, title, content, version, updated_at, comment_count FROM posts ";
+
+    private static final String COMMENT_COLUMNS = "SELECT post_id, id, content, version, updated_at FROM comments ";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * @param databaseClient The R2DBC client bound to the application's connection factory.
+     */
+    public ReactivePostRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Seeks forward through the posts, without their comments.
+     *
+     * @param afterId The exclusive lower bound on the post ID.
+     * @param limit   Maximum number of posts to emit.
+     * @return The posts in ascending ID order.
+     * @see #withComments(List)
+     */
+    public Flux<Post> findAllAfter(long afterId, int limit) {
+        return databaseClient.sql(POST_COLUMNS + "WHERE id > :afterId ORDER BY id LIMIT :limit")
+                .bind("afterId", afterId)
+                .bind("limit", limit)
+                .map(ReactivePostRepository::toPost)
+                .all();
+    }
+
+    /**
+     * Loads the comments of consecutive posts with one range query over the
+     * {@code (post_id, id)} index and attaches them in memory.
+     * <p>
+     * Post columns are read once per post by the caller's query, so the
+     * compressed content is neither repeated per comment row nor decoded
+     * more than once.
+     * </p>
+     *
+     * @param posts Posts in ascending ID order, with no posts missing between
+     *              the first and the last (such as one page of
+     *              {@link #findAllAfter(long, int)}).
+     * @return The same posts, each with its comments in ascending ID order.
+     */
+    public Mono<List<Post>> withComments(List<Post> posts) {
+        if (posts.isEmpty()) {
+            return Mono.just(posts);
+        }
+        Map<Long, Post> byId = new HashMap<>();
+        posts.forEach(post -> byId.put(post.getId(), post));
+        return databaseClient.sql(COMMENT_COLUMNS + "WHERE post_id BETWEEN :firstId AND :lastId ORDER BY post_id, id")
+                .bind("firstId", posts.get(0).getId())
+                .bind("lastId", posts.get(posts.size() - 1).getId())
+                .map(row -> {
+                    Post post = byId.get(row.get("post_id", Long.class));
+                    Comment comment = toComment(row);
+                    if (post != null) {
+                        comment.setPost(post);
+                        post.getComments().add(comment);
+                    }
+                    return comment;
+                })
+                .all()
+                .then(Mono.just(posts));
+    }
+
+    /**
+     * Retrieves a single post with its comments: the post row, then its
+     * comments.
+     *
+     * @param id The post ID.
+     * @return The post, or an empty {@link Mono} if it does not exist.
+     */
+    public Mono<Post> findWithCommentsById(Long id) {
+        return databaseClient.sql(POST_COLUMNS + "WHERE id = :id")
+                .bind("id", id)
+                .map(ReactivePostRepository::toPost)
+                .one()
+                .flatMap(post -> withComments(List.of(post)))
+                .map(posts -> posts.get(0));
+    }
+
+    /**
+     * Streams a post's comments in ascending ID order, seeking on the
+     * {@code (post_id, id)} index.
+     *
+     * @param postId The post ID.
+     * @return The comments; empty if the post has none or does not exist.
+     */
+    public Flux<Comment> findCommentsByPostId(Long postId) {
+        return databaseClient.sql(COMMENT_COLUMNS + "WHERE post_id = :postId ORDER BY id")
+                .bind("postId", postId)
+                .map(ReactivePostRepository::toComment)
+                .all();
+    }
+
+    private static Post toPost(Readable row) {
+        Post post = new Post(row.get("id", Long.class), row.get("title", String.class),
+                decodeContent(row.get("content")), new ArrayList<>());
+        post.setVersion(row.get("version", Long.class));
+        post.setUpdatedAt(instant(row.get("updated_at")));
+        Long commentCount = row.get("comment_count", Long.class);
+        post.setCommentCount(commentCount == null ? 0 : commentCount);
+        return post;
+    }
+
+    private static Comment toComment(Readable row) {
+        Comment comment = new Comment();
+        comment.setId(row.get("id", Long.class));
+        comment.setContent(row.get("content", String.class));
+        comment.setVersion(row.get("version", Long.class));
+        comment.setUpdatedAt(instant(row.get("updated_at")));
+        return comment;
+    }
+
+    /**
+     * Decodes the binary {@code posts.content} column; drivers return it as
+     * {@code byte[]} or {@link ByteBuffer}.
+     */
+    private static String decodeContent(Object value) {
+        if (value == null || value instanceof byte[]) {
+            return CompressedTextConverter.decode((byte[]) value);
+        }
+        if (value instanceof ByteBuffer buffer) {
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return CompressedTextConverter.decode(bytes);
+        }
+        throw new IllegalArgumentException("Unsupported binary type: " + value.getClass().getName());
+    }
+
+    /**
+     * Normalizes a timestamp column to an {@link Instant}; drivers differ in
+     * the type they return, and zone-less values are stored in UTC.
+     */
+    private static Instant instant(Object value) {
+        if (value == null || value instanceof Instant) {
+            return (Instant) value;
+        }
+        if (value instanceof OffsetDateTime offsetDateTime) {
+            return offsetDateTime.toInstant();
+        }
+        if (value instanceof ZonedDateTime zonedDateTime) {
+            return zonedDateTime.toInstant();
+        }
+        if (value instanceof LocalDateTime localDateTime) {
+            return localDateTime.toInstant(ZoneOffset.UTC);
+        }
+        throw new IllegalArgumentException("Unsupported timestamp type: " + value.getClass().getName());
+    }
+}
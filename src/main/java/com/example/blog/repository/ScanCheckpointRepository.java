@@ -0,0 +1,33 @@
+package com.example.blog.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.blog.entity.ScanCheckpoint;
+
+/**
+ * Repository interface for {@link ScanCheckpoint} rows, keyed by scan name.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public interface ScanCheckpointRepository extends JpaRepository<ScanCheckpoint, String> {
+
+    /**
+     * Moves a scan forward with a single UPDATE; a scan never moves
+     * backwards, so nodes running it concurrently cannot lose each other's
+     * progress.
+     *
+     * @param name   The scan name.
+     * @param lastId The highest ID now done.
+     * @return The number of rows updated: 1, or 0 if the checkpoint is
+     *         missing or already at or beyond {@code lastId}.
+     */
+    @Transactional
+    @Modifying
+    @Query("update ScanCheckpoint c set c.lastId = :lastId where c.name = :name and c.lastId < :lastId")
+    int advance(@Param("name") String name, @Param("lastId") long lastId);
+}
@@ -0,0 +1,41 @@
+package com.example.blog.search;
+
+import java.util.Map;
+
+/**
+ * The indexed form of one post: its weighted term frequencies plus the
+ * fields needed to render a search result. Used to move documents between
+ * the {@link InvertedIndex} and on-disk segments without re-tokenizing.
+ *
+ * @param id          The post ID.
+ * @param version     The post version.
+ * @param frequencies Weighted term frequencies, or {@code null} for a
+ *                    tombstone recording that the post was deleted.
+ * @param title       The title, or {@code null} for a tombstone.
+ * @param excerpt     The excerpt, or {@code null} for a tombstone.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public record IndexedDocument(long id, long version, Map<String, Integer> frequencies, String title,
+        String excerpt) {
+
+    /**
+     * Creates a tombstone for a deleted post.
+     *
+     * @param id The post ID.
+     * @return The tombstone.
+     */
+    public static IndexedDocument tombstone(long id) {
+        return new IndexedDocument(id, 0, null, null, null);
+    }
+
+    /**
+     * Returns whether this entry records a deletion.
+     *
+     * @return {@code true} for a tombstone.
+     */
+    public boolean deleted() {
+        return frequencies == null;
+    }
+}
@@ -0,0 +1,321 @@
+package com.example.blog.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.example.blog.dto.PostSearchResult;
+import com.example.blog.dto.PostSummary;
+
+/**
+ * In-memory inverted index over post titles and content, ranked with BM25.
+ * <p>
+ * Each term maps to a postings list of {@code postId -> weighted term
+ * frequency}; title occurrences count {@value #TITLE_BOOST} times. The title
+ * and an excerpt of every post are kept alongside so results can be
+ * rendered without touching the database.
+ * </p>
+ *
+ * <h3>Concurrency:</h3>
+ * <ul>
+ * <li>Searches take a shared read lock and run in parallel.</li>
+ * <li>Updates take the write lock; each replaces one post's postings.</li>
+ * <li>Each post's version is tracked, so a stale update arriving after a
+ * newer one is ignored.</li>
+ * </ul>
+ *
+ * <p>
+ * <b>Time Complexity:</b> a query costs O(sum of the postings lengths of its
+ * terms + hits * log(limit)), independent of the total number of posts.
+ * </p>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public class InvertedIndex {
+
+    /** BM25 term-frequency saturation. */
+    static final double K1 = 1.2;
+
+    /** BM25 document-length normalization. */
+    static final double B = 0.75;
+
+    /** Weight of a title occurrence relative to a content occurrence. */
+    static final int TITLE_BOOST = 2;
+
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+
+    private final Map<Long, Document> documents = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long totalLength;
+
+    /**
+     * Indexed state of one post.
+     */
+    private record Document(long version, int length, Set<String> terms, String title, String excerpt) {
+    }
+
+    /**
+     * Adds a post or replaces its previous entry.
+     *
+     * @param id      The post ID.
+     * @param version The post version; an update older than the indexed one
+     *                is ignored. {@code null} is treated as 0.
+     * @param title   The title.
+     * @param content The content.
+     * @return {@code true} if the index was changed.
+     */
+    public boolean upsert(long id, Long version, String title, String content) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : Tokenizer.tokenize(title)) {
+            frequencies.merge(term, TITLE_BOOST, Integer::sum);
+        }
+        for (String term : Tokenizer.tokenize(content)) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        String excerpt = content == null ? ""
+                : content.substring(0, Math.min(content.length(), PostSummary.EXCERPT_LENGTH));
+        return put(new IndexedDocument(id, version != null ? version : 0, frequencies, title, excerpt));
+    }
+
+    /**
+     * Applies a partial update to an indexed post.
+     * <p>
+     * Fields passed as {@code null} keep their indexed value. The content's
+     * term frequencies are recovered by subtracting the old title's weighted
+     * terms, so a title change is re-indexed without the content.
+     * </p>
+     *
+     * @param id      The post ID.
+     * @param version The post version; an update older than the indexed one
+     *                is ignored. {@code null} is treated as 0.
+     * @param title   The new title, or {@code null} if unchanged.
+     * @param content The new content, or {@code null} if unchanged.
+     * @return {@code true} if the index was changed, {@code false} if the
+     *         post is not indexed or a newer version already is.
+     */
+    public boolean patch(long id, Long version, String title, String content) {
+        lock.writeLock().lock(); // reentrant: get and put below take it again
+        try {
+            IndexedDocument previous = get(id);
+            if (previous == null) {
+                return false;
+            }
+            Map<String, Integer> frequencies;
+            String excerpt;
+            if (content != null) {
+                frequencies = new HashMap<>();
+                for (String term : Tokenizer.tokenize(content)) {
+                    frequencies.merge(term, 1, Integer::sum);
+                }
+                excerpt = content.substring(0, Math.min(content.length(), PostSummary.EXCERPT_LENGTH));
+            } else {
+                frequencies = previous.frequencies();
+                for (String term : Tokenizer.tokenize(previous.title())) {
+                    frequencies.computeIfPresent(term, (t, tf) -> tf > TITLE_BOOST ? tf - TITLE_BOOST : null);
+                }
+                excerpt = previous.excerpt();
+            }
+            String newTitle = title != null ? title : previous.title();
+            for (String term : Tokenizer.tokenize(newTitle)) {
+                frequencies.merge(term, TITLE_BOOST, Integer::sum);
+            }
+            return put(new IndexedDocument(id, version != null ? version : 0, frequencies, newTitle, excerpt));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds an already tokenized post or replaces its previous entry.
+     *
+     * @param document The document; must not be a tombstone.
+     * @return {@code true} if the index was changed, {@code false} if a newer
+     *         version is already indexed.
+     */
+    public boolean put(IndexedDocument document) {
+        long id = document.id();
+        Map<String, Integer> frequencies = document.frequencies();
+        int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.get(id);
+            if (previous != null && previous.version() > document.version()) {
+                return false;
+            }
+            removeLocked(id);
+            frequencies.forEach((term, tf) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, tf));
+            documents.put(id, new Document(document.version(), length, Set.copyOf(frequencies.keySet()),
+                    document.title(), document.excerpt()));
+            totalLength += length;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Exports one post in its indexed form.
+     *
+     * @param id The post ID.
+     * @return The document, or {@code null} if the post is not indexed.
+     */
+    public IndexedDocument get(long id) {
+        lock.readLock().lock();
+        try {
+            Document document = documents.get(id);
+            if (document == null) {
+                return null;
+            }
+            Map<String, Integer> frequencies = new HashMap<>(document.terms().size() * 2);
+            for (String term : document.terms()) {
+                frequencies.put(term, postings.get(term).get(id));
+            }
+            return new IndexedDocument(id, document.version(), frequencies, document.title(), document.excerpt());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the IDs of all indexed posts in ascending order.
+     *
+     * @return A snapshot of the indexed IDs.
+     */
+    public long[] ids() {
+        lock.readLock().lock();
+        try {
+            return documents.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a post from the index.
+     *
+     * @param id The post ID.
+     * @return {@code true} if the post was indexed.
+     */
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            return removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean removeLocked(long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return false;
+        }
+        for (String term : document.terms()) {
+            Map<Long, Integer> list = postings.get(term);
+            list.remove(id);
+            if (list.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+        totalLength -= document.length();
+        return true;
+    }
+
+    /**
+     * Returns the posts matching any query term, best first.
+     *
+     * @param query The free-text query.
+     * @param limit The maximum number of results.
+     * @return Up to {@code limit} results ordered by descending score, then
+     *         ascending ID; empty if no term matches.
+     */
+    public List<PostSearchResult> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(Tokenizer.tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int n = documents.size();
+            if (n == 0) {
+                return List.of();
+            }
+            double averageLength = (double) totalLength / n;
+            Map<Long, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Map<Long, Integer> list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (n - list.size() + 0.5) / (list.size() + 0.5));
+                list.forEach((id, tf) -> {
+                    double norm = K1 * (1 - B + B * documents.get(id).length() / averageLength);
+                    scores.merge(id, idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+                });
+            }
+
+            Comparator<Map.Entry<Long, Double>> ranking = Map.Entry.<Long, Double>comparingByValue()
+                    .reversed()
+                    .thenComparing(Map.Entry.comparingByKey());
+            PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(ranking.reversed());
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                top.offer(entry);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            List<Map.Entry<Long, Double>> ranked = new ArrayList<>(top);
+            ranked.sort(ranking);
+
+            List<PostSearchResult> results = new ArrayList<>(ranked.size());
+            for (Map.Entry<Long, Double> entry : ranked) {
+                Document document = documents.get(entry.getKey());
+                results.add(new PostSearchResult(entry.getKey(), document.title(), document.excerpt(),
+                        entry.getValue()));
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed posts.
+     *
+     * @return The document count.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Removes every post from the index.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
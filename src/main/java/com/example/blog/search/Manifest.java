@@ -0,0 +1,25 @@
+package com.example.blog.search;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Describes the committed state of a {@link SegmentStore}.
+ *
+ * @param generation Number used to name the next segment; only increases.
+ * @param segments   Segment file names, oldest first. Later segments
+ *                   supersede earlier ones for the same post.
+ * @param maxPostId  Highest post ID covered by the segments.
+ * @param watermark  Every post change made before this instant is covered
+ *                   by the segments.
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public record Manifest(long generation, List<String> segments, long maxPostId, Instant watermark) {
+
+    /**
+     * The state of a store that has never been written.
+     */
+    public static final Manifest EMPTY = new Manifest(0, List.of(), 0, Instant.EPOCH);
+}
@@ -0,0 +1,334 @@
+package com.example.blog.search;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.example.blog.dto.PostSearchResult;
+import com.example.blog.entity.Post;
+import com.example.blog.event.PostChangedEvent;
+import com.example.blog.repository.PostRepository;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Full-text search over posts, served entirely from an in-process
+ * {@link InvertedIndex} that is persisted through a {@link SegmentStore}.
+ * <p>
+ * Once the application is ready the persisted segments are mapped and
+ * loaded, and only posts created or changed since the manifest's
+ * watermark are read from the database, followed by the table's IDs to
+ * find posts deleted in the meantime. Without usable segments the index
+ * is rebuilt from the whole posts table. From then on it is kept current
+ * from {@link PostChangedEvent}s, applied after the publishing transaction
+ * commits, and the changes are flushed to a new segment periodically and
+ * on shutdown. Queries never reach the database.
+ * </p>
+ *
+ * <h3>Consistency:</h3>
+ * <ul>
+ * <li>Updates received while the index is being loaded are applied
+ * immediately; the index's version check keeps older rows from
+ * overwriting them.</li>
+ * <li>Deletes received while loading are remembered until it finishes, so
+ * a row read before it was deleted is not re-added.</li>
+ * <li>The watermark trails each flush by {@link #WATERMARK_MARGIN}, so
+ * events still in flight at flush time are re-read on the next start.</li>
+ * <li>Posts deleted while the node was down, or whose delete this node never
+ * saw, are missing from the table's IDs; they are removed and tombstoned
+ * when the index is loaded. Posts changed by events during loading are
+ * left alone, since the table read may predate them.</li>
+ * <li>Until loading completes, searches see a partial index.</li>
+ * </ul>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+@Service
+public class PostSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(PostSearchService.class);
+
+    /**
+     * How far the persisted watermark trails the flush that writes it.
+     */
+    static final Duration WATERMARK_MARGIN = Duration.ofMinutes(1);
+
+    private final InvertedIndex index = new InvertedIndex();
+
+    private final Set<Long> deletedWhileLoading = ConcurrentHashMap.newKeySet();
+
+    private final Set<Long> changedWhileLoading = ConcurrentHashMap.newKeySet();
+
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean loading;
+
+    private volatile boolean ready;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private SegmentStore segmentStore;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${blog.search.max-segments:8}")
+    private int maxSegments = 8;
+
+    /**
+     * Searches post titles and content.
+     *
+     * @param query The free-text query.
+     * @param limit The maximum number of results.
+     * @return Matching posts ordered by BM25 score, best first.
+     */
+    public List<PostSearchResult> search(String query, int limit) {
+        return index.search(query, limit);
+    }
+
+    /**
+     * Loads the index from persisted segments and catches up with the posts
+     * table, or rebuilds it from scratch when no usable segments exist.
+     *
+     * @return The number of posts read from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public long initialize() {
+        long started = System.nanoTime();
+        long read;
+        loading = true;
+        try {
+            Manifest manifest = openSegments();
+            if (manifest == null) {
+                read = replaceAll();
+            } else {
+                read = catchUp(manifest);
+                long removed = reconcile();
+                if (removed > 0) {
+                    log.info("Removed {} deleted posts from the search index", removed);
+                }
+            }
+        } finally {
+            doneLoading();
+        }
+        ready = true;
+        flush();
+        log.info("Search index ready with {} posts ({} read from the database) in {} ms",
+                index.size(), read, (System.nanoTime() - started) / 1_000_000);
+        return read;
+    }
+
+    /**
+     * Rebuilds the index from the whole posts table and replaces all
+     * persisted segments with a snapshot of the result.
+     * <p>
+     * Posts are streamed through a database cursor and detached as they are
+     * indexed, so memory use is bounded by the index itself.
+     * </p>
+     *
+     * @return The number of posts indexed.
+     */
+    @Transactional(readOnly = true)
+    public long rebuild() {
+        loading = true;
+        try {
+            return replaceAll();
+        } finally {
+            doneLoading();
+        }
+    }
+
+    private long replaceAll() {
+        Instant watermark = Instant.now().minus(WATERMARK_MARGIN);
+        index.clear();
+        long count;
+        try (Stream<Post> posts = postRepository.streamAllByOrderByIdAsc()) {
+            count = indexAll(posts);
+        }
+        long[] ids = index.ids();
+        try {
+            segmentStore.replace(documents(ids), ids.length == 0 ? 0 : ids[ids.length - 1], watermark);
+            dirty.clear();
+        } catch (IOException e) {
+            log.warn("Could not persist the search index; it will be rebuilt on the next start", e);
+        }
+        return count;
+    }
+
+    /**
+     * Writes the posts changed since the last flush to a new segment, then
+     * merges segments once there are more than {@code blog.search.max-segments}.
+     */
+    @Scheduled(fixedDelayString = "${blog.search.flush-interval-ms:60000}",
+            initialDelayString = "${blog.search.flush-interval-ms:60000}")
+    @PreDestroy
+    public void flush() {
+        if (!ready) {
+            return;
+        }
+        try {
+            if (!dirty.isEmpty()) {
+                Instant watermark = Instant.now().minus(WATERMARK_MARGIN);
+                long[] ids = dirty.stream().mapToLong(Long::longValue).sorted().toArray();
+                // Remove before exporting: a change landing after this point re-marks the post
+                Arrays.stream(ids).forEach(dirty::remove);
+                Iterator<IndexedDocument> documents = Arrays.stream(ids)
+                        .mapToObj(id -> Objects.requireNonNullElseGet(index.get(id),
+                                () -> IndexedDocument.tombstone(id)))
+                        .iterator();
+                segmentStore.append(documents, ids[ids.length - 1], watermark);
+            }
+            if (segmentStore.segmentCount() > maxSegments) {
+                segmentStore.merge();
+            }
+        } catch (IOException e) {
+            log.warn("Could not flush the search index; changes will be re-read on the next start", e);
+        }
+    }
+
+    /**
+     * Applies a post change to the index once its transaction has committed
+     * (or immediately, when published outside a transaction).
+     *
+     * @param event The change.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (loading) {
+            changedWhileLoading.add(event.id());
+        }
+        if (event.deleted()) {
+            if (loading) {
+                deletedWhileLoading.add(event.id());
+            }
+            index.remove(event.id());
+        } else if (event.title() == null || event.content() == null) {
+            index.patch(event.id(), event.version(), event.title(), event.content()); // partial update
+        } else {
+            index.upsert(event.id(), event.version(), event.title(), event.content());
+        }
+        dirty.add(event.id());
+    }
+
+    /**
+     * Maps and loads the persisted segments.
+     *
+     * @return The manifest, or {@code null} if the index must be rebuilt.
+     */
+    private Manifest openSegments() {
+        try {
+            Manifest manifest = segmentStore.open();
+            if (manifest.segments().isEmpty()) {
+                return null;
+            }
+            if (postRepository.findMaxId() < manifest.maxPostId()) {
+                log.warn("Search index covers posts up to {} but the table ends earlier; rebuilding",
+                        manifest.maxPostId());
+                return null;
+            }
+            segmentStore.load(document -> {
+                if (document.deleted()) {
+                    index.remove(document.id());
+                } else {
+                    index.put(document);
+                }
+            });
+            return manifest;
+        } catch (IOException e) {
+            log.warn("Could not load the persisted search index; rebuilding", e);
+            index.clear();
+            return null;
+        }
+    }
+
+    private long catchUp(Manifest manifest) {
+        try (Stream<Post> posts = postRepository.streamChangedSince(manifest.maxPostId(), manifest.watermark())) {
+            return indexAll(posts);
+        }
+    }
+
+    /**
+     * Removes indexed posts whose IDs are missing from the table, merging the
+     * sorted index IDs with the table's ID stream, and marks them dirty so the
+     * next flush writes their tombstones.
+     *
+     * @return The number of posts removed.
+     */
+    private long reconcile() {
+        long[] indexed = index.ids();
+        long removed = 0;
+        int i = 0;
+        try (Stream<Long> ids = postRepository.streamAllIds()) {
+            for (Iterator<Long> it = ids.iterator(); it.hasNext() && i < indexed.length;) {
+                long id = it.next();
+                while (i < indexed.length && indexed[i] < id) {
+                    removed += removeMissing(indexed[i++]);
+                }
+                if (i < indexed.length && indexed[i] == id) {
+                    i++;
+                }
+            }
+        }
+        while (i < indexed.length) {
+            removed += removeMissing(indexed[i++]);
+        }
+        return removed;
+    }
+
+    private int removeMissing(long id) {
+        if (changedWhileLoading.contains(id)) {
+            return 0; // indexed from an event committed after the table was read
+        }
+        index.remove(id);
+        dirty.add(id);
+        return 1;
+    }
+
+    private long indexAll(Stream<Post> posts) {
+        long count = 0;
+        for (Iterator<Post> it = posts.iterator(); it.hasNext();) {
+            Post post = it.next();
+            if (!deletedWhileLoading.contains(post.getId())) {
+                index.upsert(post.getId(), post.getVersion(), post.getTitle(), post.getContent());
+                dirty.add(post.getId());
+                count++;
+            }
+            entityManager.detach(post); // keep the persistence context from growing
+        }
+        return count;
+    }
+
+    private void doneLoading() {
+        loading = false;
+        deletedWhileLoading.clear();
+        changedWhileLoading.clear();
+    }
+
+    private Iterator<IndexedDocument> documents(long[] ids) {
+        return Arrays.stream(ids).mapToObj(index::get).filter(Objects::nonNull).iterator();
+    }
+}
@@ -0,0 +1,397 @@
+package com.example.blog.search;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Persists the search index as immutable, memory-mapped segment files.
+ * <p>
+ * Each flush writes one new segment holding the current state of the posts
+ * changed since the previous flush (or a tombstone for deleted ones). A
+ * {@code manifest.properties} file lists the live segments and records how
+ * far they reach; it is replaced atomically, so a crash mid-write leaves the
+ * previous state intact. {@link #merge()} folds all segments into one,
+ * dropping tombstones and superseded entries.
+ * </p>
+ *
+ * <h3>Segment Format (big-endian):</h3>
+ * <ul>
+ * <li>Header: magic {@code BSEG}, format version.</li>
+ * <li>Documents: post ID, version, flags (bit 0 = tombstone); live
+ * documents continue with title, excerpt and {@code (term ordinal,
+ * frequency)} pairs.</li>
+ * <li>Term dictionary: the segment's distinct terms, in ordinal order.</li>
+ * <li>Footer: document count, term count, dictionary offset, CRC32 of all
+ * preceding bytes.</li>
+ * </ul>
+ *
+ * <p>
+ * Segments are read through a {@link MappedByteBuffer}, so loading is a
+ * sequential decode of the page cache with no tokenization and no
+ * database access. A single segment is limited to 2 GiB.
+ * </p>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+@Component
+public class SegmentStore {
+
+    private static final Logger log = LoggerFactory.getLogger(SegmentStore.class);
+
+    static final String MANIFEST = "manifest.properties";
+
+    private static final int MAGIC = 0x42534547; // "BSEG"
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int FOOTER_BYTES = 4 + 4 + 8 + 8;
+
+    private final Path directory;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private Manifest manifest = Manifest.EMPTY;
+
+    /**
+     * @param directory Directory holding the manifest and segment files; it
+     *                  is created on first write.
+     */
+    public SegmentStore(@Value("${blog.search.index-dir:data/search-index}") Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Reads the manifest from disk and makes it current.
+     *
+     * @return The manifest, or {@link Manifest#EMPTY} if none has been written.
+     * @throws IOException if the manifest exists but cannot be read.
+     */
+    public Manifest open() throws IOException {
+        lock.lock();
+        try {
+            Path file = directory.resolve(MANIFEST);
+            if (!Files.exists(file)) {
+                manifest = Manifest.EMPTY;
+                return manifest;
+            }
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(file)) {
+                properties.load(in);
+            }
+            String segments = properties.getProperty("segments", "");
+            manifest = new Manifest(
+                    Long.parseLong(properties.getProperty("generation")),
+                    segments.isEmpty() ? List.of() : List.of(segments.split(",")),
+                    Long.parseLong(properties.getProperty("maxPostId")),
+                    Instant.parse(properties.getProperty("watermark")));
+            deleteUnreferencedSegments();
+            return manifest;
+        } catch (RuntimeException e) {
+            throw new IOException("Unreadable search index manifest in " + directory, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the current manifest.
+     *
+     * @return The manifest last read or written.
+     */
+    public Manifest manifest() {
+        lock.lock();
+        try {
+            return manifest;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Decodes every live segment, oldest first.
+     *
+     * @param sink Receives each document and tombstone; later entries for the
+     *             same post supersede earlier ones.
+     * @throws IOException if a segment is missing or fails its checksum.
+     */
+    public void load(Consumer<IndexedDocument> sink) throws IOException {
+        for (String segment : manifest().segments()) {
+            read(directory.resolve(segment), sink);
+        }
+    }
+
+    /**
+     * Writes the given changes as a new segment and commits it.
+     *
+     * @param documents Current state of each changed post, or tombstones.
+     * @param maxPostId Highest post ID now covered.
+     * @param watermark Every change before this instant is now covered.
+     * @throws IOException if the segment or manifest cannot be written.
+     */
+    public void append(Iterator<IndexedDocument> documents, long maxPostId, Instant watermark) throws IOException {
+        lock.lock();
+        try {
+            String name = segmentName(manifest.generation() + 1);
+            write(directory.resolve(name), documents);
+            List<String> segments = new ArrayList<>(manifest.segments());
+            segments.add(name);
+            commit(new Manifest(manifest.generation() + 1, segments,
+                    Math.max(maxPostId, manifest.maxPostId()), max(watermark, manifest.watermark())));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces all segments with a single segment holding a full snapshot.
+     *
+     * @param documents Every indexed post.
+     * @param maxPostId Highest post ID covered.
+     * @param watermark Every change before this instant is covered.
+     * @throws IOException if the segment or manifest cannot be written.
+     */
+    public void replace(Iterator<IndexedDocument> documents, long maxPostId, Instant watermark) throws IOException {
+        lock.lock();
+        try {
+            String name = segmentName(manifest.generation() + 1);
+            write(directory.resolve(name), documents);
+            commit(new Manifest(manifest.generation() + 1, List.of(name), maxPostId, watermark));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Merges all segments into one, keeping only the newest entry per post
+     * and dropping tombstones.
+     *
+     * @throws IOException if a segment cannot be read or written.
+     */
+    public void merge() throws IOException {
+        lock.lock();
+        try {
+            if (manifest.segments().size() < 2) {
+                return;
+            }
+            TreeMap<Long, IndexedDocument> merged = new TreeMap<>();
+            load(document -> merged.put(document.id(), document));
+            merged.values().removeIf(IndexedDocument::deleted);
+            replace(merged.values().iterator(), manifest.maxPostId(), manifest.watermark());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of live segments.
+     *
+     * @return The segment count.
+     */
+    public int segmentCount() {
+        return manifest().segments().size();
+    }
+
+    private void commit(Manifest next) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("generation", Long.toString(next.generation()));
+        properties.setProperty("segments", String.join(",", next.segments()));
+        properties.setProperty("maxPostId", Long.toString(next.maxPostId()));
+        properties.setProperty("watermark", next.watermark().toString());
+        Path temp = directory.resolve(MANIFEST + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            properties.store(out, "Search index manifest");
+        }
+        Files.move(temp, directory.resolve(MANIFEST), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        manifest = next;
+        deleteUnreferencedSegments();
+    }
+
+    private void deleteUnreferencedSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".seg") && !manifest.segments().contains(name)) {
+                    try {
+                        Files.delete(file);
+                    } catch (IOException e) {
+                        log.warn("Could not delete obsolete search segment {}", file, e);
+                    }
+                }
+            }
+        }
+    }
+
+    static void write(Path file, Iterator<IndexedDocument> documents) throws IOException {
+        Files.createDirectories(file.getParent());
+        Map<String, Integer> ordinals = new HashMap<>();
+        List<String> terms = new ArrayList<>();
+        CRC32 crc = new CRC32();
+        OutputStream raw = new BufferedOutputStream(Files.newOutputStream(file));
+        CountingOutputStream counter = new CountingOutputStream(new CheckedOutputStream(raw, crc));
+        try (DataOutputStream out = new DataOutputStream(counter)) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            int count = 0;
+            while (documents.hasNext()) {
+                IndexedDocument document = documents.next();
+                out.writeLong(document.id());
+                out.writeLong(document.version());
+                out.writeByte(document.deleted() ? 1 : 0);
+                if (!document.deleted()) {
+                    writeString(out, document.title());
+                    writeString(out, document.excerpt());
+                    out.writeInt(document.frequencies().size());
+                    for (Map.Entry<String, Integer> entry : document.frequencies().entrySet()) {
+                        Integer ordinal = ordinals.get(entry.getKey());
+                        if (ordinal == null) {
+                            ordinal = terms.size();
+                            ordinals.put(entry.getKey(), ordinal);
+                            terms.add(entry.getKey());
+                        }
+                        out.writeInt(ordinal);
+                        out.writeInt(entry.getValue());
+                    }
+                }
+                count++;
+            }
+            out.flush();
+            long termsOffset = counter.count;
+            for (String term : terms) {
+                writeString(out, term);
+            }
+            out.writeInt(count);
+            out.writeInt(terms.size());
+            out.writeLong(termsOffset);
+            out.flush();
+            // The checksum covers every byte written so far, so it bypasses the checked stream
+            new DataOutputStream(raw).writeLong(crc.getValue());
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    static void read(Path file, Consumer<IndexedDocument> sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE || size < 8 + FOOTER_BYTES) {
+                throw new IOException("Invalid search segment size " + size + ": " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(0, (int) size - 8));
+            if (crc.getValue() != buffer.getLong((int) size - 8)) {
+                throw new IOException("Checksum mismatch in search segment " + file);
+            }
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("Unsupported search segment format: " + file);
+            }
+
+            int footer = (int) size - FOOTER_BYTES;
+            int count = buffer.getInt(footer);
+            int termCount = buffer.getInt(footer + 4);
+            int termsOffset = (int) buffer.getLong(footer + 8);
+            ByteBuffer dictionary = buffer.slice(termsOffset, footer - termsOffset);
+            String[] terms = new String[termCount];
+            for (int i = 0; i < termCount; i++) {
+                terms[i] = readString(dictionary);
+            }
+
+            ByteBuffer body = buffer.slice(8, termsOffset - 8);
+            for (int i = 0; i < count; i++) {
+                long id = body.getLong();
+                long version = body.getLong();
+                if ((body.get() & 1) != 0) {
+                    sink.accept(IndexedDocument.tombstone(id));
+                    continue;
+                }
+                String title = readString(body);
+                String excerpt = readString(body);
+                int n = body.getInt();
+                Map<String, Integer> frequencies = new HashMap<>(n * 2);
+                for (int t = 0; t < n; t++) {
+                    frequencies.put(terms[body.getInt()], body.getInt());
+                }
+                sink.accept(new IndexedDocument(id, version, frequencies, title, excerpt));
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt search segment " + file, e);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String segmentName(long generation) {
+        return String.format("segment-%010d.seg", generation);
+    }
+
+    private static Instant max(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    /**
+     * Tracks the write position so the dictionary offset can be recorded.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.blog.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits text into lower-case search terms.
+ * <p>
+ * A term is a maximal run of Unicode letters and digits; everything else is
+ * a separator. The same tokenizer is applied to documents and queries, so
+ * {@code "Spring-Boot"} matches a post containing {@code "spring boot"}.
+ * </p>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public final class Tokenizer {
+
+    /**
+     * Terms longer than this are truncated; they are almost always noise
+     * such as encoded blobs and would only bloat the dictionary.
+     */
+    static final int MAX_TERM_LENGTH = 64;
+
+    private Tokenizer() {
+    }
+
+    /**
+     * Tokenizes the given text.
+     *
+     * @param text The text; {@code null} yields no terms.
+     * @return The terms in order of appearance, including duplicates.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean inTerm = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (inTerm && start < 0) {
+                start = i;
+            } else if (!inTerm && start >= 0) {
+                int end = Math.min(i, start + MAX_TERM_LENGTH);
+                terms.add(text.substring(start, end).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.blog.service;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.blog.event.CommentsChangedEvent;
+import com.example.blog.repository.PostRepository;
+
+/**
+ * Background job that repairs drift in the denormalized
+ * {@code posts.comment_count} column.
+ * <p>
+ * Counts are normally maintained by {@link CommentService}, but rows written
+ * outside the application (or before the column existed) can disagree with
+ * the {@code comments} table. The job walks the posts table in ID ranges of
+ * {@code blog.comment-count.repair-chunk-size}, finds the posts whose count
+ * is wrong and rewrites only those, in one short transaction per chunk.
+ * </p>
+ * <p>
+ * A rewrite bumps the post's version and modification time and publishes a
+ * {@link CommentsChangedEvent}, so the post is evicted from the JSON cache
+ * on every node, exactly as when a comment is added.
+ * </p>
+ *
+ * <h3>Configuration:</h3>
+ * <ul>
+ * <li>{@code blog.comment-count.repair-cron} - when to run (default: daily at 03:30).</li>
+ * <li>{@code blog.comment-count.repair-chunk-size} - IDs per transaction (default: 1000).</li>
+ * </ul>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+@Service
+public class CommentCountRepairJob {
+
+    private static final Logger log = LoggerFactory.getLogger(CommentCountRepairJob.class);
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${blog.comment-count.repair-chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    /**
+     * Recomputes comment counts across the whole posts table.
+     *
+     * @return The number of posts whose count was corrected.
+     */
+    @Scheduled(cron = "${blog.comment-count.repair-cron:0 30 3 * * *}")
+    public long repairCommentCounts() {
+        long maxId = postRepository.findMaxId();
+        long repaired = 0;
+        for (long from = 1; from <= maxId; from += chunkSize) {
+            List<Long> drifted = postRepository.findIdsWithDriftedCommentCount(from, from + chunkSize - 1);
+            if (!drifted.isEmpty()) {
+                repaired += postRepository.repairCommentCounts(drifted, Instant.now());
+                drifted.forEach(id -> eventPublisher.publishEvent(new CommentsChangedEvent(id)));
+            }
+        }
+        if (repaired > 0) {
+            log.warn("Repaired comment_count on {} post(s)", repaired);
+        }
+        return repaired;
+    }
+}
@@ -0,0 +1,426 @@
+package com.example.blog.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only, crash-safe journal of comments accepted for write-behind
+ * persistence.
+ * <p>
+ * Every entry is written (and, unless disabled, forced to disk) before the
+ * comment is acknowledged, and carries a sequence number that increases
+ * across restarts.
+ * </p>
+ * <p>
+ * Forces are group-committed: appending threads write their entries one
+ * after another under a short lock, then wait for a force that covers
+ * them. While one force runs, further entries accumulate; the next waiting
+ * thread forces all of them at once, and the others find their entries
+ * already durable. Throughput under concurrency is therefore not capped at
+ * one comment per fsync.
+ * </p>
+ *
+ * <h3>Segments:</h3>
+ * <p>
+ * The journal is a series of segment files named
+ * {@code <journal>.<first sequence>}; entries are appended to the newest
+ * one. {@link #release(long)} is called as entries are committed to the
+ * database:
+ * </p>
+ * <ul>
+ * <li>once the active segment reaches {@code segmentBytes} it is sealed and
+ * a new one started;</li>
+ * <li>sealed segments whose entries are all committed are deleted;</li>
+ * <li>when everything is committed the active segment is emptied in
+ * place.</li>
+ * </ul>
+ * <p>
+ * Disk use is therefore bounded by the uncommitted backlog plus one segment
+ * even under sustained load, and {@link #recover(long)} deletes committed
+ * segments unread and skips committed entries.
+ * </p>
+ *
+ * <h3>Entry Format (big-endian):</h3>
+ * <ul>
+ * <li>Payload length and CRC32 of the payload.</li>
+ * <li>Payload: sequence number, post ID, UTF-8 content length and bytes.</li>
+ * </ul>
+ *
+ * <p>
+ * An entry cut short by a crash fails its length or checksum check; it and
+ * anything after it in its segment are discarded on {@link #recover(long)}.
+ * Such an entry was never acknowledged.
+ * </p>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+class CommentJournal implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(CommentJournal.class);
+
+    /**
+     * Default size at which the active segment is sealed.
+     */
+    static final long DEFAULT_SEGMENT_BYTES = 16L << 20;
+
+    private static final int HEADER_BYTES = 4 + 4;
+
+    private static final int MAX_PAYLOAD_BYTES = 1 << 20;
+
+    /**
+     * One journaled comment.
+     *
+     * @param sequence Position in the journal.
+     * @param postId   ID of the target post.
+     * @param content  The comment text.
+     */
+    record Entry(long sequence, Long postId, String content) {
+    }
+
+    /**
+     * A sealed segment and the highest sequence number it may contain.
+     */
+    private record Segment(Path file, long lastSequence) {
+    }
+
+    private final Path file;
+
+    private final boolean fsync;
+
+    private final long segmentBytes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Held while forcing or switching segments; never acquired while holding
+     * {@link #lock}.
+     */
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    private final Deque<Segment> sealed = new ArrayDeque<>();
+
+    private Path activeFile;
+
+    private FileChannel channel;
+
+    private long lastSequence;
+
+    /**
+     * Highest sequence number known to be on disk.
+     */
+    private volatile long durableSequence;
+
+    private long forces;
+
+    /**
+     * Creates a journal with {@value #DEFAULT_SEGMENT_BYTES}-byte segments.
+     *
+     * @param file  The journal base path; segments are created next to it.
+     * @param fsync Whether each append is forced to disk before returning.
+     */
+    CommentJournal(Path file, boolean fsync) {
+        this(file, fsync, DEFAULT_SEGMENT_BYTES);
+    }
+
+    /**
+     * Creates a journal; nothing is opened until {@link #recover(long)}.
+     *
+     * @param file         The journal base path; segments are created next to it.
+     * @param fsync        Whether each append is forced to disk before returning.
+     * @param segmentBytes Size at which the active segment is sealed.
+     */
+    CommentJournal(Path file, boolean fsync, long segmentBytes) {
+        this.file = file.toAbsolutePath();
+        this.fsync = fsync;
+        this.segmentBytes = segmentBytes;
+    }
+
+    /**
+     * Opens the journal and reads every intact entry above a checkpoint.
+     * <p>
+     * Segments holding only committed entries are deleted without being
+     * read, committed entries in the others are skipped, and a torn tail is
+     * truncated. Sequence numbers continue above both the entries found and
+     * {@code committed}.
+     * </p>
+     *
+     * @param committed Highest sequence number committed to the database.
+     * @return The uncommitted entries, in sequence order.
+     * @throws IOException if the journal cannot be opened or read.
+     */
+    List<Entry> recover(long committed) throws IOException {
+        syncLock.lock();
+        lock.lock();
+        try {
+            Files.createDirectories(file.getParent());
+            TreeMap<Long, Path> segments = listSegments();
+            lastSequence = Math.max(lastSequence, committed);
+            List<Entry> entries = new ArrayList<>();
+            while (segments.size() > 1) {
+                var first = segments.pollFirstEntry();
+                long upperBound = segments.firstKey() - 1; // the next segment starts above everything in this one
+                if (upperBound <= committed) {
+                    Files.delete(first.getValue());
+                    continue;
+                }
+                try (FileChannel segment = FileChannel.open(first.getValue(), StandardOpenOption.READ)) {
+                    long end = read(segment, committed, entries);
+                    if (end < segment.size()) {
+                        log.warn("Ignoring {} bytes of incomplete entries at the end of {}", segment.size() - end,
+                                first.getValue());
+                    }
+                }
+                sealed.add(new Segment(first.getValue(), upperBound));
+            }
+            activeFile = segments.isEmpty() ? segmentFile(lastSequence + 1) : segments.firstEntry().getValue();
+            channel = FileChannel.open(activeFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            long size = channel.size();
+            long position = read(channel, committed, entries);
+            if (position < size) {
+                log.warn("Discarding {} bytes of incomplete entries at the end of {}", size - position, activeFile);
+                channel.truncate(position);
+                channel.force(true);
+            }
+            channel.position(position);
+            durableSequence = lastSequence;
+            return entries;
+        } finally {
+            lock.unlock();
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Reads intact entries from a segment, collecting those above
+     * {@code committed}, and returns the position after the last intact one.
+     */
+    private long read(FileChannel segment, long committed, List<Entry> entries) throws IOException {
+        long size = segment.size();
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (position + HEADER_BYTES <= size) {
+            header.clear();
+            segment.read(header, position);
+            int length = header.getInt(0);
+            if (length <= 0 || length > MAX_PAYLOAD_BYTES || position + HEADER_BYTES + length > size) {
+                break;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            segment.read(payload, position + HEADER_BYTES);
+            CRC32 crc = new CRC32();
+            crc.update(payload.flip());
+            if ((int) crc.getValue() != header.getInt(4)) {
+                break;
+            }
+            payload.rewind();
+            long sequence = payload.getLong();
+            if (sequence > committed) {
+                long postId = payload.getLong();
+                byte[] content = new byte[payload.getInt()];
+                payload.get(content);
+                entries.add(new Entry(sequence, postId, new String(content, StandardCharsets.UTF_8)));
+            }
+            lastSequence = Math.max(lastSequence, sequence);
+            position += HEADER_BYTES + length;
+        }
+        return position;
+    }
+
+    /**
+     * Lists the segment files by first sequence number. A file at the base
+     * path itself, written before the journal was segmented, comes first.
+     */
+    private TreeMap<Long, Path> listSegments() throws IOException {
+        TreeMap<Long, Path> segments = new TreeMap<>();
+        if (Files.isRegularFile(file)) {
+            segments.put(0L, file);
+        }
+        String prefix = file.getFileName() + ".";
+        try (Stream<Path> files = Files.list(file.getParent())) {
+            files.forEach(path -> {
+                String name = path.getFileName().toString();
+                if (name.startsWith(prefix) && name.length() > prefix.length()
+                        && name.substring(prefix.length()).chars().allMatch(Character::isDigit)) {
+                    segments.put(Long.parseLong(name.substring(prefix.length())), path);
+                }
+            });
+        }
+        return segments;
+    }
+
+    private Path segmentFile(long firstSequence) {
+        return file.resolveSibling(file.getFileName() + "." + String.format("%020d", firstSequence));
+    }
+
+    /**
+     * Appends a comment and makes it durable.
+     *
+     * @param postId  ID of the target post.
+     * @param content The comment text.
+     * @return The journaled entry with its sequence number.
+     * @throws IOException if the entry cannot be written.
+     */
+    Entry append(Long postId, String content) throws IOException {
+        Entry entry = write(postId, content);
+        sync(entry.sequence());
+        return entry;
+    }
+
+    /**
+     * Writes a comment to the journal without waiting for it to reach the
+     * disk.
+     */
+    Entry write(Long postId, String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        int length = 8 + 8 + 4 + bytes.length;
+        if (length > MAX_PAYLOAD_BYTES) {
+            throw new IOException("Journal entry too large: " + length + " bytes");
+        }
+        lock.lock();
+        try {
+            long sequence = lastSequence + 1;
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + length);
+            buffer.position(HEADER_BYTES);
+            buffer.putLong(sequence).putLong(postId).putInt(bytes.length).put(bytes);
+            CRC32 crc = new CRC32();
+            crc.update(buffer.array(), HEADER_BYTES, length);
+            buffer.putInt(0, length).putInt(4, (int) crc.getValue());
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            lastSequence = sequence;
+            return new Entry(sequence, postId, content);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until the entry with the given sequence number is on disk,
+     * forcing the journal if no concurrent force has covered it.
+     */
+    void sync(long sequence) throws IOException {
+        if (!fsync || durableSequence >= sequence) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            if (durableSequence >= sequence) {
+                return; // forced by the thread that held the lock before us
+            }
+            long written = lastSequence(); // everything written so far goes down with this force
+            channel.force(false); // sealed segments were forced when they were sealed
+            forces++;
+            durableSequence = written;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Drops what the database now holds: seals the active segment once it
+     * is full, deletes sealed segments whose entries are all committed, and
+     * empties the active segment if every entry is committed.
+     *
+     * @param committed Highest sequence number committed to the database.
+     * @return {@code true} if anything was deleted or truncated.
+     * @throws IOException if a segment cannot be sealed, deleted or truncated.
+     */
+    boolean release(long committed) throws IOException {
+        syncLock.lock();
+        lock.lock();
+        try {
+            boolean released = false;
+            if (committed >= lastSequence) {
+                if (channel.size() > 0) {
+                    channel.truncate(0);
+                    channel.position(0);
+                    channel.force(true);
+                    released = true;
+                }
+            } else if (channel.size() >= segmentBytes) {
+                channel.force(false);
+                channel.close();
+                sealed.add(new Segment(activeFile, lastSequence));
+                durableSequence = lastSequence;
+                activeFile = segmentFile(lastSequence + 1);
+                channel = FileChannel.open(activeFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE);
+            }
+            while (!sealed.isEmpty() && sealed.peekFirst().lastSequence() <= committed) {
+                Files.deleteIfExists(sealed.pollFirst().file());
+                released = true;
+            }
+            return released;
+        } finally {
+            lock.unlock();
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the highest sequence number appended or recovered.
+     *
+     * @return The last sequence number.
+     */
+    long lastSequence() {
+        lock.lock();
+        try {
+            return lastSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of segment files on disk, including the active one;
+     * for tests.
+     */
+    int segments() {
+        lock.lock();
+        try {
+            return sealed.size() + 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of forces issued; for tests.
+     */
+    long forces() {
+        syncLock.lock();
+        try {
+            return forces;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+}
@@ -1,14 +1,35 @@
 package com.example.blog.service;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import io.micrometer.core.annotation.Timed;
+
+import com.example.blog.dto.CommentBatchResult;
+import com.example.blog.dto.PostVersion;
 import com.example.blog.entity.Comment;
+import com.example.blog.entity.Post;
+import com.example.blog.event.CommentsChangedEvent;
+import com.example.blog.pagination.Cursor;
+import com.example.blog.pagination.CursorPage;
 import com.example.blog.repository.CommentRepository;
 import com.example.blog.repository.PostRepository;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+
 /**
  * Service class for managing comments associated with blog posts.
  * <p>
@@ -22,6 +43,7 @@ import com.example.blog.repository.PostRepository;
  * @version 1.0
  */
 @Service
+@Timed(value = "blog.service", histogram = true)
 public class CommentService {
 
     @Autowired
@@ -30,6 +52,12 @@ public class CommentService {
     @Autowired
     private PostRepository postRepository;
 
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Retrieves all comments for a given post.
      *
@@ -40,21 +68,135 @@ public class CommentService {
         return commentRepository.findByPostId(postId);
     }
 
+    /**
+     * Retrieves one page of a post's comments using keyset pagination.
+     * <p>
+     * Each page is an index range scan on {@code (post_id, id)} starting at
+     * the cursor, in either direction, so deep pages cost the same as the
+     * first one.
+     * </p>
+     *
+     * @param postId    ID of the post whose comments need to be fetched.
+     * @param cursorId  ID of the last comment on the previous page, or
+     *                  {@code null} for the first page.
+     * @param limit     The maximum number of comments to return.
+     * @param direction {@link Sort.Direction#ASC} for oldest first,
+     *                  {@link Sort.Direction#DESC} for newest first.
+     * @return A {@link CursorPage} of comments in the requested order.
+     */
+    public CursorPage<Comment> getCommentsPage(Long postId, Long cursorId, int limit, Sort.Direction direction) {
+        PageRequest page = PageRequest.of(0, limit, Sort.by(direction, "id"));
+        Slice<Comment> slice = direction.isAscending()
+                ? commentRepository.findByPostIdAndIdGreaterThan(postId, cursorId != null ? cursorId : 0L, page)
+                : commentRepository.findByPostIdAndIdLessThan(postId, cursorId != null ? cursorId : Long.MAX_VALUE, page);
+        List<Comment> comments = slice.getContent();
+        String next = slice.hasNext() ? Cursor.encode(comments.get(comments.size() - 1).getId()) : null;
+        return new CursorPage<>(comments, next);
+    }
+
+    /**
+     * Retrieves the version stamp that covers a post's comments.
+     * <p>
+     * Every comment write goes through
+     * {@link PostRepository#incrementCommentCount}, which also bumps the
+     * post's version, so the post's version row doubles as the version of its
+     * comment list and is read by primary key instead of aggregating over the
+     * comments.
+     * </p>
+     *
+     * @param postId ID of the post.
+     * @return The post's {@link PostVersion}, or {@code null} if no post exists
+     *         with the given ID.
+     */
+    public PostVersion getCommentsVersion(Long postId) {
+        return postRepository.findVersionById(postId).orElse(null);
+    }
+
     /**
      * Adds a new comment to a specific post.
      * <p>
+     * The comment is validated first, so an invalid one is rejected before
+     * any statement runs rather than failing at flush. The post's comment
+     * count is then incremented with a single UPDATE, which also tells
+     * whether the post exists; the post itself is never loaded.
      * If the post exists, the comment is associated with it and saved.
-     * Otherwise, returns {@code null}.
+     * Otherwise, returns {@code null}. The {@link CommentsChangedEvent} evicts
+     * the cached post (which embeds its comments) once the transaction
+     * commits, so the next read sees the new comment.
      * </p>
      *
      * @param postId  ID of the post to which the comment will be added.
      * @param comment The {@link Comment} object to be saved.
      * @return The saved {@link Comment} if successful, otherwise {@code null}.
+     * @throws ConstraintViolationException if the comment is invalid.
      */
+    @Transactional
     public Comment addComment(Long postId, Comment comment) {
-        return postRepository.findById(postId).map(post -> {
-            comment.setPost(post);
-            return commentRepository.save(comment);
-        }).orElse(null);
+        Set<ConstraintViolation<Comment>> violations = validator.validate(comment);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        if (postRepository.incrementCommentCount(postId, 1, Instant.now()) == 0) {
+            return null;
+        }
+        comment.setPost(postRepository.getReferenceById(postId));
+        Comment saved = commentRepository.save(comment);
+        eventPublisher.publishEvent(new CommentsChangedEvent(postId));
+        return saved;
+    }
+
+    /**
+     * Adds many comments to a specific post in one transaction.
+     * <p>
+     * Each comment is validated individually. The post's comment count is
+     * then incremented once by the number of valid comments, which also
+     * checks that the post exists. Valid comments are inserted together,
+     * which Hibernate sends as JDBC batches because comment IDs come from a
+     * pooled generator. Invalid comments are reported and skipped without
+     * failing the rest.
+     * </p>
+     *
+     * @param postId   ID of the post to which the comments will be added.
+     * @param comments The comments to insert, in request order.
+     * @return One {@link CommentBatchResult} per input comment, in the same
+     *         order, or {@code null} if the post does not exist.
+     */
+    @Transactional
+    public List<CommentBatchResult> addComments(Long postId, List<Comment> comments) {
+        List<Comment> accepted = new ArrayList<>(comments.size());
+        List<String> errors = new ArrayList<>(comments.size());
+        for (Comment comment : comments) {
+            Set<ConstraintViolation<Comment>> violations = validator.validate(comment);
+            if (violations.isEmpty()) {
+                accepted.add(comment);
+                errors.add(null);
+            } else {
+                errors.add(violations.stream().map(ConstraintViolation::getMessage)
+                        .sorted().collect(Collectors.joining("; ")));
+            }
+        }
+
+        if (accepted.isEmpty()) {
+            if (!postRepository.existsById(postId)) {
+                return null;
+            }
+        } else {
+            if (postRepository.incrementCommentCount(postId, accepted.size(), Instant.now()) == 0) {
+                return null;
+            }
+            Post post = postRepository.getReferenceById(postId);
+            accepted.forEach(comment -> comment.setPost(post));
+            commentRepository.saveAll(accepted);
+            commentRepository.flush();
+            eventPublisher.publishEvent(new CommentsChangedEvent(postId));
+        }
+
+        List<CommentBatchResult> results = new ArrayList<>(comments.size());
+        for (int i = 0; i < comments.size(); i++) {
+            results.add(errors.get(i) == null
+                    ? CommentBatchResult.created(i, comments.get(i).getId())
+                    : CommentBatchResult.rejected(i, errors.get(i)));
+        }
+        return results;
     }
 }
@@ -0,0 +1,450 @@
+package com.example.blog.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.blog.dto.CommentReceipt;
+import com.example.blog.entity.Comment;
+import com.example.blog.entity.JournalCheckpoint;
+import com.example.blog.event.CommentsChangedEvent;
+import com.example.blog.entity.Post;
+import com.example.blog.repository.CommentRepository;
+import com.example.blog.repository.JournalCheckpointRepository;
+import com.example.blog.repository.PostRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+
+/**
+ * Write-behind persistence for single comments, enabled with
+ * {@code blog.comments.write-behind.enabled=true}.
+ * <p>
+ * {@link #submit(Long, Comment)} validates the comment, appends it to a
+ * {@link CommentJournal} and places it on a bounded in-memory queue, then
+ * returns without touching the database. A single flusher thread drains the
+ * queue in groups of up to {@code max-batch} comments, waiting at most
+ * {@code max-delay-ms} after the first one, and writes each group in one
+ * transaction: one comment-count UPDATE per post (in post ID order, so
+ * concurrent groups cannot deadlock) and one JDBC batch of inserts. A
+ * {@link CommentsChangedEvent} is published for every post written to.
+ * </p>
+ *
+ * <h3>Durability:</h3>
+ * <ul>
+ * <li>A comment is acknowledged only after its journal entry is on disk.
+ * Concurrent submissions are group-committed: one force covers every entry
+ * written before it.</li>
+ * <li>Each group transaction also advances a {@link JournalCheckpoint}, so on
+ * startup exactly the entries above the checkpoint are replayed.</li>
+ * <li>Journals are local, so the checkpoint belongs to this journal alone:
+ * its row is named after a journal ID that is generated once and stored next
+ * to the journal ({@code <journal>.id}), or set with
+ * {@code blog.comments.write-behind.journal-id}. It is advanced with a
+ * single conditional UPDATE, never moving backwards.</li>
+ * <li>The journal is split into segments of {@code segment-bytes}; segments
+ * whose entries are all committed are deleted after each group, and on
+ * startup only entries above the checkpoint are read.</li>
+ * <li>If a group's transaction fails, its comments are retried one per
+ * transaction. A comment that fails on its own is dropped: the checkpoint is
+ * moved past it, it is logged, and {@value #DROPPED_METRIC} is incremented.
+ * If the checkpoint cannot be moved either, the database is taken to be
+ * unavailable and the rest of the group is retried a second later.</li>
+ * <li>Comments for a post that no longer exists are dropped with a
+ * warning.</li>
+ * </ul>
+ *
+ * <p>
+ * Post existence is only checked when the group is written, and a queued
+ * comment becomes visible to readers up to {@code max-delay-ms} plus one
+ * transaction later.
+ * </p>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+@Component
+@ConditionalOnProperty(name = "blog.comments.write-behind.enabled", havingValue = "true")
+public class CommentWriteBehindQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(CommentWriteBehindQueue.class);
+
+    /**
+     * Prefix of the checkpoint row name; the journal ID follows it.
+     */
+    static final String CHECKPOINT_PREFIX = "comments:";
+
+    /**
+     * Counter of queued comments dropped because they could not be written.
+     */
+    static final String DROPPED_METRIC = "blog.comments.write-behind.dropped";
+
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private JournalCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${blog.comments.write-behind.journal:data/comment-journal/comments.journal}")
+    private Path journalFile;
+
+    @Value("${blog.comments.write-behind.journal-id:}")
+    private String journalId;
+
+    @Value("${blog.comments.write-behind.fsync:true}")
+    private boolean fsync;
+
+    @Value("${blog.comments.write-behind.segment-bytes:16777216}")
+    private long segmentBytes;
+
+    @Value("${blog.comments.write-behind.capacity:10000}")
+    private int capacity;
+
+    @Value("${blog.comments.write-behind.max-batch:500}")
+    private int maxBatch;
+
+    @Value("${blog.comments.write-behind.max-delay-ms:5}")
+    private long maxDelayMillis;
+
+    private final ReentrantLock submitLock = new ReentrantLock();
+
+    private BlockingQueue<CommentJournal.Entry> queue;
+
+    private CommentJournal journal;
+
+    private TransactionTemplate transactionTemplate;
+
+    private String checkpointName;
+
+    private Counter dropped;
+
+    private Thread flusher;
+
+    private volatile boolean running;
+
+    /**
+     * Opens the journal, replays entries that were acknowledged but not
+     * committed before the last shutdown, and starts the flusher.
+     *
+     * @throws IOException if the journal cannot be opened or read.
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        queue = new ArrayBlockingQueue<>(capacity);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        dropped = meterRegistry.counter(DROPPED_METRIC);
+        journal = new CommentJournal(journalFile, fsync, segmentBytes);
+        if (journalId == null || journalId.isBlank()) {
+            journalId = readOrCreateJournalId(journalFile.resolveSibling(journalFile.getFileName() + ".id"));
+        }
+        checkpointName = CHECKPOINT_PREFIX + journalId;
+
+        // Only this node writes this row, so creating it here cannot race
+        long checkpoint = checkpointRepository.findById(checkpointName)
+                .orElseGet(() -> checkpointRepository.save(new JournalCheckpoint(checkpointName, 0)))
+                .getSequence();
+        List<CommentJournal.Entry> pending = journal.recover(checkpoint);
+        long committed = checkpoint;
+        for (int from = 0; from < pending.size(); from += maxBatch) {
+            List<CommentJournal.Entry> group = new ArrayList<>(
+                    pending.subList(from, Math.min(pending.size(), from + maxBatch)));
+            try {
+                committed = write(group);
+            } catch (RuntimeException e) {
+                log.warn("Could not replay {} journaled comments; retrying them one by one", group.size(), e);
+                committed = writeEach(group);
+            }
+        }
+        if (!pending.isEmpty()) {
+            log.info("Replayed {} journaled comments", pending.size());
+        }
+        journal.release(committed);
+
+        running = true;
+        flusher = Thread.ofPlatform().name("comment-write-behind").daemon().start(this::run);
+    }
+
+    /**
+     * Accepts a comment for asynchronous insertion.
+     * <p>
+     * The journal entry is written and queued under a short lock; waiting for
+     * it to reach the disk happens outside that lock, so concurrent
+     * submissions share one journal force instead of queuing behind one
+     * force each.
+     * </p>
+     *
+     * @param postId  ID of the post to which the comment will be added.
+     * @param comment The comment; only its content is used.
+     * @return A receipt carrying the comment's journal ticket.
+     * @throws ConstraintViolationException if the comment is invalid.
+     * @throws RejectedExecutionException   if the queue is full or stopped.
+     * @throws UncheckedIOException         if the journal cannot be written
+     *                                      or forced; in the latter case the
+     *                                      comment may still be inserted.
+     */
+    public CommentReceipt submit(Long postId, Comment comment) {
+        Set<ConstraintViolation<Comment>> violations = validator.validate(comment);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        CommentJournal.Entry entry;
+        submitLock.lock();
+        try {
+            // Only the flusher removes elements, so capacity checked here cannot disappear before offer()
+            if (!running || queue.remainingCapacity() == 0) {
+                throw new RejectedExecutionException("Comment write-behind queue is full");
+            }
+            entry = journal.write(postId, comment.getContent());
+            queue.offer(entry);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            submitLock.unlock();
+        }
+        try {
+            journal.sync(entry.sequence()); // acknowledge only once the entry is on disk
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new CommentReceipt(journalId, entry.sequence(), postId);
+    }
+
+    /**
+     * Returns the name of this journal's checkpoint row.
+     *
+     * @return The checkpoint name.
+     */
+    String checkpointName() {
+        return checkpointName;
+    }
+
+    /**
+     * Returns the number of comments waiting to be written.
+     *
+     * @return The queue depth.
+     */
+    public int pending() {
+        return queue.size();
+    }
+
+    /**
+     * Stops accepting comments, writes everything already queued and closes
+     * the journal. Anything still unwritten is replayed on the next start.
+     *
+     * @throws InterruptedException if interrupted while waiting for the flusher.
+     * @throws IOException          if the journal cannot be closed.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        submitLock.lock();
+        try {
+            running = false;
+        } finally {
+            submitLock.unlock();
+        }
+        flusher.join(TimeUnit.SECONDS.toMillis(30));
+        journal.close();
+    }
+
+    private void run() {
+        List<CommentJournal.Entry> group = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty() || !group.isEmpty()) {
+            try {
+                if (group.isEmpty() && !collect(group)) {
+                    continue;
+                }
+                long committed;
+                try {
+                    committed = write(group);
+                    group.clear();
+                } catch (RuntimeException e) {
+                    if (!running) {
+                        throw e;
+                    }
+                    log.warn("Could not write {} queued comments; retrying them one by one", group.size(), e);
+                    committed = writeEach(group);
+                }
+                journal.release(committed);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException | IOException e) {
+                if (!running) {
+                    log.warn("Could not write {} queued comments before shutdown; they will be replayed",
+                            group.size(), e);
+                    return;
+                }
+                log.warn("Could not write {} queued comments; retrying", group.size(), e);
+                sleep();
+            }
+        }
+    }
+
+    /**
+     * Waits for one comment, then gathers more until the group is full or
+     * {@code max-delay-ms} has passed.
+     */
+    private boolean collect(List<CommentJournal.Entry> group) throws InterruptedException {
+        CommentJournal.Entry first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return false;
+        }
+        group.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        while (group.size() < maxBatch) {
+            queue.drainTo(group, maxBatch - group.size());
+            long remaining = deadline - System.nanoTime();
+            if (group.size() >= maxBatch || remaining <= 0) {
+                break;
+            }
+            CommentJournal.Entry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            group.add(next);
+        }
+        return true;
+    }
+
+    /**
+     * Inserts one group of comments and advances the checkpoint, all in one
+     * transaction, then publishes a {@link CommentsChangedEvent} per post
+     * written to, which evicts its cached representation.
+     *
+     * @return The checkpoint committed with the group.
+     */
+    long write(List<CommentJournal.Entry> group) {
+        Map<Long, List<CommentJournal.Entry>> byPost = new TreeMap<>();
+        Set<Long> written = new TreeSet<>();
+        long lastSequence = 0;
+        for (CommentJournal.Entry entry : group) {
+            byPost.computeIfAbsent(entry.postId(), id -> new ArrayList<>()).add(entry);
+            lastSequence = Math.max(lastSequence, entry.sequence());
+        }
+        long checkpoint = lastSequence;
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Instant now = Instant.now();
+            List<Comment> comments = new ArrayList<>(group.size());
+            byPost.forEach((postId, entries) -> {
+                if (postRepository.incrementCommentCount(postId, entries.size(), now) == 0) {
+                    log.warn("Dropping {} queued comments for missing post {}", entries.size(), postId);
+                    return;
+                }
+                written.add(postId);
+                Post post = postRepository.getReferenceById(postId);
+                for (CommentJournal.Entry entry : entries) {
+                    Comment comment = new Comment();
+                    comment.setContent(entry.content());
+                    comment.setPost(post);
+                    comments.add(comment);
+                }
+            });
+            commentRepository.saveAll(comments);
+            checkpointRepository.advance(checkpointName, checkpoint);
+        });
+
+        written.forEach(postId -> eventPublisher.publishEvent(new CommentsChangedEvent(postId)));
+        return checkpoint;
+    }
+
+    /**
+     * Writes a group whose transaction failed one comment per transaction, so
+     * that one bad comment cannot hold up the rest. A comment that fails on
+     * its own is dropped by moving the checkpoint past it. Entries are removed
+     * from {@code group} as they are resolved; if the checkpoint cannot be
+     * moved, the exception propagates and the remaining entries stay in
+     * {@code group} to be retried.
+     *
+     * @return The checkpoint committed with the last entry.
+     */
+    long writeEach(List<CommentJournal.Entry> group) {
+        long committed = 0;
+        while (!group.isEmpty()) {
+            CommentJournal.Entry entry = group.get(0);
+            try {
+                committed = write(List.of(entry));
+            } catch (RuntimeException e) {
+                checkpointRepository.advance(checkpointName, entry.sequence());
+                dropped.increment();
+                log.error("Dropping queued comment {} for post {}: {}", entry.sequence(), entry.postId(),
+                        NestedExceptionUtils.getMostSpecificCause(e).getMessage(), e);
+                committed = entry.sequence();
+            }
+            group.remove(0);
+        }
+        return committed;
+    }
+
+    /**
+     * Reads the journal ID stored next to the journal, generating it on first
+     * use. The ID lives as long as the journal does, so it identifies the
+     * journal across restarts even if the host name or address changes.
+     */
+    private static String readOrCreateJournalId(Path idFile) throws IOException {
+        String id = Files.exists(idFile) ? Files.readString(idFile, StandardCharsets.UTF_8).strip() : "";
+        if (id.isEmpty()) { // first start, or one that crashed before any checkpoint used the ID
+            id = UUID.randomUUID().toString();
+            Files.writeString(idFile, id, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+        }
+        return id;
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(RETRY_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.blog.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.blog.entity.CompressedTextConverter;
+import com.example.blog.entity.Post;
+import com.example.blog.entity.ScanCheckpoint;
+import com.example.blog.repository.PostRepository;
+import com.example.blog.repository.ScanCheckpointRepository;
+
+/**
+ * Background job that compresses post content written before
+ * {@link CompressedTextConverter} was introduced.
+ * <p>
+ * Legacy rows stay readable as plain UTF-8, so the job only reclaims space.
+ * It walks the posts table in ID ranges of
+ * {@code blog.content-compression.chunk-size}, finds rows that are long but
+ * uncompressed (or lack an excerpt), and rewrites each one through the
+ * converter. Versions are not bumped, so caches and ETags stay valid.
+ * </p>
+ * <p>
+ * A rewrite is guarded by the version the post was read at, and is skipped
+ * if the post changed in between. New comments and title-only updates bump
+ * the version without touching the content, so skipped posts are read
+ * again (those whose content was rewritten meanwhile no longer match) and
+ * retried, up to {@value #MAX_ATTEMPTS} times per chunk.
+ * </p>
+ * <p>
+ * Progress is kept in the {@value #CHECKPOINT} {@link ScanCheckpoint} row
+ * as the highest ID done, and each run resumes after it. Every row is
+ * therefore examined once. This matters for content that does not shrink
+ * when gzipped: the converter stores it plain on purpose, so it would match
+ * the scan again on every run. Posts written since the migration are already
+ * encoded; a later run only looks at them once as the scan passes them. If
+ * a post still could not be rewritten, the run stops just below it, and the
+ * next run starts there.
+ * </p>
+ *
+ * <h3>Configuration:</h3>
+ * <ul>
+ * <li>{@code blog.content-compression.migrate-cron} - when to run (default:
+ * daily at 04:00; {@code -} disables the job).</li>
+ * <li>{@code blog.content-compression.chunk-size} - IDs per scan (default: 1000).</li>
+ * </ul>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+@Service
+public class PostContentCompressionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(PostContentCompressionJob.class);
+
+    /**
+     * Name of the checkpoint row holding the highest post ID done.
+     */
+    static final String CHECKPOINT = "post-content-compression";
+
+    /**
+     * Rewrite attempts per chunk before a run gives up on a post that keeps
+     * changing.
+     */
+    static final int MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private ScanCheckpointRepository checkpointRepository;
+
+    @Value("${blog.content-compression.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    /**
+     * Compresses legacy content in the posts not scanned by earlier runs.
+     *
+     * @return The number of posts rewritten.
+     */
+    @Scheduled(cron = "${blog.content-compression.migrate-cron:0 0 4 * * *}")
+    public long compressLegacyContent() {
+        long maxId = postRepository.findMaxId();
+        long rewritten = 0;
+        scan:
+        for (long from = scannedUpTo() + 1; from <= maxId; from += chunkSize) {
+            long to = Math.min(from + chunkSize - 1, maxId);
+            List<Long> pending = postRepository.findUncompressedContentIds(from, to,
+                    CompressedTextConverter.MIN_COMPRESS_BYTES);
+            for (int attempt = 1; !pending.isEmpty(); attempt++) {
+                List<Long> skipped = new ArrayList<>();
+                for (Post post : postRepository.findAllById(pending)) { // detached: no open session outside a transaction
+                    if (postRepository.rewriteContent(post.getId(), post.getContent(),
+                            Post.excerptOf(post.getContent()), post.getVersion()) > 0) {
+                        rewritten++;
+                    } else {
+                        skipped.add(post.getId());
+                    }
+                }
+                if (skipped.isEmpty()) {
+                    break;
+                }
+                if (attempt == MAX_ATTEMPTS) {
+                    long resumeAt = Collections.min(skipped);
+                    checkpointRepository.advance(CHECKPOINT, resumeAt - 1);
+                    log.info("{} post(s) changed on every attempt; the next run resumes at ID {}", skipped.size(),
+                            resumeAt);
+                    break scan;
+                }
+                pending = postRepository.findUncompressedContentIds(from, to,
+                        CompressedTextConverter.MIN_COMPRESS_BYTES).stream().filter(skipped::contains).toList();
+            }
+            checkpointRepository.advance(CHECKPOINT, to);
+        }
+        if (rewritten > 0) {
+            log.info("Compressed the content of {} legacy post(s)", rewritten);
+        }
+        return rewritten;
+    }
+
+    /**
+     * Reads the highest post ID done so far, creating the checkpoint on the
+     * first run.
+     */
+    private long scannedUpTo() {
+        return checkpointRepository.findById(CHECKPOINT).map(ScanCheckpoint::getLastId).orElseGet(() -> {
+            try {
+                checkpointRepository.saveAndFlush(new ScanCheckpoint(CHECKPOINT, 0));
+            } catch (DataIntegrityViolationException e) {
+                // created concurrently by another node; it scans from the start as well
+            }
+            return 0L;
+        });
+    }
+}
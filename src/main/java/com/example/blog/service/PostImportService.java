@@ -0,0 +1,282 @@
+package com.example.blog.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.blog.dto.PostImportSummary;
+import com.example.blog.entity.Post;
+import com.example.blog.event.PostChangedEvent;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonFactoryBuilder;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Imports posts in bulk from a JSON array or newline-delimited JSON.
+ * <p>
+ * The body is read token by token with the Jackson streaming parser; only
+ * the {@code title} and {@code content} of each object are kept, and any
+ * other fields (IDs, comments, ...) are skipped without being materialized.
+ * Each post is validated against the entity's constraints as soon as it is
+ * read. Valid posts are stored in transactions of {@code blog.import.chunk-size}
+ * posts; within a transaction the persistence context is flushed (as JDBC
+ * batches) and cleared every {@code hibernate.jdbc.batch_size} posts. Memory
+ * use therefore depends on the chunk size, not on the size of the body.
+ * </p>
+ *
+ * <h3>Progress Report (NDJSON):</h3>
+ * <ul>
+ * <li>{@code {"type":"rejected","index":..,"error":..}} for every record
+ * that failed validation or could not be stored; {@code index} is the
+ * record's zero-based position in the body.</li>
+ * <li>{@code {"type":"progress",...}} with running totals after every chunk.</li>
+ * <li>{@code {"type":"aborted","error":..}} if the body is not well-formed
+ * JSON; records before the error are still stored.</li>
+ * <li>{@code {"type":"done",...}} with the final totals.</li>
+ * </ul>
+ *
+ * <p>
+ * If a chunk's transaction fails, its posts are retried one per transaction
+ * so that only the offending records are rejected. Every stored post
+ * publishes a {@link PostChangedEvent}.
+ * </p>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+@Service
+public class PostImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(PostImportService.class);
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactoryBuilder()
+            .rootValueSeparator((String) null) // lines are separated by the '\n' written after each one
+            .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${blog.import.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize = 50;
+
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * A validated post waiting for its chunk to be written.
+     */
+    private record Pending(long index, Post post) {
+    }
+
+    /**
+     * Creates the transaction template used for each chunk.
+     */
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Imports every post in {@code in}, reporting progress to {@code out}.
+     *
+     * @param in  A JSON array of posts, or one post object per line.
+     * @param out The destination of the NDJSON progress report; it is flushed
+     *            after every chunk but not closed.
+     * @return The final totals.
+     * @throws IOException if reading {@code in} or writing {@code out} fails.
+     */
+    public PostImportSummary importPosts(InputStream in, OutputStream out) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(in);
+                JsonGenerator report = JSON_FACTORY.createGenerator(out)) {
+            Run run = new Run(report);
+            List<Pending> chunk = new ArrayList<>(chunkSize);
+            boolean complete = true;
+            try {
+                JsonToken token = parser.nextToken();
+                boolean array = token == JsonToken.START_ARRAY;
+                if (array) {
+                    token = parser.nextToken();
+                }
+                while (token != null && !(array && token == JsonToken.END_ARRAY)) {
+                    Pending pending = read(parser, run.processed, run);
+                    run.processed++;
+                    if (pending != null) {
+                        chunk.add(pending);
+                        if (chunk.size() >= chunkSize) {
+                            write(chunk, run);
+                        }
+                    }
+                    token = parser.nextToken();
+                }
+            } catch (JsonProcessingException e) {
+                complete = false;
+                report.writeStartObject();
+                report.writeStringField("type", "aborted");
+                report.writeStringField("error", e.getOriginalMessage());
+                report.writeEndObject();
+                report.writeRaw('\n');
+            }
+            if (!chunk.isEmpty()) {
+                write(chunk, run);
+            }
+            PostImportSummary summary = new PostImportSummary(run.processed, run.imported, run.rejected, complete);
+            run.totals("done");
+            log.info("Imported {} of {} posts ({} rejected{})", summary.imported(), summary.processed(),
+                    summary.rejected(), complete ? "" : ", stopped at malformed JSON");
+            return summary;
+        }
+    }
+
+    /**
+     * Reads one record and validates it.
+     *
+     * @return The validated post, or {@code null} if it was rejected.
+     */
+    private Pending read(JsonParser parser, long index, Run run) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            run.reject(index, "Expected a JSON object");
+            return null;
+        }
+        String title = null;
+        String content = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_STRING && "title".equals(field)) {
+                title = parser.getText();
+            } else if (value == JsonToken.VALUE_STRING && "content".equals(field)) {
+                content = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        Post post = new Post(title, content);
+        Set<ConstraintViolation<Post>> violations = validator.validate(post);
+        if (!violations.isEmpty()) {
+            run.reject(index, violations.stream().map(ConstraintViolation::getMessage)
+                    .sorted().collect(Collectors.joining("; ")));
+            return null;
+        }
+        return new Pending(index, post);
+    }
+
+    /**
+     * Stores one chunk, falling back to one transaction per post if the
+     * chunk's transaction fails, then reports progress.
+     */
+    private void write(List<Pending> chunk, Run run) throws IOException {
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(chunk));
+            run.imported += chunk.size();
+        } catch (RuntimeException e) {
+            log.debug("Import chunk failed; retrying its {} posts one by one", chunk.size(), e);
+            for (Pending pending : chunk) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persist(List.of(pending)));
+                    run.imported++;
+                } catch (RuntimeException single) {
+                    run.reject(pending.index(), NestedExceptionUtils.getMostSpecificCause(single).getMessage());
+                }
+            }
+        }
+        chunk.clear();
+        run.totals("progress");
+        run.report.flush();
+    }
+
+    private void persist(List<Pending> chunk) {
+        int unflushed = 0;
+        for (Pending pending : chunk) {
+            Post post = pending.post();
+            // A post from a rolled-back chunk carries the ID and version assigned then
+            post.setId(null);
+            post.setVersion(null);
+            entityManager.persist(post);
+            eventPublisher.publishEvent(PostChangedEvent.saved(post));
+            if (++unflushed == batchSize) {
+                entityManager.flush();
+                entityManager.clear();
+                unflushed = 0;
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Counters and report writer of one import.
+     */
+    private static final class Run {
+
+        private final JsonGenerator report;
+
+        private long processed;
+
+        private long imported;
+
+        private long rejected;
+
+        private Run(JsonGenerator report) {
+            this.report = report;
+        }
+
+        private void reject(long index, String error) throws IOException {
+            rejected++;
+            report.writeStartObject();
+            report.writeStringField("type", "rejected");
+            report.writeNumberField("index", index);
+            report.writeStringField("error", error);
+            report.writeEndObject();
+            report.writeRaw('\n');
+        }
+
+        private void totals(String type) throws IOException {
+            report.writeStartObject();
+            report.writeStringField("type", type);
+            report.writeNumberField("processed", processed);
+            report.writeNumberField("imported", imported);
+            report.writeNumberField("rejected", rejected);
+            report.writeEndObject();
+            report.writeRaw('\n');
+        }
+    }
+}
@@ -1,12 +1,45 @@
 package com.example.blog.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import io.micrometer.core.annotation.Timed;
+
+import com.example.blog.config.CacheConfig;
+import com.example.blog.dto.PostJson;
+import com.example.blog.dto.PostPatch;
+import com.example.blog.dto.PostSummary;
+import com.example.blog.dto.PostVersion;
+import com.example.blog.dto.PostView;
 import com.example.blog.entity.Post;
+import com.example.blog.event.PostChangedEvent;
+import com.example.blog.pagination.CursorPage;
+import com.example.blog.repository.CommentRepository;
 import com.example.blog.repository.PostRepository;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonFactoryBuilder;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 
 /**
  * Service layer for handling business logic related to {@link Post} entities.
@@ -19,11 +52,32 @@ import com.example.blog.repository.PostRepository;
  * @version 1.0
  */
 @Service
+@Timed(value = "blog.service", histogram = true) // One timer per public method, tagged with class and method
 public class PostService {
 
+    /**
+     * Shared, thread-safe factory for the streaming export's generators.
+     */
+    private static final JsonFactory JSON_FACTORY = new JsonFactoryBuilder()
+            .rootValueSeparator((String) null) // lines are separated by the '\n' written after each one
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
     @Autowired
     private PostRepository postRepository;
 
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private Validator validator;
+
     /**
      * Retrieves all blog posts from the database.
      *
@@ -34,52 +88,230 @@ public class PostService {
     }
 
     /**
-     * Retrieves a blog post by its ID.
+     * Writes every post to the given stream as newline-delimited JSON.
+     * <p>
+     * Posts are read through a database cursor and each entity is detached
+     * once written, so memory use is independent of the table size. Each line
+     * holds {@code id}, {@code title}, {@code content}, {@code version} and
+     * {@code updatedAt}; comments are not exported.
+     * </p>
+     *
+     * @param out The destination stream; it is flushed but not closed.
+     * @return The number of posts written.
+     * @throws IOException if writing to {@code out} fails.
+     */
+    @Transactional(readOnly = true)
+    public long exportPosts(OutputStream out) throws IOException {
+        long count = 0;
+        try (Stream<Post> posts = postRepository.streamAllByOrderByIdAsc();
+                JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            for (Iterator<Post> it = posts.iterator(); it.hasNext();) {
+                Post post = it.next();
+                generator.writeStartObject();
+                generator.writeNumberField("id", post.getId());
+                generator.writeStringField("title", post.getTitle());
+                generator.writeStringField("content", post.getContent());
+                if (post.getVersion() != null) {
+                    generator.writeNumberField("version", post.getVersion());
+                }
+                if (post.getUpdatedAt() != null) {
+                    generator.writeStringField("updatedAt", post.getUpdatedAt().toString());
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                entityManager.detach(post); // keep the persistence context from growing
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Retrieves one page of blog posts using keyset pagination.
+     * <p>
+     * One row beyond {@code limit} is fetched to detect whether a further page
+     * exists without issuing a separate COUNT query. Comments are initialized
+     * inside the transaction; because the collection is batch-fetched, a page
+     * of N posts costs {@code 1 + ceil(N / 50)} statements rather than
+     * {@code 1 + N}.
+     * </p>
+     *
+     * @param afterId The ID of the last post on the previous page, or
+     *                {@code null} for the first page.
+     * @param limit   The maximum number of posts to return.
+     * @return A {@link CursorPage} of posts ordered by ID.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Post> getPostsPage(Long afterId, int limit) {
+        List<Post> rows = postRepository.findByIdGreaterThanOrderByIdAsc(
+                afterId != null ? afterId : 0L, Limit.of(limit + 1));
+        CursorPage<Post> page = CursorPage.of(rows, limit, Post::getId);
+        page.items().forEach(post -> Hibernate.initialize(post.getComments()));
+        return page;
+    }
+
+    /**
+     * Retrieves one page of post summaries using keyset pagination.
+     * <p>
+     * Unlike {@link #getPostsPage(Long, int)}, this reads a projection and
+     * never loads post content or comment entities.
+     * </p>
+     *
+     * @param afterId The ID of the last post on the previous page, or
+     *                {@code null} for the first page.
+     * @param limit   The maximum number of summaries to return.
+     * @return A {@link CursorPage} of {@link PostSummary} ordered by ID.
+     */
+    public CursorPage<PostSummary> getPostSummariesPage(Long afterId, int limit) {
+        List<PostSummary> rows = postRepository.findSummariesAfter(
+                afterId != null ? afterId : 0L, Limit.of(limit + 1));
+        return CursorPage.of(rows, limit, PostSummary::id);
+    }
+
+    /**
+     * Retrieves a blog post with its comments as serialized JSON.
+     * <p>
+     * The bytes are cached in {@value CacheConfig#POST_JSON} under the post's
+     * ID, so a hit issues no SQL and builds no object graph. On a miss the
+     * post and its comments are loaded with a single join query, copied into
+     * a {@link PostView} and serialized once. Entries are evicted after every
+     * committed write to the post or its comments, on this node and the
+     * others (see {@link com.example.blog.invalidation.ClusterCacheInvalidator}).
+     * The load is synchronized with the cache entry, so an eviction that
+     * arrives while a read is loading waits for it and then removes what it
+     * loaded. Missing posts are cached as absent until a post with that ID is
+     * created.
+     * </p>
      *
      * @param id The ID of the post to retrieve.
-     * @return The found {@link Post} or {@code null} if no post exists with the given ID.
+     * @return The serialized post, or {@code null} if no post exists with the given ID.
      */
-    public Post getPostById(Long id) {
-        return postRepository.findById(id).orElse(null);
+    @Cacheable(cacheNames = CacheConfig.POST_JSON, key = "#id", sync = true)
+    public PostJson getPostJson(Long id) {
+        return postRepository.findWithCommentsById(id).map(PostView::from).map(PostJson::of).orElse(null);
     }
 
     /**
-     * Creates and saves a new blog post.
+     * Retrieves the version stamp of a blog post without loading its content.
+     *
+     * @param id The ID of the post.
+     * @return The {@link PostVersion} or {@code null} if no post exists with the given ID.
+     */
+    public PostVersion getPostVersion(Long id) {
+        return postRepository.findVersionById(id).orElse(null);
+    }
+
+    /**
+     * Creates and saves a new blog post and publishes a {@link PostChangedEvent}.
      *
      * @param post The post entity to be created.
      * @return The newly saved {@link Post}.
      */
     public Post createPost(Post post) {
-        return postRepository.save(post);
+        Post saved = postRepository.save(post);
+        eventPublisher.publishEvent(PostChangedEvent.saved(saved));
+        return saved;
     }
 
     /**
      * Updates an existing blog post.
      * <p>
-     * If the post with the given ID exists, it updates the title and content.
-     * Otherwise, it returns {@code null}.
+     * The title and content are overwritten with a single UPDATE whose row
+     * count tells whether the post exists; the post and its comments are
+     * never loaded. Only the new version stamp is read back, for the
+     * {@link PostChangedEvent} and the caller's ETag.
      * </p>
      *
      * @param id          The ID of the post to update.
      * @param postDetails The updated post details.
-     * @return The updated {@link Post} or {@code null} if no post exists with the given ID.
+     * @return The post's new {@link PostVersion}, or {@code null} if no post
+     *         exists with the given ID.
+     * @throws ConstraintViolationException if the new title or content is invalid.
      */
-    public Post updatePost(Long id, Post postDetails) {
-        Post post = postRepository.findById(id).orElse(null);
-        if (post != null) {
-            post.setTitle(postDetails.getTitle());
-            post.setContent(postDetails.getContent());
-            return postRepository.save(post);
+    @Transactional
+    public PostVersion updatePost(Long id, Post postDetails) {
+        // A bulk UPDATE bypasses Hibernate's pre-update validation, so apply the entity constraints here
+        Set<ConstraintViolation<Post>> violations = validator.validate(postDetails);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
         }
-        return null;
+        if (postRepository.updateTitleAndContent(id, postDetails.getTitle(), postDetails.getContent(),
+                Instant.now()) == 0) {
+            return null;
+        }
+        PostVersion version = postRepository.findVersionById(id).orElseThrow();
+        eventPublisher.publishEvent(new PostChangedEvent(id, postDetails.getTitle(), postDetails.getContent(),
+                version.version(), false));
+        return version;
     }
 
     /**
-     * Deletes a blog post by its ID.
+     * Applies a partial update to a blog post.
+     * <p>
+     * Only the fields present in the patch are written, with one targeted
+     * UPDATE: a title fix neither reads nor rewrites the {@code content}
+     * column. As with {@link #updatePost(Long, Post)} nothing is loaded, and
+     * the {@link PostChangedEvent} carries only the changed fields. An empty
+     * patch writes nothing and returns the current version stamp.
+     * </p>
+     *
+     * @param id    The ID of the post to update.
+     * @param patch The changed fields.
+     * @return The post's new {@link PostVersion}, or {@code null} if no post
+     *         exists with the given ID.
+     * @throws ConstraintViolationException if a patched field is invalid.
+     */
+    @Transactional
+    public PostVersion patchPost(Long id, PostPatch patch) {
+        if (patch.isEmpty()) {
+            return getPostVersion(id);
+        }
+        Set<ConstraintViolation<Post>> violations = new HashSet<>();
+        if (patch.title() != null) {
+            violations.addAll(validator.validateValue(Post.class, "title", patch.title()));
+        }
+        if (patch.content() != null) {
+            violations.addAll(validator.validateValue(Post.class, "content", patch.content()));
+        }
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        Instant now = Instant.now();
+        int updated;
+        if (patch.content() == null) {
+            updated = postRepository.updateTitle(id, patch.title(), now);
+        } else if (patch.title() == null) {
+            updated = postRepository.updateContent(id, patch.content(), now);
+        } else {
+            updated = postRepository.updateTitleAndContent(id, patch.title(), patch.content(), now);
+        }
+        if (updated == 0) {
+            return null;
+        }
+        PostVersion version = postRepository.findVersionById(id).orElseThrow();
+        eventPublisher.publishEvent(PostChangedEvent.patched(id, patch.title(), patch.content(), version.version()));
+        return version;
+    }
+
+    /**
+     * Deletes a blog post by its ID and publishes a {@link PostChangedEvent},
+     * which evicts it from the caches once the transaction commits.
+     * <p>
+     * The post's comments are removed with one set-based DELETE and the post
+     * with a second, so the cost does not grow with the number of comments
+     * and nothing is loaded.
+     * </p>
      *
      * @param id The ID of the post to be deleted.
+     * @return {@code true} if the post existed.
      */
-    public void deletePost(Long id) {
-        postRepository.deleteById(id);
+    @Transactional
+    public boolean deletePost(Long id) {
+        commentRepository.deleteAllByPostIdInBulk(id);
+        if (postRepository.deleteByIdInBulk(id) == 0) {
+            return false;
+        }
+        eventPublisher.publishEvent(PostChangedEvent.deleted(id));
+        return true;
     }
 }
@@ -0,0 +1,71 @@
+package com.example.blog.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.example.blog.entity.Comment;
+import com.example.blog.entity.Post;
+import com.example.blog.pagination.CursorPage;
+import com.example.blog.repository.ReactivePostRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of the read side of {@link PostService} and
+ * {@link CommentService}.
+ * <p>
+ * Reads go straight to R2DBC and bypass the JPA persistence context and the
+ * post caches, so the two stacks can be compared under identical
+ * load. Nothing here is transactional: each call is a single query.
+ * </p>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+@Service
+public class ReactivePostService {
+
+    @Autowired
+    private ReactivePostRepository reactivePostRepository;
+
+    /**
+     * Retrieves one page of posts with their comments using keyset
+     * pagination, like {@link PostService#getPostsPage(Long, int)}.
+     * <p>
+     * One query seeks {@code limit + 1} posts and one range query loads the
+     * comments of the posts kept on the page.
+     * </p>
+     *
+     * @param afterId The ID of the last post on the previous page, or
+     *                {@code null} for the first page.
+     * @param limit   The maximum number of posts to return.
+     * @return A {@link CursorPage} of posts ordered by ID.
+     */
+    public Mono<CursorPage<Post>> getPostsPage(Long afterId, int limit) {
+        return reactivePostRepository.findAllAfter(afterId != null ? afterId : 0L, limit + 1)
+                .collectList()
+                .map(rows -> CursorPage.of(rows, limit, Post::getId))
+                .flatMap(page -> reactivePostRepository.withComments(page.items()).thenReturn(page));
+    }
+
+    /**
+     * Retrieves a post with its comments.
+     *
+     * @param id The post ID.
+     * @return The post, or an empty {@link Mono} if it does not exist.
+     */
+    public Mono<Post> getPostById(Long id) {
+        return reactivePostRepository.findWithCommentsById(id);
+    }
+
+    /**
+     * Streams a post's comments, oldest first.
+     *
+     * @param postId The post ID.
+     * @return The comments.
+     */
+    public Flux<Comment> getCommentsByPostId(Long postId) {
+        return reactivePostRepository.findCommentsByPostId(postId);
+    }
+}
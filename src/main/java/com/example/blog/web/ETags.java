@@ -0,0 +1,79 @@
+package com.example.blog.web;
+
+import java.time.Instant;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Builds the strong entity tags used for conditional GET requests.
+ * <p>
+ * Tags are derived from JPA {@code @Version} columns, so they change exactly
+ * when the underlying rows are written and can be computed from a version
+ * stamp without loading or serializing the entity.
+ * </p>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Builds the ETag of a post representation.
+     *
+     * @param id      The post ID.
+     * @param version The post version.
+     * @return A quoted, strong entity tag.
+     */
+    public static String forPost(Long id, Long version) {
+        return "\"post-" + id + "-v" + version + "\"";
+    }
+
+    /**
+     * Builds the ETag of a post's rendered HTML.
+     *
+     * @param id      The post ID.
+     * @param version The post version the HTML was rendered from.
+     * @return A quoted, strong entity tag.
+     */
+    public static String forRendered(Long id, Long version) {
+        return "\"rendered-" + id + "-v" + version + "\"";
+    }
+
+    /**
+     * Builds the ETag of a post's comment list.
+     *
+     * @param postId  The post ID.
+     * @param version The post version, which every comment write bumps.
+     * @return A quoted, strong entity tag.
+     */
+    public static String forComments(Long postId, Long version) {
+        return "\"comments-" + postId + "-v" + version + "\"";
+    }
+
+    /**
+     * Indicates whether the request carries a validator that could yield a
+     * 304, i.e. whether a cheap version lookup is worth doing first.
+     *
+     * @param request The current request.
+     * @return {@code true} if {@code If-None-Match} or {@code If-Modified-Since} is present.
+     */
+    public static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    /**
+     * Converts a modification time to the form expected by
+     * {@link WebRequest#checkNotModified(String, long)}.
+     *
+     * @param updatedAt The modification time, possibly {@code null}.
+     * @return Epoch milliseconds, or -1 if unknown (which disables the date check).
+     */
+    public static long lastModified(Instant updatedAt) {
+        return updatedAt != null ? updatedAt.toEpochMilli() : -1;
+    }
+}
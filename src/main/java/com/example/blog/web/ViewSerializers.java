@@ -0,0 +1,123 @@
+package com.example.blog.web;
+
+import java.io.IOException;
+import java.time.Instant;
+
+import com.example.blog.dto.CommentView;
+import com.example.blog.dto.PostView;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Hand-written Jackson serializers for the read models.
+ * <p>
+ * Fields are written directly to the {@link JsonGenerator}: no bean
+ * introspection, no proxy handling and no cycle detection. Timestamps are
+ * ISO-8601 strings and {@code null}s are written, as Spring Boot's default
+ * {@code ObjectMapper} does, so the output matches what serializing the
+ * entities used to produce.
+ * </p>
+ *
+ * @author Your Name
+ * @version 1.0
+ */
+public final class ViewSerializers {
+
+    /**
+     * Shared, thread-safe factory for generators writing outside an
+     * {@code ObjectMapper}.
+     */
+    public static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private ViewSerializers() {
+    }
+
+    /**
+     * Writes a post and its comments as one JSON object.
+     *
+     * @param post      The post.
+     * @param generator The destination.
+     * @throws IOException if writing fails.
+     */
+    public static void write(PostView post, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        writeNumber(generator, "id", post.id());
+        generator.writeStringField("title", post.title());
+        generator.writeStringField("content", post.content());
+        writeNumber(generator, "version", post.version());
+        writeInstant(generator, "updatedAt", post.updatedAt());
+        generator.writeNumberField("commentCount", post.commentCount());
+        generator.writeArrayFieldStart("comments");
+        for (CommentView comment : post.comments()) {
+            write(comment, generator);
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes a comment as one JSON object.
+     *
+     * @param comment   The comment.
+     * @param generator The destination.
+     * @throws IOException if writing fails.
+     */
+    public static void write(CommentView comment, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        writeNumber(generator, "id", comment.id());
+        generator.writeStringField("content", comment.content());
+        writeNumber(generator, "version", comment.version());
+        writeInstant(generator, "updatedAt", comment.updatedAt());
+        generator.writeEndObject();
+    }
+
+    private static void writeNumber(JsonGenerator generator, String name, Long value) throws IOException {
+        if (value != null) {
+            generator.writeNumberField(name, value);
+        } else {
+            generator.writeNullField(name);
+        }
+    }
+
+    private static void writeInstant(JsonGenerator generator, String name, Instant value) throws IOException {
+        generator.writeStringField(name, value != null ? value.toString() : null);
+    }
+
+    /**
+     * Serializes {@link PostView} with {@link ViewSerializers#write(PostView, JsonGenerator)}.
+     */
+    public static class PostViewSerializer extends StdSerializer<PostView> {
+
+        private static final long serialVersionUID = 1L;
+
+        public PostViewSerializer() {
+            super(PostView.class);
+        }
+
+        @Override
+        public void serialize(PostView value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            write(value, generator);
+        }
+    }
+
+    /**
+     * Serializes {@link CommentView} with {@link ViewSerializers#write(CommentView, JsonGenerator)}.
+     */
+    public static class CommentViewSerializer extends StdSerializer<CommentView> {
+
+        private static final long serialVersionUID = 1L;
+
+        public CommentViewSerializer() {
+            super(CommentView.class);
+        }
+
+        @Override
+        public void serialize(CommentView value, JsonGenerator generator, SerializerProvider provider)
+                throws IOException {
+            write(value, generator);
+        }
+    }
+}
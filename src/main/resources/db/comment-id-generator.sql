@@ -0,0 +1,21 @@
+-- One-time migration for databases created while comments.id used IDENTITY.
+--
+-- Comment IDs now come from the pooled "id_generators" table. Seed it past the
+-- highest existing ID before deploying, otherwise new comments would collide
+-- with old ones. Hibernate creates the table itself (ddl-auto=update) if it is
+-- missing; the CREATE below is for environments that manage DDL manually.
+--
+-- Invariant: next_id must be at least MAX(id) + allocationSize + 1, where
+-- allocationSize is 50 (see the @TableGenerator in Comment.java). Hibernate's pooled
+-- optimizer treats the stored value as the top of the first block and hands
+-- out the allocationSize IDs below it. Seeding with MAX(id) + 1 would reuse
+-- the 49 highest existing IDs. Change the 50 below if allocationSize changes.
+
+CREATE TABLE IF NOT EXISTS id_generators (
+    entity  VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_id BIGINT
+);
+
+INSERT INTO id_generators (entity, next_id)
+SELECT 'comments', COALESCE(MAX(id), 0) + 50 + 1 FROM comments
+ON DUPLICATE KEY UPDATE next_id = GREATEST(next_id, VALUES(next_id));
@@ -0,0 +1,16 @@
+-- One-time migration for databases created while posts.content was TEXT.
+--
+-- posts.content now holds gzip-compressed UTF-8 (see CompressedTextConverter),
+-- and list views read a denormalized posts.excerpt instead of a substring of
+-- the content. Run this before deploying; Hibernate (ddl-auto=update) adds
+-- missing columns but never changes an existing column's type.
+--
+-- Converting TEXT to LONGBLOB keeps every row's UTF-8 bytes, which the
+-- converter still reads as plain text, so the posts stay readable at once.
+-- PostContentCompressionJob then compresses them in the background.
+
+ALTER TABLE posts ADD COLUMN excerpt VARCHAR(200);
+
+UPDATE posts SET excerpt = LEFT(content, 200) WHERE excerpt IS NULL;
+
+ALTER TABLE posts MODIFY content LONGBLOB NOT NULL;
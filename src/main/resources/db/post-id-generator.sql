@@ -0,0 +1,20 @@
+-- One-time migration for databases created while posts.id used IDENTITY.
+--
+-- Post IDs now come from the pooled "id_generators" table, like comment IDs
+-- (see comment-id-generator.sql). Seed it past the highest existing ID before
+-- deploying, otherwise new posts would collide with old ones.
+--
+-- Invariant: next_id must be at least MAX(id) + allocationSize + 1, where
+-- allocationSize is 50 (see the @TableGenerator in Post.java). Hibernate's pooled
+-- optimizer treats the stored value as the top of the first block and hands
+-- out the allocationSize IDs below it. Seeding with MAX(id) + 1 would reuse
+-- the 49 highest existing IDs. Change the 50 below if allocationSize changes.
+
+CREATE TABLE IF NOT EXISTS id_generators (
+    entity  VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_id BIGINT
+);
+
+INSERT INTO id_generators (entity, next_id)
+SELECT 'posts', COALESCE(MAX(id), 0) + 50 + 1 FROM posts
+ON DUPLICATE KEY UPDATE next_id = GREATEST(next_id, VALUES(next_id));
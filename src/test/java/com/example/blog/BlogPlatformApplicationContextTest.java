@@ -0,0 +1,69 @@
+package com.example.blog;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+import com.example.blog.entity.Post;
+import com.example.blog.repository.ReactivePostRepository;
+import com.example.blog.service.PostService;
+
+/**
+ * Starts the full application context on H2, with JDBC and R2DBC sharing one
+ * in-memory database.
+ *
+ * <h3>Premise:</h3>
+ * <ul>
+ * <li>The JPA stack and the R2DBC read path must coexist: a JDBC data source
+ * and a JPA transaction manager are present alongside R2DBC.</li>
+ * </ul>
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:context;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.r2dbc.url=r2dbc:h2:mem:///context;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=" })
+@ActiveProfiles("test")
+class BlogPlatformApplicationContextTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private ReactivePostRepository reactivePostRepository;
+
+    /**
+     * Tests that a post written through JPA is readable through R2DBC.
+     */
+    @Test
+    void contextLoadsWithJpaAndR2dbc() {
+        assertNotNull(dataSource);
+        assertNotNull(databaseClient);
+        assertInstanceOf(JpaTransactionManager.class, transactionManager);
+
+        Post saved = postService.createPost(new Post("Context title", "Context content"));
+        Post read = reactivePostRepository.findWithCommentsById(saved.getId()).block();
+
+        assertEquals("Context title", read.getTitle());
+    }
+}
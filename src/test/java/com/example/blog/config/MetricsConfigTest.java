@@ -0,0 +1,81 @@
+package com.example.blog.config;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.blog.entity.Comment;
+import com.example.blog.entity.Post;
+import com.example.blog.metrics.RequestMetricsInterceptor;
+import com.example.blog.service.CommentService;
+import com.example.blog.service.PostService;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Verifies that service, repository, pool, Hibernate and per-request
+ * entity-load metrics are recorded and exposed in Prometheus format.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:metrics;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.r2dbc.url=r2dbc:h2:mem:///metrics;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=" })
+@ActiveProfiles("test")
+@AutoConfigureMockMvc(addFilters = false)
+@AutoConfigureObservability(tracing = false)
+class MetricsConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    /**
+     * Tests that reading a post with comments records every metric family.
+     */
+    @Test
+    void testHotPathMetricsAreScraped() throws Exception {
+        Post post = postService.createPost(new Post("Metrics", "Observed content"));
+        for (int i = 0; i < 3; i++) {
+            Comment comment = new Comment();
+            comment.setContent("Comment " + i);
+            commentService.addComment(post.getId(), comment);
+        }
+
+        mockMvc.perform(get("/posts/{id}", post.getId())).andExpect(status().isOk());
+
+        DistributionSummary loaded = registry.get(RequestMetricsInterceptor.METRIC)
+                .tag("uri", "/posts/{id}").summary();
+        assertEquals(1, loaded.count());
+        assertEquals(4, loaded.totalAmount(), "the post and its three comments");
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(scrape.contains("blog_service_seconds_bucket{"));
+        assertTrue(scrape.contains("method=\"createPost\""));
+        assertTrue(scrape.contains("spring_data_repository_invocations_seconds_bucket{"));
+        assertTrue(scrape.contains("hikaricp_connections_acquire_seconds_bucket{"));
+        assertTrue(scrape.contains("hibernate_statements_total"));
+        assertTrue(scrape.contains("blog_request_entities_loaded_entities_count{"));
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.blog.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.blog.config.CacheConfig;
+import com.example.blog.dto.CacheStatistics;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Unit tests for {@link CacheStatsController}.
+ * <p>
+ * Uses a real {@link CaffeineCacheManager} so that the reported counters come
+ * from actual cache operations.
+ * </p>
+ */
+class CacheStatsControllerTest {
+
+    private CacheStatsController cacheStatsController;
+
+    private Cache postsCache;
+
+    /**
+     * Creates a stats-recording cache manager with a single {@code post-json} cache.
+     */
+    @BeforeEach
+    void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CacheConfig.POST_JSON);
+        cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(10).recordStats());
+        postsCache = cacheManager.getCache(CacheConfig.POST_JSON);
+
+        cacheStatsController = new CacheStatsController();
+        ReflectionTestUtils.setField(cacheStatsController, "cacheManager", cacheManager);
+    }
+
+    /**
+     * Tests that hits and misses are reported per cache.
+     */
+    @Test
+    @DisplayName("Should report hit and miss counters")
+    void testGetCacheStats() {
+        postsCache.put(1L, "cached");
+        postsCache.get(1L);
+        postsCache.get(2L);
+
+        List<CacheStatistics> stats = cacheStatsController.getCacheStats();
+
+        assertEquals(1, stats.size());
+        CacheStatistics postJson = stats.get(0);
+        assertEquals(CacheConfig.POST_JSON, postJson.name());
+        assertEquals(1, postJson.hitCount());
+        assertEquals(1, postJson.missCount());
+        assertEquals(1, postJson.size());
+    }
+}
@@ -1,10 +1,23 @@
 package com.example.blog.controller;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,10 +26,30 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import com.example.blog.dto.CommentBatchResult;
+import com.example.blog.dto.CommentReceipt;
+import com.example.blog.dto.CommentView;
+import com.example.blog.dto.PostVersion;
 import com.example.blog.entity.Comment;
+import com.example.blog.pagination.Cursor;
+import com.example.blog.pagination.CursorPage;
+import com.example.blog.pagination.PageHeaders;
 import com.example.blog.service.CommentService;
+import com.example.blog.service.CommentWriteBehindQueue;
+import com.example.blog.web.ETags;
+
+import jakarta.validation.ConstraintViolationException;
 
 /**
  * Unit tests for {@link CommentController}.
@@ -36,9 +69,11 @@ import com.example.blog.service.CommentService;
  *
  * <h3>Test Coverage:</h3>
  * <ul>
- * <li>Retrieving comments by post ID</li>
+ * <li>Retrieving pages of comments by post ID</li>
+ * <li>Answering conditional requests with 304 Not Modified</li>
  * <li>Adding a comment successfully</li>
  * <li>Handling failed comment creation</li>
+ * <li>Batched comment creation</li>
  * </ul>
  *
  * @author Your Name
@@ -97,12 +132,118 @@ class CommentControllerTest {
         Long postId = 1L;
         List<Comment> expectedComments = Arrays.asList(sampleComment);
 
-        when(commentService.getCommentsByPostId(postId)).thenReturn(expectedComments);
+        when(commentService.getCommentsVersion(postId)).thenReturn(new PostVersion(postId, 1L, null));
+        when(commentService.getCommentsPage(postId, null, PageHeaders.DEFAULT_LIMIT, Sort.Direction.ASC))
+                .thenReturn(new CursorPage<>(expectedComments, null));
 
-        List<Comment> actualComments = commentController.getCommentsByPostId(postId);
+        ResponseEntity<List<CommentView>> response = commentController.getCommentsByPostId(postId, null,
+                PageHeaders.DEFAULT_LIMIT, "asc",
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/posts/1/comments")));
 
-        assertEquals(expectedComments.size(), actualComments.size(),
+        assertEquals(expectedComments.size(), response.getBody().size(),
                 "Returned comment list size should match.");
+        assertNotNull(response.getHeaders().getETag(), "Response should carry an ETag.");
+    }
+
+    /**
+     * Tests that a matching {@code If-None-Match} short-circuits the list load.
+     *
+     * <p>
+     * Expected Behavior:
+     * </p>
+     * <ul>
+     * <li>Should return HTTP 304 (Not Modified).</li>
+     * <li>Should never load the comment bodies.</li>
+     * </ul>
+     */
+    @Test
+    @DisplayName("Should return 304 NOT_MODIFIED when the ETag matches")
+    void testGetCommentsByPostIdNotModified() {
+        Long postId = 1L;
+        PostVersion version = new PostVersion(postId, 1L, null);
+        when(commentService.getCommentsVersion(postId)).thenReturn(version);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/posts/1/comments");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ETags.forComments(postId, version.version()));
+
+        ResponseEntity<List<CommentView>> response = commentController.getCommentsByPostId(postId, null,
+                PageHeaders.DEFAULT_LIMIT, "asc", new ServletWebRequest(request, new MockHttpServletResponse()));
+
+        assertEquals(304, response.getStatusCode().value(), "HTTP status should be 304 NOT MODIFIED.");
+        verify(commentService, never()).getCommentsPage(anyLong(), any(), anyInt(), any());
+    }
+
+    /**
+     * Tests that the comments of a missing post are not found.
+     *
+     * <p>
+     * Expected Behavior:
+     * </p>
+     * <ul>
+     * <li>Should return HTTP 404 (Not Found).</li>
+     * <li>Should never query the comments.</li>
+     * </ul>
+     */
+    @Test
+    @DisplayName("Should return 404 NOT_FOUND for the comments of a missing post")
+    void testGetCommentsByPostIdNotFound() {
+        when(commentService.getCommentsVersion(99L)).thenReturn(null);
+
+        ResponseEntity<List<CommentView>> response = commentController.getCommentsByPostId(99L, null,
+                PageHeaders.DEFAULT_LIMIT, "asc",
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/posts/99/comments")));
+
+        assertEquals(404, response.getStatusCode().value(), "HTTP status should be 404 NOT FOUND.");
+        verify(commentService, never()).getCommentsPage(anyLong(), any(), anyInt(), any());
+    }
+
+    /**
+     * Tests paging newest-first through MockMvc.
+     *
+     * <p>
+     * Expected Behavior:
+     * </p>
+     * <ul>
+     * <li>The cursor and order are passed to the service.</li>
+     * <li>A next link is returned when more comments exist.</li>
+     * </ul>
+     */
+    @Test
+    @DisplayName("Should page comments newest first with a cursor")
+    void testGetCommentsByPostIdPaged() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(commentController).build();
+        String next = Cursor.encode(1L);
+        when(commentService.getCommentsVersion(1L)).thenReturn(new PostVersion(1L, 3L, null));
+        when(commentService.getCommentsPage(1L, 2L, 1, Sort.Direction.DESC))
+                .thenReturn(new CursorPage<>(List.of(sampleComment), next));
+
+        mockMvc.perform(get("/posts/{postId}/comments", 1L)
+                .param("after", Cursor.encode(2L))
+                .param("limit", "1")
+                .param("order", "desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().string(PageHeaders.NEXT_CURSOR, next));
+    }
+
+    /**
+     * Tests that an unknown sort order is rejected.
+     *
+     * <p>
+     * Expected Behavior:
+     * </p>
+     * <ul>
+     * <li>Should return HTTP 400 (Bad Request).</li>
+     * </ul>
+     */
+    @Test
+    @DisplayName("Should return 400 BAD_REQUEST for an unknown order")
+    void testGetCommentsByPostIdInvalidOrder() {
+        ResponseEntity<List<CommentView>> response = commentController.getCommentsByPostId(1L, null,
+                PageHeaders.DEFAULT_LIMIT, "sideways",
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/posts/1/comments")));
+
+        assertEquals(400, response.getStatusCode().value(), "HTTP status should be 400 BAD REQUEST.");
     }
 
     /**
@@ -124,7 +265,7 @@ class CommentControllerTest {
         when(commentService.addComment(postId,
                 sampleComment)).thenReturn(sampleComment);
 
-        ResponseEntity<Comment> response = commentController.addComment(postId,
+        ResponseEntity<?> response = commentController.addComment(postId,
                 sampleComment);
 
         assertEquals(200, response.getStatusCodeValue(),
@@ -133,6 +274,36 @@ class CommentControllerTest {
                 "Response body should contain created comment.");
     }
 
+    /**
+     * Tests adding a comment in write-behind mode.
+     *
+     * <p>
+     * Expected Behavior:
+     * </p>
+     * <ul>
+     * <li>Should return HTTP 202 (Accepted) with the queue's receipt.</li>
+     * <li>Should return HTTP 503 (Service Unavailable) when the queue is full.</li>
+     * <li>Should not call the synchronous service.</li>
+     * </ul>
+     */
+    @Test
+    @DisplayName("Should queue a comment and return 202 ACCEPTED in write-behind mode")
+    void testAddCommentWriteBehind() {
+        CommentWriteBehindQueue queue = mock(CommentWriteBehindQueue.class);
+        ReflectionTestUtils.setField(commentController, "writeBehindQueue", queue);
+        when(queue.submit(1L, sampleComment)).thenReturn(new CommentReceipt("node-a", 42L, 1L))
+                .thenThrow(new RejectedExecutionException("full"));
+
+        ResponseEntity<?> accepted = commentController.addComment(1L, sampleComment);
+        ResponseEntity<?> rejected = commentController.addComment(1L, sampleComment);
+
+        assertEquals(202, accepted.getStatusCode().value());
+        assertEquals(new CommentReceipt("node-a", 42L, 1L), accepted.getBody());
+        assertEquals(503, rejected.getStatusCode().value());
+        assertEquals("1", rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        verify(commentService, never()).addComment(anyLong(), any());
+    }
+
     /**
      * Tests adding a comment when the service returns null.
      *
@@ -149,10 +320,104 @@ class CommentControllerTest {
         Long postId = 1L;
         when(commentService.addComment(postId, sampleComment)).thenReturn(null);
 
-        ResponseEntity<Comment> response = commentController.addComment(postId,
+        ResponseEntity<?> response = commentController.addComment(postId,
                 sampleComment);
 
         assertEquals(404, response.getStatusCodeValue(),
                 "HTTP status should be 404 NOT FOUND.");
     }
+
+    /**
+     * Tests adding an invalid comment.
+     *
+     * <p>
+     * Expected Behavior:
+     * </p>
+     * <ul>
+     * <li>The service's validation failure is answered with HTTP 400 (Bad Request).</li>
+     * </ul>
+     */
+    @Test
+    @DisplayName("Should return 400 BAD_REQUEST when the comment is invalid")
+    void testAddCommentInvalid() {
+        Long postId = 1L;
+        when(commentService.addComment(postId, sampleComment))
+                .thenThrow(new ConstraintViolationException(Set.of()));
+
+        ResponseEntity<?> response = commentController.addComment(postId,
+                sampleComment);
+
+        assertEquals(400, response.getStatusCodeValue(),
+                "HTTP status should be 400 BAD REQUEST.");
+    }
+
+    /**
+     * Tests the batch endpoint end to end through MockMvc.
+     *
+     * <p>
+     * Expected Behavior:
+     * </p>
+     * <ul>
+     * <li>{@code POST /posts/{postId}/comments:batch} is routed to the batch handler.</li>
+     * <li>Per-item results are returned as JSON.</li>
+     * </ul>
+     */
+    @Test
+    @DisplayName("Should route comments:batch and return per-item results")
+    void testAddCommentsBatch() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(commentController).build();
+        when(commentService.addComments(eq(1L), anyList())).thenReturn(List.of(
+                CommentBatchResult.created(0, 10L),
+                CommentBatchResult.rejected(1, "Comment cannot be blank")));
+
+        mockMvc.perform(post("/posts/{postId}/comments:batch", 1L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"content\":\"Nice post\"},{\"content\":\" \"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("CREATED"))
+                .andExpect(jsonPath("$[0].id").value(10))
+                .andExpect(jsonPath("$[1].status").value("REJECTED"));
+    }
+
+    /**
+     * Tests the batch endpoint for a post that does not exist.
+     *
+     * <p>
+     * Expected Behavior:
+     * </p>
+     * <ul>
+     * <li>Should return HTTP 404 (Not Found).</li>
+     * </ul>
+     */
+    @Test
+    @DisplayName("Should return 404 NOT_FOUND for a batch on a missing post")
+    void testAddCommentsBatchPostNotFound() {
+        when(commentService.addComments(eq(1L), anyList())).thenReturn(null);
+
+        ResponseEntity<List<CommentBatchResult>> response = commentController.addComments(1L,
+                List.of(sampleComment));
+
+        assertEquals(404, response.getStatusCode().value(), "HTTP status should be 404 NOT FOUND.");
+    }
+
+    /**
+     * Tests that oversized batches are rejected before reaching the service.
+     *
+     * <p>
+     * Expected Behavior:
+     * </p>
+     * <ul>
+     * <li>Should return HTTP 400 (Bad Request).</li>
+     * </ul>
+     */
+    @Test
+    @DisplayName("Should return 400 BAD_REQUEST for an oversized batch")
+    void testAddCommentsBatchTooLarge() {
+        List<Comment> comments = Collections.nCopies(CommentController.MAX_BATCH_SIZE + 1, sampleComment);
+
+        ResponseEntity<List<CommentBatchResult>> response = commentController.addComments(1L, comments);
+
+        assertEquals(400, response.getStatusCode().value(), "HTTP status should be 400 BAD REQUEST.");
+        verify(commentService, never()).addComments(anyLong(), anyList());
+    }
 }
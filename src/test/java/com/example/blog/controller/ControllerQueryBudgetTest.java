@@ -0,0 +1,136 @@
+package com.example.blog.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import com.example.blog.config.CacheConfig;
+import com.example.blog.entity.Comment;
+import com.example.blog.entity.Post;
+import com.example.blog.metrics.QueryBudget;
+import com.example.blog.metrics.QueryBudgetExceededException;
+import com.example.blog.service.CommentService;
+import com.example.blog.service.PostService;
+
+import jakarta.servlet.ServletException;
+
+/**
+ * Pins the number of SQL statements and loaded entities per
+ * {@link PostController} and {@link CommentController} endpoint, so that an
+ * N+1 regression (e.g. a new eager relation) fails here rather than in
+ * production.
+ * <p>
+ * The test profile also enforces the request budget in reject mode.
+ * </p>
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:budget;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.r2dbc.url=r2dbc:h2:mem:///budget;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=" })
+@ActiveProfiles("test")
+@AutoConfigureMockMvc(addFilters = false)
+class ControllerQueryBudgetTest {
+
+    private static final int POSTS = 3;
+
+    private static final int COMMENTS_PER_POST = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Long postId;
+
+    /**
+     * Seeds posts with comments and empties the post caches.
+     */
+    @BeforeEach
+    void setUp() {
+        for (int p = 0; p < POSTS; p++) {
+            Post post = postService.createPost(new Post("Budget " + p, "Content " + p));
+            for (int c = 0; c < COMMENTS_PER_POST; c++) {
+                Comment comment = new Comment();
+                comment.setContent("Comment " + c);
+                commentService.addComment(post.getId(), comment);
+            }
+            postId = post.getId();
+        }
+        cacheManager.getCache(CacheConfig.POST_JSON).clear();
+    }
+
+    /**
+     * Performs a request and asserts its statement and entity counts.
+     */
+    private void assertQueries(int statements, long rows, RequestBuilder request) throws Exception {
+        try (QueryBudget.Scope scope = QueryBudget.track()) {
+            mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+            assertEquals(statements, scope.statements(), scope::describe);
+            assertEquals(rows, scope.rows(), scope::describe);
+        }
+    }
+
+    /**
+     * Tests the post read endpoints.
+     */
+    @Test
+    void testPostEndpoints() throws Exception {
+        // The post and its comments in one join; the second read is served from the cache
+        assertQueries(1, 1 + COMMENTS_PER_POST, get("/posts/{id}", postId));
+        assertQueries(0, 0, get("/posts/{id}", postId));
+        // One page query (limit + 1 rows) and one batch fetch of their comments
+        assertQueries(2, 3 * (1 + COMMENTS_PER_POST), get("/posts").param("limit", "2"));
+        // A DTO projection loads no entities
+        assertQueries(1, 0, get("/posts/summaries").param("limit", "2"));
+        // Served from the in-memory feed
+        assertQueries(0, 0, get("/posts/feed").param("limit", "2"));
+    }
+
+    /**
+     * Tests the comment endpoints.
+     */
+    @Test
+    void testCommentEndpoints() throws Exception {
+        // The post version by primary key, then one keyset page of limit + 1 rows
+        assertQueries(2, 2, get("/posts/{id}/comments", postId).param("limit", "1"));
+        // The comment-count UPDATE and the INSERT; the post is never loaded
+        assertQueries(2, 0, post("/posts/{id}/comments", postId)
+                .contentType(MediaType.APPLICATION_JSON).content("{\"content\":\"Counted\"}"));
+    }
+
+    /**
+     * Tests that an enforced budget fails the request at the first statement
+     * over the limit.
+     */
+    @Test
+    void testRejectOverBudget() {
+        try (QueryBudget.Scope scope = QueryBudget.open("tight", 1, Long.MAX_VALUE, true)) {
+            ServletException e = assertThrows(ServletException.class,
+                    () -> mockMvc.perform(get("/posts/{id}/comments", postId)));
+            assertInstanceOf(QueryBudgetExceededException.class, e.getCause());
+        }
+    }
+}
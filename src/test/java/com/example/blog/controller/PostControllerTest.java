@@ -1,35 +1,67 @@
 package com.example.blog.controller;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import com.example.blog.dto.PostJson;
+import com.example.blog.dto.PostPatch;
+import com.example.blog.dto.PostSearchResult;
+import com.example.blog.dto.PostSummary;
+import com.example.blog.dto.PostVersion;
+import com.example.blog.dto.PostView;
+import com.example.blog.dto.RenderedPost;
 import com.example.blog.entity.Post;
+import com.example.blog.feed.PostFeedService;
+import com.example.blog.pagination.Cursor;
+import com.example.blog.pagination.CursorPage;
+import com.example.blog.pagination.PageHeaders;
+import com.example.blog.render.PostRenderService;
+import com.example.blog.search.PostSearchService;
+import com.example.blog.service.PostImportService;
 import com.example.blog.service.PostService;
+import com.example.blog.web.ETags;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import jakarta.validation.ConstraintViolationException;
+
 /**
  * Unit tests for {@link PostController}.
  * <p>
@@ -37,10 +69,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  * It covers various scenarios for:
  * </p>
  * <ul>
- *     <li>Retrieving all posts</li>
+ *     <li>Retrieving pages of posts</li>
  *     <li>Retrieving a post by ID</li>
+ *     <li>Retrieving a post's rendered HTML</li>
+ *     <li>Searching posts</li>
+ *     <li>Reading the latest-posts feed</li>
  *     <li>Creating a post</li>
  *     <li>Updating a post</li>
+ *     <li>Patching a post</li>
  *     <li>Deleting a post</li>
  * </ul>
  *
@@ -61,6 +97,18 @@ class PostControllerTest {
     @Mock
     private PostService postService;
 
+    @Mock
+    private PostSearchService postSearchService;
+
+    @Mock
+    private PostFeedService postFeedService;
+
+    @Mock
+    private PostImportService postImportService;
+
+    @Mock
+    private PostRenderService postRenderService;
+
     @InjectMocks
     private PostController postController;
 
@@ -76,7 +124,7 @@ class PostControllerTest {
     }
 
     /**
-     * Tests retrieving all posts.
+     * Tests retrieving the first page of posts.
      *
      * <p>
      * Expected Behavior:
@@ -84,22 +132,212 @@ class PostControllerTest {
      * <ul>
      *     <li>Should return HTTP 200 OK.</li>
      *     <li>Should return a list of posts in JSON format.</li>
+     *     <li>Should not advertise a next page when the service reports none.</li>
      * </ul>
      */
     @Test
-    @DisplayName("Should return all posts")
+    @DisplayName("Should return the first page of posts")
     void testGetAllPosts() throws Exception {
         List<Post> posts = Arrays.asList(
                 new Post(1L, "Title1", "Content1", null),
                 new Post(2L, "Title2", "Content2", null)
         );
-        when(postService.getAllPosts()).thenReturn(posts);
+        when(postService.getPostsPage(null, PageHeaders.DEFAULT_LIMIT)).thenReturn(new CursorPage<>(posts, null));
 
         mockMvc.perform(get("/posts"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(posts.size()));
+                .andExpect(jsonPath("$.length()").value(posts.size()))
+                .andExpect(header().doesNotExist(PageHeaders.NEXT_CURSOR));
+
+        verify(postService, times(1)).getPostsPage(null, PageHeaders.DEFAULT_LIMIT);
+    }
+
+    /**
+     * Tests that a cursor is decoded and a next link is emitted.
+     *
+     * <p>
+     * Expected Behavior:
+     * </p>
+     * <ul>
+     *     <li>The {@code after} token is decoded into the seek key.</li>
+     *     <li>The response carries {@code Link} and {@code X-Next-Cursor} headers.</li>
+     * </ul>
+     */
+    @Test
+    @DisplayName("Should page posts with a continuation token")
+    void testGetAllPostsWithCursor() throws Exception {
+        List<Post> posts = Arrays.asList(new Post(3L, "Title3", "Content3", null));
+        String next = Cursor.encode(3L);
+        when(postService.getPostsPage(2L, 1)).thenReturn(new CursorPage<>(posts, next));
+
+        mockMvc.perform(get("/posts").param("after", Cursor.encode(2L)).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().string(PageHeaders.NEXT_CURSOR, next))
+                .andExpect(header().string("Link", containsString("after=" + next)));
+    }
+
+    /**
+     * Tests that a malformed cursor is rejected.
+     *
+     * <p>
+     * Expected Behavior:
+     * </p>
+     * <ul>
+     *     <li>Should return HTTP 400 Bad Request without calling the service.</li>
+     * </ul>
+     */
+    @Test
+    @DisplayName("Should reject a malformed cursor")
+    void testGetAllPostsInvalidCursor() throws Exception {
+        mockMvc.perform(get("/posts").param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+
+        verify(postService, never()).getPostsPage(any(), anyInt());
+    }
+
+    /**
+     * Tests retrieving post summaries.
+     *
+     * <p>
+     * Expected Behavior:
+     * </p>
+     * <ul>
+     *     <li>Should return HTTP 200 OK.</li>
+     *     <li>Should return excerpts and comment counts rather than full content.</li>
+     * </ul>
+     */
+    @Test
+    @DisplayName("Should return post summaries")
+    void testGetPostSummaries() throws Exception {
+        List<PostSummary> summaries = Arrays.asList(new PostSummary(1L, "Title1", "Cont", 4));
+        when(postService.getPostSummariesPage(null, PageHeaders.DEFAULT_LIMIT))
+                .thenReturn(new CursorPage<>(summaries, null));
+
+        mockMvc.perform(get("/posts/summaries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].excerpt").value("Cont"))
+                .andExpect(jsonPath("$[0].commentCount").value(4))
+                .andExpect(jsonPath("$[0].content").doesNotExist());
+    }
+
+    /**
+     * Tests reading the latest-posts feed.
+     *
+     * <p>
+     * Expected Behavior:
+     * </p>
+     * <ul>
+     *     <li>Should return HTTP 200 OK with the feed's summaries.</li>
+     *     <li>Should clamp the limit to the feed size.</li>
+     *     <li>Should not call the post service.</li>
+     * </ul>
+     */
+    @Test
+    @DisplayName("Should return the latest posts from the feed")
+    void testGetLatestPosts() throws Exception {
+        when(postFeedService.size()).thenReturn(3);
+        when(postFeedService.latest(3)).thenReturn(List.of(new PostSummary(9L, "Newest", "Cont", 2)));
+
+        mockMvc.perform(get("/posts/feed").param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(9))
+                .andExpect(jsonPath("$[0].commentCount").value(2));
+
+        verify(postFeedService).latest(3);
+        verifyNoInteractions(postService);
+    }
+
+    /**
+     * Tests full-text search.
+     *
+     * <p>
+     * Expected Behavior:
+     * </p>
+     * <ul>
+     * <li>Ranked results from the search service are returned as JSON.</li>
+     * <li>A blank query returns HTTP 400 (Bad Request).</li>
+     * </ul>
+     */
+    @Test
+    @DisplayName("Should search posts and reject blank queries")
+    void testSearchPosts() throws Exception {
+        when(postSearchService.search("spring boot", 5))
+                .thenReturn(List.of(new PostSearchResult(1L, "Title1", "Cont", 1.5)));
+
+        mockMvc.perform(get("/posts/search").param("q", "spring boot").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].score").value(1.5));
 
-        verify(postService, times(1)).getAllPosts();
+        mockMvc.perform(get("/posts/search").param("q", "  "))
+                .andExpect(status().isBadRequest());
+        verify(postSearchService, times(1)).search(any(), anyInt());
+    }
+
+    /**
+     * Tests the streaming NDJSON export.
+     *
+     * <p>
+     * Expected Behavior:
+     * </p>
+     * <ul>
+     *     <li>Should start an async request and stream the service's output.</li>
+     *     <li>Should use the {@code application/x-ndjson} content type.</li>
+     * </ul>
+     */
+    @Test
+    @DisplayName("Should stream posts as NDJSON")
+    void testExportPosts() throws Exception {
+        when(postService.exportPosts(any())).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/posts/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n"));
+    }
+
+    /**
+     * Tests the bulk import endpoint.
+     *
+     * <p>
+     * Expected Behavior:
+     * </p>
+     * <ul>
+     *     <li>Should hand the raw request body to the import service.</li>
+     *     <li>Should stream the service's NDJSON progress report.</li>
+     * </ul>
+     */
+    @Test
+    @DisplayName("Should stream bulk import progress as NDJSON")
+    void testImportPosts() throws Exception {
+        String body = "{\"title\":\"Imported\",\"content\":\"Body\"}\n";
+        when(postImportService.importPosts(any(), any())).thenAnswer(invocation -> {
+            InputStream in = invocation.getArgument(0);
+            assertEquals(body, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            OutputStream out = invocation.getArgument(1);
+            out.write("{\"type\":\"done\",\"processed\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        });
+
+        MvcResult result = mockMvc.perform(post("/posts/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"type\":\"done\",\"processed\":1}\n"));
     }
 
     /**
@@ -118,13 +356,146 @@ class PostControllerTest {
     void testGetPostById() throws Exception {
         Long postId = 1L;
         Post post = new Post(postId, "Test Title", "Test Content", null);
-        when(postService.getPostById(postId)).thenReturn(post);
+        when(postService.getPostJson(postId)).thenReturn(PostJson.of(PostView.from(post)));
 
         mockMvc.perform(get("/posts/{id}", postId))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.title").value(post.getTitle()));
 
-        verify(postService, times(1)).getPostById(postId);
+        verify(postService, times(1)).getPostJson(postId);
+        verify(postService, never()).getPostVersion(any());
+
+        mockMvc.perform(get("/posts/{id}", 2L))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Tests that a post response carries validators.
+     *
+     * <p>
+     * Expected Behavior:
+     * </p>
+     * <ul>
+     *     <li>Should return an {@code ETag} derived from the post version.</li>
+     * </ul>
+     */
+    @Test
+    @DisplayName("Should return an ETag with a post")
+    void testGetPostByIdSetsETag() throws Exception {
+        Long postId = 1L;
+        Post post = new Post(postId, "Test Title", "Test Content", null);
+        post.setVersion(3L);
+        when(postService.getPostJson(postId)).thenReturn(PostJson.of(PostView.from(post)));
+
+        mockMvc.perform(get("/posts/{id}", postId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", ETags.forPost(postId, 3L)));
+    }
+
+    /**
+     * Tests a conditional GET whose ETag still matches.
+     *
+     * <p>
+     * Expected Behavior:
+     * </p>
+     * <ul>
+     *     <li>Should return HTTP 304 Not Modified.</li>
+     *     <li>Should compare against the cached JSON's version, without a
+     *     separate version lookup.</li>
+     * </ul>
+     */
+    @Test
+    @DisplayName("Should return 304 when the post is unchanged")
+    void testGetPostByIdNotModified() throws Exception {
+        Long postId = 1L;
+        Post post = new Post(postId, "Test Title", "Test Content", null);
+        post.setVersion(3L);
+        when(postService.getPostJson(postId)).thenReturn(PostJson.of(PostView.from(post)));
+
+        mockMvc.perform(get("/posts/{id}", postId).header("If-None-Match", ETags.forPost(postId, 3L)))
+                .andExpect(status().isNotModified());
+
+        verify(postService, never()).getPostVersion(any());
+    }
+
+    /**
+     * Tests a conditional GET for a post that has changed.
+     *
+     * <p>
+     * Expected Behavior:
+     * </p>
+     * <ul>
+     *     <li>Should return HTTP 200 OK with the current post.</li>
+     * </ul>
+     */
+    @Test
+    @DisplayName("Should return the post when the ETag is stale")
+    void testGetPostByIdModified() throws Exception {
+        Long postId = 1L;
+        Post post = new Post(postId, "Test Title", "Test Content", null);
+        post.setVersion(4L);
+        when(postService.getPostJson(postId)).thenReturn(PostJson.of(PostView.from(post)));
+
+        mockMvc.perform(get("/posts/{id}", postId).header("If-None-Match", ETags.forPost(postId, 3L)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", ETags.forPost(postId, 4L)));
+    }
+
+    /**
+     * Tests retrieving a post's rendered HTML.
+     *
+     * <p>
+     * Expected Behavior:
+     * </p>
+     * <ul>
+     *     <li>Should return HTTP 200 OK with the stored HTML as text/html.</li>
+     *     <li>Should tag it with the version it was rendered from.</li>
+     *     <li>Should return 304 Not Modified for a matching ETag.</li>
+     * </ul>
+     */
+    @Test
+    @DisplayName("Should serve stored rendered HTML")
+    void testGetRenderedPost() throws Exception {
+        Long postId = 1L;
+        byte[] html = "<h1>Title</h1>\n".getBytes(StandardCharsets.UTF_8);
+        when(postRenderService.getRendered(postId)).thenReturn(new RenderedPost(postId, 2L, html));
+
+        mockMvc.perform(get("/posts/{id}/rendered", postId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_HTML))
+                .andExpect(header().string("ETag", ETags.forRendered(postId, 2L)))
+                .andExpect(content().bytes(html));
+
+        mockMvc.perform(get("/posts/{id}/rendered", postId).header("If-None-Match", ETags.forRendered(postId, 2L)))
+                .andExpect(status().isNotModified());
+
+        verify(postRenderService, never()).requestRender(postId);
+    }
+
+    /**
+     * Tests retrieving the rendered HTML of a post that has not been rendered.
+     *
+     * <p>
+     * Expected Behavior:
+     * </p>
+     * <ul>
+     *     <li>Should queue a render and return 503 with Retry-After.</li>
+     *     <li>Should return 404 Not Found if the post does not exist.</li>
+     * </ul>
+     */
+    @Test
+    @DisplayName("Should queue a render when no HTML is stored")
+    void testGetRenderedPostNotRendered() throws Exception {
+        when(postService.getPostVersion(1L)).thenReturn(new PostVersion(1L, 0L, null));
+
+        mockMvc.perform(get("/posts/{id}/rendered", 1L))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+        verify(postRenderService).requestRender(1L);
+
+        mockMvc.perform(get("/posts/{id}/rendered", 99L))
+                .andExpect(status().isNotFound());
+        verify(postRenderService, never()).requestRender(99L);
     }
 
     /**
@@ -160,8 +531,9 @@ class PostControllerTest {
      * Expected Behavior:
      * </p>
      * <ul>
-     *     <li>Should return HTTP 200 OK if the update is successful.</li>
+     *     <li>Should return HTTP 200 OK with the post's JSON and new ETag if the update is successful.</li>
      *     <li>Should return HTTP 404 Not Found if the post does not exist.</li>
+     *     <li>Should return HTTP 400 Bad Request if the new values are invalid.</li>
      * </ul>
      */
     @Test
@@ -169,15 +541,80 @@ class PostControllerTest {
     void testUpdatePost() throws Exception {
         Long postId = 1L;
         Post postDetails = new Post(postId, "Updated Title", "Updated Content", null);
-        when(postService.updatePost(eq(postId), any(Post.class))).thenReturn(postDetails);
+        postDetails.setVersion(4L);
+        when(postService.updatePost(eq(postId), any(Post.class)))
+                .thenReturn(new PostVersion(postId, 4L, Instant.parse("2025-01-01T00:00:00Z")));
+        when(postService.getPostJson(postId)).thenReturn(PostJson.of(PostView.from(postDetails)));
 
         mockMvc.perform(put("/posts/{id}", postId)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(postDetails)))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", ETags.forPost(postId, 4L)))
                 .andExpect(jsonPath("$.title").value(postDetails.getTitle()));
 
         verify(postService, times(1)).updatePost(eq(postId), any(Post.class));
+
+        when(postService.updatePost(eq(2L), any(Post.class))).thenReturn(null);
+        mockMvc.perform(put("/posts/{id}", 2L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(postDetails)))
+                .andExpect(status().isNotFound());
+
+        when(postService.updatePost(eq(3L), any(Post.class))).thenThrow(new ConstraintViolationException(Set.of()));
+        mockMvc.perform(put("/posts/{id}", 3L)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(postDetails)))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Tests partially updating a post with a JSON Merge Patch.
+     *
+     * <p>
+     * Expected Behavior:
+     * </p>
+     * <ul>
+     *     <li>Should return HTTP 204 No Content with the new ETag, passing only the patched fields.</li>
+     *     <li>Should return HTTP 404 Not Found if the post does not exist.</li>
+     *     <li>Should return HTTP 400 Bad Request for removals, unknown fields or invalid values.</li>
+     * </ul>
+     */
+    @Test
+    @DisplayName("Should patch a post")
+    void testPatchPost() throws Exception {
+        Long postId = 1L;
+        when(postService.patchPost(postId, new PostPatch("Fixed Title", null)))
+                .thenReturn(new PostVersion(postId, 5L, Instant.parse("2025-01-01T00:00:00Z")));
+
+        mockMvc.perform(patch("/posts/{id}", postId)
+                .contentType(PostController.MERGE_PATCH_JSON_VALUE)
+                .content("{\"title\":\"Fixed Title\"}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("ETag", ETags.forPost(postId, 5L)))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(content().string(""));
+
+        when(postService.patchPost(2L, new PostPatch("Fixed Title", null))).thenReturn(null);
+        mockMvc.perform(patch("/posts/{id}", 2L)
+                .contentType(PostController.MERGE_PATCH_JSON_VALUE)
+                .content("{\"title\":\"Fixed Title\"}"))
+                .andExpect(status().isNotFound());
+
+        when(postService.patchPost(3L, new PostPatch("Tiny", null)))
+                .thenThrow(new ConstraintViolationException(Set.of()));
+        mockMvc.perform(patch("/posts/{id}", 3L)
+                .contentType(PostController.MERGE_PATCH_JSON_VALUE)
+                .content("{\"title\":\"Tiny\"}"))
+                .andExpect(status().isBadRequest());
+
+        for (String invalid : List.of("{\"title\":null}", "{\"version\":\"7\"}", "{\"content\":42}", "[]")) {
+            mockMvc.perform(patch("/posts/{id}", postId)
+                    .contentType(PostController.MERGE_PATCH_JSON_VALUE)
+                    .content(invalid))
+                    .andExpect(status().isBadRequest());
+        }
+        verify(postService, times(3)).patchPost(any(), any(PostPatch.class));
     }
 
     /**
@@ -194,7 +631,7 @@ class PostControllerTest {
     @DisplayName("Should delete a post")
     void testDeletePost() throws Exception {
         Long postId = 1L;
-        doNothing().when(postService).deletePost(postId);
+        when(postService.deletePost(postId)).thenReturn(true);
 
         mockMvc.perform(delete("/posts/{id}", postId))
                 .andExpect(status().isNoContent());
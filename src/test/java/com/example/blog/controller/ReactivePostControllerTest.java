@@ -0,0 +1,115 @@
+package com.example.blog.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.example.blog.entity.Comment;
+import com.example.blog.entity.Post;
+import com.example.blog.pagination.Cursor;
+import com.example.blog.pagination.CursorPage;
+import com.example.blog.pagination.PageHeaders;
+import com.example.blog.service.ReactivePostService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Unit tests for {@link ReactivePostController}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReactivePostControllerTest {
+
+    @Mock
+    private ReactivePostService reactivePostService;
+
+    @InjectMocks
+    private ReactivePostController reactivePostController;
+
+    /**
+     * Tests that posts are keyset-paged like {@code GET /posts}, with the next
+     * link resolved even though the page completes on another thread.
+     */
+    @Test
+    @DisplayName("Should page posts with a cursor")
+    void testGetAllPosts() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(reactivePostController).build();
+        Post post = new Post(3L, "Sample Title", "Sample Content", null);
+        String next = Cursor.encode(3L);
+        when(reactivePostService.getPostsPage(2L, 1)).thenReturn(
+                Mono.fromSupplier(() -> new CursorPage<>(List.of(post), next)).subscribeOn(Schedulers.parallel()));
+
+        MvcResult result = mockMvc.perform(get("/reactive/posts").param("after", Cursor.encode(2L)).param("limit", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(3))
+                .andExpect(header().string(PageHeaders.NEXT_CURSOR, next))
+                .andExpect(header().string(HttpHeaders.LINK, containsString("after=" + next)));
+    }
+
+    /**
+     * Tests that a malformed cursor is rejected without a query.
+     */
+    @Test
+    @DisplayName("Should return 400 for a malformed cursor")
+    void testGetAllPostsInvalidCursor() {
+        ResponseEntity<List<Post>> response = reactivePostController.getAllPosts("not a cursor", 10).block();
+
+        assertEquals(400, response.getStatusCode().value());
+        verifyNoInteractions(reactivePostService);
+    }
+
+    /**
+     * Tests that a found post yields 200 and a missing one 404.
+     */
+    @Test
+    @DisplayName("Should return 200 for a found post and 404 otherwise")
+    void testGetPostById() {
+        Post post = new Post("Sample Title", "Sample Content");
+        when(reactivePostService.getPostById(1L)).thenReturn(Mono.just(post));
+        when(reactivePostService.getPostById(2L)).thenReturn(Mono.empty());
+
+        ResponseEntity<Post> found = reactivePostController.getPostById(1L).block();
+        ResponseEntity<Post> missing = reactivePostController.getPostById(2L).block();
+
+        assertEquals(200, found.getStatusCode().value());
+        assertSame(post, found.getBody());
+        assertEquals(404, missing.getStatusCode().value());
+    }
+
+    /**
+     * Tests that the comment stream is passed through.
+     */
+    @Test
+    @DisplayName("Should stream comments of a post")
+    void testGetCommentsByPostId() {
+        Comment comment = new Comment(1L, "Nice post!", new Post("Sample Title", "Sample Content"));
+        when(reactivePostService.getCommentsByPostId(1L)).thenReturn(Flux.just(comment));
+
+        assertEquals(List.of(comment), reactivePostController.getCommentsByPostId(1L).collectList().block());
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.blog.entity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link CompressedTextConverter}.
+ */
+class CompressedTextConverterTest {
+
+    private final CompressedTextConverter converter = new CompressedTextConverter();
+
+    /**
+     * Tests that long text is compressed and round-trips.
+     */
+    @Test
+    void testLongTextIsCompressed() {
+        String text = "Caching, pagination and compression for long posts. ".repeat(100);
+
+        byte[] stored = converter.convertToDatabaseColumn(text);
+
+        assertTrue(CompressedTextConverter.isCompressed(stored));
+        assertTrue(stored.length < text.length() / 4);
+        assertEquals(text, converter.convertToEntityAttribute(stored));
+    }
+
+    /**
+     * Tests that short text is stored as plain UTF-8, including non-ASCII
+     * characters.
+     */
+    @Test
+    void testShortTextIsStoredPlain() {
+        String text = "Grüße – short post 👋";
+
+        byte[] stored = converter.convertToDatabaseColumn(text);
+
+        assertArrayEquals(text.getBytes(StandardCharsets.UTF_8), stored);
+        assertEquals(text, converter.convertToEntityAttribute(stored));
+    }
+
+    /**
+     * Tests that rows written before compression (plain UTF-8 of any length)
+     * are read unchanged.
+     */
+    @Test
+    void testLegacyPlainTextIsRead() {
+        String text = "Legacy body ".repeat(500);
+
+        assertEquals(text, CompressedTextConverter.decode(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Tests null handling in both directions.
+     */
+    @Test
+    void testNull() {
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.blog.feed;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.blog.dto.PostSummary;
+
+/**
+ * Unit tests for {@link LatestPostsFeed}.
+ */
+class LatestPostsFeedTest {
+
+    private static PostSummary summary(long id) {
+        return new PostSummary(id, "Title " + id, "Excerpt " + id, id % 3);
+    }
+
+    private static List<Long> ids(List<PostSummary> summaries) {
+        return summaries.stream().map(PostSummary::id).toList();
+    }
+
+    /**
+     * Tests that new posts are returned newest first and the oldest fall
+     * out of the window once it wraps around.
+     */
+    @Test
+    void testPutWrapsAround() {
+        LatestPostsFeed feed = new LatestPostsFeed(3);
+        assertTrue(feed.latest(10).isEmpty());
+
+        for (long id = 1; id <= 5; id++) {
+            assertTrue(feed.put(id, "Title " + id, "Excerpt " + id));
+        }
+
+        assertEquals(List.of(5L, 4L, 3L), ids(feed.latest(10)));
+        assertEquals(List.of(5L, 4L), ids(feed.latest(2)));
+    }
+
+    /**
+     * Tests that updates replace in place and keep the comment count, and
+     * that posts older than the window are ignored.
+     */
+    @Test
+    void testPutUpdatesInPlace() {
+        LatestPostsFeed feed = new LatestPostsFeed(3);
+        feed.reseedIfUnchanged(List.of(summary(5), summary(4), summary(2)), feed.modifications());
+
+        assertTrue(feed.put(4, "Renamed", "New excerpt"));
+        assertFalse(feed.put(1, "Old post", "Outside the window"));
+
+        List<PostSummary> latest = feed.latest(3);
+        assertEquals(List.of(5L, 4L, 2L), ids(latest));
+        assertEquals(new PostSummary(4L, "Renamed", "New excerpt", 1), latest.get(1));
+    }
+
+    /**
+     * Tests that a partial update keeps the fields it does not carry and is
+     * never appended.
+     */
+    @Test
+    void testPutPartialUpdate() {
+        LatestPostsFeed feed = new LatestPostsFeed(3);
+        feed.reseedIfUnchanged(List.of(summary(5), summary(4)), feed.modifications());
+
+        assertTrue(feed.put(4, "Renamed", null));
+        assertFalse(feed.put(6, "Newer post", null));
+
+        assertEquals(List.of(new PostSummary(5L, "Title 5", "Excerpt 5", 2), new PostSummary(4L, "Renamed",
+                "Excerpt 4", 1)), feed.latest(3));
+    }
+
+    /**
+     * Tests that a delete leaves a gap until the next reseed.
+     */
+    @Test
+    void testRemove() {
+        LatestPostsFeed feed = new LatestPostsFeed(3);
+        feed.reseedIfUnchanged(List.of(summary(3), summary(2), summary(1)), feed.modifications());
+
+        assertTrue(feed.remove(2));
+        assertFalse(feed.remove(2));
+        assertFalse(feed.remove(42));
+
+        assertEquals(List.of(3L, 1L), ids(feed.latest(3)));
+        assertFalse(feed.put(2, "Resurrected", "Too old"));
+    }
+
+    /**
+     * Tests that a reseed replaces the whole window, including when fewer
+     * posts than the capacity exist, and is skipped after a concurrent change.
+     */
+    @Test
+    void testReseed() {
+        LatestPostsFeed feed = new LatestPostsFeed(4);
+        for (long id = 1; id <= 4; id++) {
+            feed.put(id, "Title " + id, "Excerpt " + id);
+        }
+
+        long modifications = feed.modifications();
+        assertTrue(feed.reseedIfUnchanged(List.of(summary(9), summary(7)), modifications));
+        assertEquals(List.of(summary(9), summary(7)), feed.latest(4));
+
+        long stale = feed.modifications();
+        feed.put(10, "Title 10", "Excerpt 10");
+        assertFalse(feed.reseedIfUnchanged(List.of(summary(9)), stale));
+        assertEquals(List.of(10L, 9L, 7L), ids(feed.latest(4)));
+    }
+
+    /**
+     * Tests that readers running concurrently with a writer only ever see
+     * complete, strictly newest-first windows.
+     */
+    @Test
+    void testConcurrentReads() throws InterruptedException {
+        LatestPostsFeed feed = new LatestPostsFeed(16);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> failure = new AtomicReference<>();
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            readers.add(Thread.ofPlatform().start(() -> {
+                while (!done.get()) {
+                    List<PostSummary> latest = feed.latest(16);
+                    for (int j = 0; j < latest.size(); j++) {
+                        PostSummary summary = latest.get(j);
+                        if (!summary.title().equals("Title " + summary.id())
+                                || (j > 0 && summary.id() >= latest.get(j - 1).id())) {
+                            failure.compareAndSet(null, latest.toString());
+                        }
+                    }
+                }
+            }));
+        }
+        for (long id = 1; id <= 50_000; id++) {
+            feed.put(id, "Title " + id, "Excerpt " + id);
+        }
+        done.set(true);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertNull(failure.get());
+        assertEquals(16, feed.latest(16).size());
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.blog.feed;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.blog.dto.PostSummary;
+import com.example.blog.entity.Post;
+import com.example.blog.event.PostChangedEvent;
+import com.example.blog.repository.PostRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for {@link PostFeedService}.
+ */
+@ExtendWith(MockitoExtension.class)
+class PostFeedServiceTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private PostFeedService postFeedService;
+
+    @BeforeEach
+    void setUp() {
+        postFeedService.init();
+    }
+
+    private double drift() {
+        return meterRegistry.get(PostFeedService.DRIFT_METRIC).counter().count();
+    }
+
+    /**
+     * Tests that the feed is seeded from the database, then kept current
+     * from events without further queries.
+     */
+    @Test
+    void testSeedAndEvents() {
+        when(postRepository.findLatestSummaries(any()))
+                .thenReturn(List.of(new PostSummary(2L, "Second", "Two", 1), new PostSummary(1L, "First", "One", 0)));
+        postFeedService.seed();
+
+        postFeedService.onPostChanged(PostChangedEvent.saved(new Post(3L, "Third", "x".repeat(300), null)));
+        postFeedService.onPostChanged(PostChangedEvent.saved(new Post(2L, "Second, edited", "Two", null)));
+        postFeedService.onPostChanged(PostChangedEvent.deleted(1L));
+
+        assertEquals(List.of(new PostSummary(3L, "Third", "x".repeat(PostSummary.EXCERPT_LENGTH), 0),
+                new PostSummary(2L, "Second, edited", "Two", 1)), postFeedService.latest(10));
+        verify(postRepository, times(1)).findLatestSummaries(any());
+        assertEquals(0, drift());
+    }
+
+    /**
+     * Tests that reconciliation refreshes comment counts silently and counts
+     * any other difference as drift.
+     */
+    @Test
+    void testReconcile() {
+        PostSummary first = new PostSummary(1L, "First", "One", 0);
+        when(postRepository.findLatestSummaries(any())).thenReturn(List.of(first));
+        postFeedService.seed();
+
+        assertFalse(postFeedService.reconcile());
+
+        when(postRepository.findLatestSummaries(any())).thenReturn(List.of(new PostSummary(1L, "First", "One", 5)));
+        assertTrue(postFeedService.reconcile());
+        assertEquals(5, postFeedService.latest(1).get(0).commentCount());
+        assertEquals(0, drift());
+
+        PostSummary missed = new PostSummary(2L, "Missed", "Two", 0);
+        when(postRepository.findLatestSummaries(any()))
+                .thenReturn(List.of(missed, new PostSummary(1L, "First", "One", 5)));
+        assertTrue(postFeedService.reconcile());
+        assertEquals(missed, postFeedService.latest(1).get(0));
+        assertEquals(1, drift());
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.blog.invalidation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.blog.BlogPlatformApplication;
+import com.example.blog.config.CacheConfig;
+import com.example.blog.dto.PostJson;
+import com.example.blog.entity.Comment;
+import com.example.blog.entity.Post;
+import com.example.blog.feed.PostFeedService;
+import com.example.blog.search.PostSearchService;
+import com.example.blog.service.CommentService;
+import com.example.blog.service.PostService;
+
+/**
+ * Runs two application contexts against one H2 database, joined by a
+ * {@link LoopbackInvalidationBus} channel, and checks that a committed write
+ * on either node evicts the cached post JSON of both and reaches the search
+ * index and feed of the other.
+ */
+class ClusterCacheInvalidationTest {
+
+    private static ConfigurableApplicationContext nodeA;
+
+    private static ConfigurableApplicationContext nodeB;
+
+    private static ConfigurableApplicationContext startNode(String name) {
+        return new SpringApplicationBuilder(BlogPlatformApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:cluster;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.r2dbc.url=r2dbc:h2:mem:///cluster;DB_CLOSE_DELAY=-1",
+                        "--spring.r2dbc.username=sa",
+                        "--spring.r2dbc.password=",
+                        "--blog.invalidation.transport=loopback",
+                        "--blog.invalidation.loopback.channel=cluster-test",
+                        "--blog.invalidation.node-id=" + name);
+    }
+
+    @BeforeAll
+    static void startCluster() {
+        nodeA = startNode("node-a");
+        nodeB = startNode("node-b");
+    }
+
+    @AfterAll
+    static void stopCluster() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    private static boolean cached(ConfigurableApplicationContext node, Long postId) {
+        return node.getBean(CacheManager.class).getCache(CacheConfig.POST_JSON).get(postId) != null;
+    }
+
+    private static String json(PostService posts, Long postId) {
+        PostJson post = posts.getPostJson(postId);
+        return post == null ? null : new String(post.body(), StandardCharsets.UTF_8);
+    }
+
+    private static boolean found(ConfigurableApplicationContext node, String query, Long postId) {
+        return node.getBean(PostSearchService.class).search(query, 10).stream()
+                .anyMatch(result -> result.id().equals(postId));
+    }
+
+    private static boolean inFeed(ConfigurableApplicationContext node, Long postId, String title) {
+        return node.getBean(PostFeedService.class).latest(10).stream()
+                .anyMatch(summary -> summary.id().equals(postId) && summary.title().equals(title));
+    }
+
+    private static void await(BooleanSupplier condition, String description) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, description);
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * An update on one node is seen by both nodes instead of their cached
+     * copies.
+     */
+    @Test
+    void testUpdateConverges() {
+        PostService postsA = nodeA.getBean(PostService.class);
+        PostService postsB = nodeB.getBean(PostService.class);
+        Long id = postsA.createPost(new Post("Original", "Content")).getId();
+
+        assertTrue(json(postsA, id).contains("\"Original\""));
+        assertTrue(json(postsB, id).contains("\"Original\""));
+        assertTrue(cached(nodeA, id));
+        assertTrue(cached(nodeB, id));
+
+        postsA.updatePost(id, new Post("Edited on A", "Content"));
+
+        assertFalse(cached(nodeA, id));
+        assertFalse(cached(nodeB, id));
+        assertTrue(json(postsB, id).contains("\"Edited on A\""));
+        assertTrue(json(postsA, id).contains("\"Edited on A\""));
+    }
+
+    /**
+     * A comment added on one node, and a delete on the other, both converge.
+     */
+    @Test
+    void testCommentAndDeleteConverge() {
+        PostService postsA = nodeA.getBean(PostService.class);
+        PostService postsB = nodeB.getBean(PostService.class);
+        Long id = postsA.createPost(new Post("Discussed", "Content")).getId();
+        assertTrue(json(postsA, id).contains("\"commentCount\":0"));
+
+        Comment comment = new Comment();
+        comment.setContent("From node B");
+        nodeB.getBean(CommentService.class).addComment(id, comment);
+
+        assertTrue(json(postsA, id).contains("From node B"));
+
+        postsB.deletePost(id);
+
+        assertFalse(cached(nodeA, id));
+        assertNull(json(postsA, id));
+    }
+
+    /**
+     * Creating, editing and deleting a post on one node updates the search
+     * index and feed of the other.
+     */
+    @Test
+    void testSearchAndFeedFollowOtherNode() throws InterruptedException {
+        PostService postsA = nodeA.getBean(PostService.class);
+        Long id = postsA.createPost(new Post("Replicated title", "Kestrel migration notes")).getId();
+
+        await(() -> found(nodeB, "kestrel", id), "search on B did not see the new post");
+        await(() -> inFeed(nodeB, id, "Replicated title"), "feed on B did not see the new post");
+
+        postsA.updatePost(id, new Post("Renamed title", "Osprey migration notes"));
+
+        await(() -> found(nodeB, "osprey", id) && !found(nodeB, "kestrel", id),
+                "search on B did not see the edit");
+        await(() -> inFeed(nodeB, id, "Renamed title"), "feed on B did not see the edit");
+
+        postsA.deletePost(id);
+
+        await(() -> !found(nodeB, "osprey", id), "search on B did not see the delete");
+        await(() -> nodeB.getBean(PostFeedService.class).latest(10).stream()
+                .noneMatch(summary -> summary.id().equals(id)), "feed on B did not see the delete");
+    }
+}
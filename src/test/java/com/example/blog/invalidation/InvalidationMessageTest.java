@@ -0,0 +1,38 @@
+package com.example.blog.invalidation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link InvalidationMessage} wire format.
+ */
+class InvalidationMessageTest {
+
+    /**
+     * Tests that a message survives an encode/decode round trip.
+     */
+    @Test
+    void testRoundTrip() {
+        InvalidationMessage message = new InvalidationMessage("node-ä", InvalidationMessage.POST, 42L);
+        byte[] bytes = message.encode();
+        byte[] buffer = new byte[InvalidationMessage.MAX_BYTES];
+        System.arraycopy(bytes, 0, buffer, 0, bytes.length);
+
+        assertEquals(message, InvalidationMessage.decode(buffer, bytes.length));
+    }
+
+    /**
+     * Tests that foreign and truncated datagrams are rejected.
+     */
+    @Test
+    void testRejectsOtherDatagrams() {
+        byte[] foreign = "hello".getBytes(StandardCharsets.UTF_8);
+        byte[] truncated = new InvalidationMessage("node", InvalidationMessage.POST, 1L).encode();
+
+        assertNull(InvalidationMessage.decode(foreign, foreign.length));
+        assertNull(InvalidationMessage.decode(truncated, truncated.length - 1));
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.blog.pagination;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link Cursor}.
+ * Ensures continuation tokens round-trip and malformed tokens are rejected.
+ */
+class CursorTest {
+
+    /**
+     * Tests that an encoded key decodes back to the same value.
+     */
+    @Test
+    void testRoundTrip() {
+        String token = Cursor.encode(42L);
+        assertEquals(42L, Cursor.decode(token));
+    }
+
+    /**
+     * Tests that a missing token means "first page".
+     */
+    @Test
+    void testBlankTokenDecodesToNull() {
+        assertNull(Cursor.decode(null));
+        assertNull(Cursor.decode(""));
+    }
+
+    /**
+     * Tests that tokens not produced by {@link Cursor#encode(long)} are rejected.
+     */
+    @Test
+    void testMalformedTokenIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Cursor.decode("not-a-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> Cursor.decode(Cursor.encode(1L) + "%%"));
+    }
+}
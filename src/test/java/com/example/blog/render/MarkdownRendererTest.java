@@ -0,0 +1,51 @@
+package com.example.blog.render;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link MarkdownRenderer}.
+ */
+class MarkdownRendererTest {
+
+    private final MarkdownRenderer renderer = new MarkdownRenderer();
+
+    /**
+     * Tests that CommonMark syntax is rendered.
+     */
+    @Test
+    void testRendersMarkdown() {
+        assertEquals("<h2>Caching</h2>\n<p>Use <em>small</em> keys and <strong>short</strong> TTLs.</p>\n",
+                renderer.render("## Caching\n\nUse *small* keys and **short** TTLs."));
+        assertEquals("", renderer.render(null));
+    }
+
+    /**
+     * Tests that raw HTML in the source is escaped rather than passed through.
+     */
+    @Test
+    void testEscapesRawHtml() {
+        String html = renderer.render("Hello <script>alert(1)</script>\n\n<div onclick=\"x()\">block</div>");
+
+        assertFalse(html.contains("<script"));
+        assertFalse(html.contains("<div"));
+        assertTrue(html.contains("&lt;script&gt;"));
+    }
+
+    /**
+     * Tests that unsafe link schemes are neutralized and links are marked
+     * nofollow.
+     */
+    @Test
+    void testSanitizesLinks() {
+        String unsafe = renderer.render("[click](javascript:alert(1))");
+        String safe = renderer.render("[docs](https://example.com/docs)");
+
+        assertFalse(unsafe.contains("javascript:"));
+        assertTrue(safe.startsWith("<p><a "), safe);
+        assertTrue(safe.contains(" href=\"https://example.com/docs\""), safe);
+        assertTrue(safe.contains(" rel=\"nofollow noopener\""), safe);
+        assertTrue(safe.endsWith(">docs</a></p>\n"), safe);
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.blog.render;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.blog.config.CacheConfig;
+import com.example.blog.dto.RenderedPost;
+import com.example.blog.entity.Post;
+import com.example.blog.entity.PostRendering;
+import com.example.blog.event.PostChangedEvent;
+import com.example.blog.event.PostRenderedEvent;
+import com.example.blog.repository.PostRenderingRepository;
+import com.example.blog.repository.PostRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Unit tests for {@link PostRenderService}.
+ * <p>
+ * The render pool is replaced by executors that run, queue or reject tasks
+ * on the test thread, so scheduling decisions can be checked directly.
+ * </p>
+ */
+@ExtendWith(MockitoExtension.class)
+class PostRenderServiceTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private PostRenderingRepository renderingRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Cache cache;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private PostRenderService renderService;
+
+    private final Post post = new Post(1L, "Title", "Some *Markdown*", null);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        renderService.start();
+        renderService.stop(); // only the meters and transaction template are used
+        useExecutor(Runnable::run);
+    }
+
+    private void useExecutor(Executor executor) {
+        ReflectionTestUtils.setField(renderService, "executor", executor);
+    }
+
+    private PostRendering savedRendering() {
+        ArgumentCaptor<PostRendering> saved = ArgumentCaptor.forClass(PostRendering.class);
+        verify(renderingRepository).save(saved.capture());
+        return saved.getValue();
+    }
+
+    private void expectNewRendering() {
+        when(renderingRepository.findById(1L)).thenReturn(Optional.empty());
+        when(entityManager.getReference(Post.class, 1L)).thenReturn(post);
+        when(cacheManager.getCache(CacheConfig.POST_HTML)).thenReturn(cache);
+    }
+
+    /**
+     * Tests that a content change is rendered, stored with its version,
+     * announced and evicted from the cache.
+     */
+    @Test
+    void testRendersChangedContent() {
+        expectNewRendering();
+        post.setVersion(2L);
+
+        renderService.onPostChanged(PostChangedEvent.saved(post));
+
+        PostRendering rendering = savedRendering();
+        assertEquals(2L, rendering.getVersion());
+        assertEquals("<p>Some <em>Markdown</em></p>\n", rendering.getHtml());
+        verify(eventPublisher).publishEvent(new PostRenderedEvent(1L, 2L));
+        verify(cache).evict(1L);
+        assertEquals(1, meterRegistry.get(PostRenderService.RENDER_METRIC).timer().count());
+    }
+
+    /**
+     * Tests that a rendering is replaced by a newer version only.
+     */
+    @Test
+    void testKeepsNewerRendering() {
+        PostRendering current = new PostRendering(post, 5L, "<p>five</p>\n", Instant.EPOCH);
+        when(renderingRepository.findById(1L)).thenReturn(Optional.of(current));
+
+        assertFalse(renderService.renderNow(1L, 4L, "four"));
+        assertEquals("<p>five</p>\n", current.getHtml());
+        verifyNoInteractions(eventPublisher, cacheManager);
+
+        when(cacheManager.getCache(CacheConfig.POST_HTML)).thenReturn(cache);
+        assertTrue(renderService.renderNow(1L, 6L, "six"));
+        assertEquals(6L, current.getVersion());
+        assertEquals("<p>six</p>\n", current.getHtml());
+        verify(renderingRepository, never()).save(any());
+    }
+
+    /**
+     * Tests that changes queued behind each other render once, from the
+     * latest content, and that title-only changes are not rendered.
+     */
+    @Test
+    void testCoalescesQueuedChanges() {
+        List<Runnable> queued = new ArrayList<>();
+        useExecutor(queued::add);
+
+        renderService.onPostChanged(PostChangedEvent.patched(1L, "New title", null, 2L));
+        assertTrue(queued.isEmpty());
+
+        renderService.onPostChanged(PostChangedEvent.patched(1L, null, "one", 3L));
+        renderService.onPostChanged(PostChangedEvent.patched(1L, null, "two", 4L));
+        assertEquals(1, queued.size());
+
+        expectNewRendering();
+        queued.get(0).run();
+
+        PostRendering rendering = savedRendering();
+        assertEquals(4L, rendering.getVersion());
+        assertEquals("<p>two</p>\n", rendering.getHtml());
+    }
+
+    /**
+     * Tests that a render dropped by a full queue is counted and can be
+     * requested again by a reader, loading the content from the database.
+     */
+    @Test
+    void testRejectedRenderIsRequestedOnRead() {
+        useExecutor(task -> {
+            throw new RejectedExecutionException("full");
+        });
+        renderService.onPostChanged(PostChangedEvent.patched(1L, null, "lost", 2L));
+        assertEquals(1, meterRegistry.get(PostRenderService.REJECTED_METRIC).counter().count());
+        verifyNoInteractions(renderingRepository);
+
+        useExecutor(Runnable::run);
+        post.setVersion(2L);
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        expectNewRendering();
+        renderService.requestRender(1L);
+
+        assertEquals("<p>Some <em>Markdown</em></p>\n", savedRendering().getHtml());
+    }
+
+    /**
+     * Tests that deleting a post drops its queued render and cached HTML.
+     */
+    @Test
+    void testDeleteDropsQueuedRender() {
+        List<Runnable> queued = new ArrayList<>();
+        useExecutor(queued::add);
+        when(cacheManager.getCache(CacheConfig.POST_HTML)).thenReturn(cache);
+
+        renderService.onPostChanged(PostChangedEvent.patched(1L, null, "text", 2L));
+        renderService.onPostChanged(PostChangedEvent.deleted(1L));
+        queued.get(0).run();
+
+        verify(cache).evict(1L);
+        verifyNoInteractions(renderingRepository, postRepository);
+    }
+
+    /**
+     * Tests that stored HTML is served as UTF-8 bytes, and that a post
+     * without a rendering yields {@code null}.
+     */
+    @Test
+    void testGetRendered() {
+        when(renderingRepository.findById(1L))
+                .thenReturn(Optional.of(new PostRendering(post, 3L, "<p>Grüße</p>\n", Instant.EPOCH)));
+
+        RenderedPost rendered = renderService.getRendered(1L);
+
+        assertEquals(3L, rendered.version());
+        assertArrayEquals("<p>Grüße</p>\n".getBytes(StandardCharsets.UTF_8), rendered.html());
+        assertNull(renderService.getRendered(2L));
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.blog.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.blog.entity.Comment;
+import com.example.blog.entity.Post;
+
+/**
+ * Repository tests for {@link CommentRepository} against an embedded H2 database.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class CommentRepositoryTest {
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Post post;
+
+    /**
+     * Persists a post with a single comment.
+     */
+    @BeforeEach
+    void setUp() {
+        post = entityManager.persist(new Post("Sample Title", "Sample Content"));
+        entityManager.persist(new Comment(null, "First comment", post));
+        entityManager.flush();
+    }
+
+    /**
+     * Tests both seek directions and that slices detect a further page.
+     */
+    @Test
+    void testKeysetSlices() {
+        Comment second = entityManager.persist(new Comment(null, "Second comment", post));
+        Comment third = entityManager.persistAndFlush(new Comment(null, "Third comment", post));
+
+        Slice<Comment> oldest = commentRepository.findByPostIdAndIdGreaterThan(post.getId(), 0L,
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.ASC, "id")));
+        assertEquals(2, oldest.getNumberOfElements());
+        assertTrue(oldest.hasNext());
+        assertEquals(second.getId(), oldest.getContent().get(1).getId());
+
+        Slice<Comment> newest = commentRepository.findByPostIdAndIdLessThan(post.getId(), Long.MAX_VALUE,
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "id")));
+        assertEquals(third.getId(), newest.getContent().get(0).getId());
+
+        Slice<Comment> rest = commentRepository.findByPostIdAndIdLessThan(post.getId(), second.getId(),
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "id")));
+        assertEquals(1, rest.getNumberOfElements());
+        assertFalse(rest.hasNext());
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.blog.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Blob;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.blog.dto.PostSummary;
+import com.example.blog.dto.PostVersion;
+import com.example.blog.entity.Comment;
+import com.example.blog.entity.CompressedTextConverter;
+import com.example.blog.entity.Post;
+
+/**
+ * Repository tests for {@link PostRepository} against an embedded H2 database.
+ * <p>
+ * Verifies the custom seek and projection queries, which cannot be exercised
+ * through the Mockito-based service tests.
+ * </p>
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class PostRepositoryTest {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Post first;
+    private Post second;
+
+    /**
+     * Persists two posts, the first of which has two comments.
+     */
+    @BeforeEach
+    void setUp() {
+        first = entityManager.persist(new Post("First Title", "x".repeat(PostSummary.EXCERPT_LENGTH + 50)));
+        second = entityManager.persist(new Post("Second Title", "Short content"));
+        entityManager.persist(new Comment(null, "Comment one", first));
+        entityManager.persist(new Comment(null, "Comment two", first));
+        entityManager.flush();
+        postRepository.incrementCommentCount(first.getId(), 2, Instant.now());
+        entityManager.clear();
+    }
+
+    /**
+     * Tests that the seek query starts strictly after the given key.
+     */
+    @Test
+    void testFindByIdGreaterThan() {
+        List<Post> page = postRepository.findByIdGreaterThanOrderByIdAsc(first.getId(), Limit.of(10));
+        assertEquals(1, page.size());
+        assertEquals(second.getId(), page.get(0).getId());
+    }
+
+    /**
+     * Tests that the cursor-backed stream yields every post in ID order.
+     */
+    @Test
+    void testStreamAllByOrderByIdAsc() {
+        try (Stream<Post> posts = postRepository.streamAllByOrderByIdAsc()) {
+            assertEquals(List.of(first.getId(), second.getId()), posts.map(Post::getId).toList());
+        }
+    }
+
+    /**
+     * Tests that summaries carry a truncated excerpt and the comment count.
+     */
+    @Test
+    void testFindSummariesAfter() {
+        List<PostSummary> summaries = postRepository.findSummariesAfter(0L, Limit.of(10));
+        assertEquals(2, summaries.size());
+
+        PostSummary summary = summaries.get(0);
+        assertEquals(first.getId(), summary.id());
+        assertEquals("First Title", summary.title());
+        assertEquals(PostSummary.EXCERPT_LENGTH, summary.excerpt().length());
+        assertEquals(2, summary.commentCount());
+        assertEquals(0, summaries.get(1).commentCount());
+    }
+
+    /**
+     * Tests that the limit is applied to the projection query.
+     */
+    @Test
+    void testFindSummariesAfterRespectsLimit() {
+        assertEquals(1, postRepository.findSummariesAfter(0L, Limit.of(1)).size());
+    }
+
+    /**
+     * Tests that the version stamp is read and reflects updates.
+     */
+    @Test
+    void testFindVersionById() {
+        PostVersion before = postRepository.findVersionById(second.getId()).orElseThrow();
+        assertEquals(0L, before.version()); // the second post has no comments, so it was never bumped
+        assertNotNull(before.updatedAt());
+
+        Post managed = entityManager.find(Post.class, second.getId());
+        managed.setTitle("Second Title, edited");
+        entityManager.flush();
+
+        assertEquals(1L, postRepository.findVersionById(second.getId()).orElseThrow().version());
+        assertTrue(postRepository.findVersionById(second.getId() + 100).isEmpty());
+    }
+
+    /**
+     * Tests the atomic increment, including its not-found signal.
+     */
+    @Test
+    void testIncrementCommentCount() {
+        assertEquals(1, postRepository.incrementCommentCount(second.getId(), 3, Instant.now()));
+        assertEquals(0, postRepository.incrementCommentCount(second.getId() + 100, 1, Instant.now()));
+        entityManager.clear();
+
+        Post reloaded = postRepository.findById(second.getId()).orElseThrow();
+        assertEquals(3, reloaded.getCommentCount());
+        assertEquals(1L, reloaded.getVersion());
+    }
+
+    /**
+     * Tests that only drifted counts are found and rewritten, and that a
+     * rewrite bumps the version and modification time.
+     */
+    @Test
+    void testRepairCommentCounts() {
+        Instant drifted = Instant.parse("2025-01-01T00:00:00Z");
+        postRepository.incrementCommentCount(second.getId(), 5, drifted); // drift: no such comments
+        entityManager.clear();
+        long version = postRepository.findById(second.getId()).orElseThrow().getVersion();
+
+        List<Long> ids = postRepository.findIdsWithDriftedCommentCount(1, postRepository.findMaxId());
+        assertEquals(List.of(second.getId()), ids);
+        assertEquals(1, postRepository.repairCommentCounts(ids, Instant.now()));
+        entityManager.clear();
+        Post repaired = postRepository.findById(second.getId()).orElseThrow();
+        assertEquals(0, repaired.getCommentCount());
+        assertEquals(version + 1, repaired.getVersion());
+        assertTrue(repaired.getUpdatedAt().isAfter(drifted));
+        assertEquals(2, postRepository.findById(first.getId()).orElseThrow().getCommentCount());
+        assertTrue(postRepository.findIdsWithDriftedCommentCount(1, postRepository.findMaxId()).isEmpty());
+        assertEquals(0, postRepository.repairCommentCounts(ids, Instant.now()));
+    }
+
+    /**
+     * Tests that long content is stored compressed and read back intact, and
+     * that legacy plain-text rows are found, read and rewritten compressed.
+     */
+    @Test
+    void testContentCompression() throws SQLException {
+        String content = "Long-form post body. ".repeat(200);
+        Post post = entityManager.persistFlushFind(new Post("Long Title", content));
+        assertEquals(content, post.getContent());
+        assertTrue(CompressedTextConverter.isCompressed(storedContent(post.getId())));
+        assertTrue(storedContent(post.getId()).length < content.length() / 4);
+
+        // A row written before compression: plain UTF-8 and no excerpt
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE posts SET content = ?1, excerpt = NULL WHERE id = ?2")
+                .setParameter(1, content.getBytes(StandardCharsets.UTF_8))
+                .setParameter(2, post.getId())
+                .executeUpdate();
+        entityManager.clear();
+        long maxId = postRepository.findMaxId();
+        int min = CompressedTextConverter.MIN_COMPRESS_BYTES;
+        assertEquals(List.of(post.getId()), postRepository.findUncompressedContentIds(1, maxId, min));
+        Post legacy = postRepository.findById(post.getId()).orElseThrow();
+        assertEquals(content, legacy.getContent());
+
+        assertEquals(1, postRepository.rewriteContent(legacy.getId(), legacy.getContent(),
+                Post.excerptOf(legacy.getContent()), legacy.getVersion()));
+        assertTrue(postRepository.findUncompressedContentIds(1, maxId, min).isEmpty());
+        assertTrue(CompressedTextConverter.isCompressed(storedContent(post.getId())));
+    }
+
+    /**
+     * Reads the raw column; a native query returns large binary columns as a
+     * {@link Blob} on some databases and as {@code byte[]} on others.
+     */
+    private byte[] storedContent(Long id) throws SQLException {
+        Object value = entityManager.getEntityManager()
+                .createNativeQuery("SELECT content FROM posts WHERE id = ?1")
+                .setParameter(1, id)
+                .getSingleResult();
+        if (value instanceof Blob blob) {
+            return blob.getBytes(1, (int) blob.length());
+        }
+        return (byte[]) value;
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.blog.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.blog.entity.Comment;
+import com.example.blog.entity.Post;
+
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.h2.H2ConnectionOption;
+
+/**
+ * Tests for {@link ReactivePostRepository} against the schema created by the
+ * JPA entities.
+ * <p>
+ * JPA and R2DBC share one named in-memory H2 database; data is committed
+ * through the JPA repositories so it is visible to the R2DBC connection.
+ * </p>
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactive;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=" })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReactivePostRepositoryTest {
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private ReactivePostRepository reactivePostRepository;
+
+    private Post withComments;
+
+    private Post withoutComments;
+
+    /**
+     * Commits one post with two comments and one post without comments.
+     */
+    @BeforeEach
+    void setUp() {
+        H2ConnectionFactory connectionFactory = new H2ConnectionFactory(H2ConnectionConfiguration.builder()
+                .inMemory("reactive")
+                .username("sa")
+                .property(H2ConnectionOption.DB_CLOSE_DELAY, "-1")
+                .build());
+        reactivePostRepository = new ReactivePostRepository(DatabaseClient.create(connectionFactory));
+
+        withComments = postRepository.save(new Post("First title", "First content"));
+        commentRepository.save(new Comment(null, "First comment", withComments));
+        commentRepository.save(new Comment(null, "Second comment", withComments));
+        withoutComments = postRepository.save(new Post("Second title", "Second content"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        commentRepository.deleteAll();
+        postRepository.deleteAll();
+    }
+
+    /**
+     * Tests that comments are attached to their posts, in order.
+     */
+    @Test
+    void testFindAllAfterWithComments() {
+        List<Post> posts = reactivePostRepository.findAllAfter(0, 10).collectList()
+                .flatMap(reactivePostRepository::withComments).block();
+
+        assertEquals(2, posts.size());
+        assertEquals(withComments.getId(), posts.get(0).getId());
+        assertEquals(List.of("First comment", "Second comment"),
+                posts.get(0).getComments().stream().map(Comment::getContent).toList());
+        assertSame(posts.get(0), posts.get(0).getComments().get(0).getPost());
+        assertNotNull(posts.get(0).getUpdatedAt());
+        assertTrue(posts.get(1).getComments().isEmpty());
+    }
+
+    /**
+     * Tests that the seek honours its bound and limit, and that comments are
+     * loaded only for the posts passed in.
+     */
+    @Test
+    void testFindAllAfterSeeks() {
+        List<Post> first = reactivePostRepository.findAllAfter(0, 1).collectList()
+                .flatMap(reactivePostRepository::withComments).block();
+        List<Post> second = reactivePostRepository.findAllAfter(first.get(0).getId(), 1).collectList()
+                .flatMap(reactivePostRepository::withComments).block();
+
+        assertEquals(List.of(withComments.getId()), first.stream().map(Post::getId).toList());
+        assertEquals(2, first.get(0).getComments().size());
+        assertEquals(List.of(withoutComments.getId()), second.stream().map(Post::getId).toList());
+        assertTrue(second.get(0).getComments().isEmpty());
+        assertTrue(reactivePostRepository.findAllAfter(withoutComments.getId(), 1).collectList().block().isEmpty());
+    }
+
+    /**
+     * Tests single-post lookup, including a missing post.
+     */
+    @Test
+    void testFindWithCommentsById() {
+        Post post = reactivePostRepository.findWithCommentsById(withoutComments.getId()).block();
+
+        assertEquals("Second title", post.getTitle());
+        assertEquals("Second content", post.getContent());
+        assertEquals(0L, post.getVersion());
+        assertNull(reactivePostRepository.findWithCommentsById(-1L).block());
+    }
+
+    /**
+     * Tests that content stored compressed is decoded from the binary column.
+     */
+    @Test
+    void testFindWithCommentsByIdDecodesCompressedContent() {
+        String content = "Long-form post body. ".repeat(200);
+        Post saved = postRepository.save(new Post("Long title", content));
+
+        assertEquals(content, reactivePostRepository.findWithCommentsById(saved.getId()).block().getContent());
+    }
+
+    /**
+     * Tests streaming a post's comments in ID order.
+     */
+    @Test
+    void testFindCommentsByPostId() {
+        List<Comment> comments = reactivePostRepository.findCommentsByPostId(withComments.getId())
+                .collectList().block();
+
+        assertEquals(2, comments.size());
+        assertTrue(comments.get(0).getId() < comments.get(1).getId());
+        assertNotNull(comments.get(0).getVersion());
+    }
+}
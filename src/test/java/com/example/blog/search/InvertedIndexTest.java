@@ -0,0 +1,91 @@
+package com.example.blog.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.blog.dto.PostSearchResult;
+
+/**
+ * Unit tests for {@link InvertedIndex}.
+ */
+class InvertedIndexTest {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        index.upsert(1L, 0L, "Caching with Caffeine", "Caffeine is a high performance cache library.");
+        index.upsert(2L, 0L, "Keyset pagination", "Paging with a cursor instead of an offset.");
+        index.upsert(3L, 0L, "Notes", "A short note that mentions caffeine once among many other words here.");
+    }
+
+    /**
+     * Tests that title matches and term frequency rank higher.
+     */
+    @Test
+    void testSearchRanksByBm25() {
+        List<PostSearchResult> results = index.search("caffeine", 10);
+
+        assertEquals(List.of(1L, 3L), results.stream().map(PostSearchResult::id).toList());
+        assertTrue(results.get(0).score() > results.get(1).score());
+        assertEquals("Caching with Caffeine", results.get(0).title());
+    }
+
+    /**
+     * Tests that any query term matches and the limit is applied.
+     */
+    @Test
+    void testSearchMultipleTermsWithLimit() {
+        assertEquals(3, index.search("cursor caffeine", 10).size());
+        assertEquals(1, index.search("cursor caffeine", 1).size());
+        assertTrue(index.search("nothing-matches-zzz", 10).isEmpty());
+        assertTrue(index.search("   ", 10).isEmpty());
+    }
+
+    /**
+     * Tests that a title-only patch re-indexes as if the whole post had been
+     * upserted, keeping the content's terms and excerpt.
+     */
+    @Test
+    void testPatchTitleKeepsContent() {
+        assertTrue(index.patch(1L, 1L, "Caffeine cache tuning", null));
+
+        InvertedIndex expected = new InvertedIndex();
+        expected.upsert(1L, 1L, "Caffeine cache tuning", "Caffeine is a high performance cache library.");
+        assertEquals(expected.get(1L), index.get(1L));
+        assertEquals(1L, index.search("tuning", 10).get(0).id());
+        assertTrue(index.search("caching", 10).isEmpty());
+
+        assertFalse(index.patch(1L, 0L, "Stale title", null));
+        assertFalse(index.patch(99L, 1L, "Not indexed", null));
+    }
+
+    /**
+     * Tests that updates replace old terms and stale versions are ignored.
+     */
+    @Test
+    void testUpsertReplacesAndIgnoresStaleVersions() {
+        assertTrue(index.upsert(2L, 1L, "Offset pagination", "Now about offsets."));
+        assertTrue(index.search("cursor", 10).isEmpty());
+        assertEquals(2L, index.search("offsets", 10).get(0).id());
+
+        assertFalse(index.upsert(2L, 0L, "Keyset pagination", "Paging with a cursor."));
+        assertTrue(index.search("cursor", 10).isEmpty());
+    }
+
+    /**
+     * Tests removal.
+     */
+    @Test
+    void testRemove() {
+        assertTrue(index.remove(1L));
+        assertFalse(index.remove(1L));
+        assertEquals(List.of(3L), index.search("caffeine", 10).stream().map(PostSearchResult::id).toList());
+        assertEquals(2, index.size());
+    }
+}
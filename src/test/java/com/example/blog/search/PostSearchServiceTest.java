@@ -0,0 +1,157 @@
+package com.example.blog.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.blog.entity.Post;
+import com.example.blog.event.PostChangedEvent;
+import com.example.blog.repository.PostRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Unit tests for {@link PostSearchService}.
+ */
+@ExtendWith(MockitoExtension.class)
+class PostSearchServiceTest {
+
+    private static final Instant WATERMARK = Instant.parse("2025-01-01T00:00:00Z");
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private SegmentStore segmentStore;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @InjectMocks
+    private PostSearchService postSearchService;
+
+    private static List<IndexedDocument> drain(Iterator<IndexedDocument> documents) {
+        List<IndexedDocument> list = new ArrayList<>();
+        documents.forEachRemaining(list::add);
+        return list;
+    }
+
+    /**
+     * Tests that the rebuild indexes every streamed post, detaches it and
+     * persists a snapshot.
+     */
+    @Test
+    void testRebuild() throws IOException {
+        Post first = new Post(1L, "Virtual threads", "Loom in practice.", null);
+        Post second = new Post(2L, "Reactive reads", "R2DBC and backpressure.", null);
+        when(postRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(first, second));
+        List<IndexedDocument> persisted = new ArrayList<>();
+        doAnswer(invocation -> persisted.addAll(drain(invocation.getArgument(0))))
+                .when(segmentStore).replace(any(), eq(2L), any());
+
+        assertEquals(2, postSearchService.rebuild());
+
+        assertEquals(2L, postSearchService.search("backpressure", 10).get(0).id());
+        assertEquals(List.of(1L, 2L), persisted.stream().map(IndexedDocument::id).toList());
+        verify(entityManager).detach(first);
+        verify(entityManager).detach(second);
+    }
+
+    /**
+     * Tests that a warm start loads the segments, reads only the posts
+     * changed since the manifest, and tombstones posts deleted meanwhile.
+     */
+    @Test
+    void testInitializeFromSegments() throws IOException {
+        Manifest manifest = new Manifest(3, List.of("segment-0000000003.seg"), 4, WATERMARK);
+        when(segmentStore.open()).thenReturn(manifest);
+        when(postRepository.findMaxId()).thenReturn(4L);
+        doAnswer(invocation -> {
+            Consumer<IndexedDocument> sink = invocation.getArgument(0);
+            sink.accept(new IndexedDocument(1, 0, Map.of("loom", 1), "Loom", "Loom"));
+            sink.accept(new IndexedDocument(2, 0, Map.of("stale", 1), "Stale", "Stale"));
+            sink.accept(IndexedDocument.tombstone(2));
+            sink.accept(new IndexedDocument(4, 0, Map.of("gone", 1), "Gone", "Gone"));
+            return null;
+        }).when(segmentStore).load(any());
+        Post added = new Post(3L, "Search", "Segments on disk.", null);
+        when(postRepository.streamChangedSince(4L, WATERMARK)).thenReturn(Stream.of(added));
+        when(postRepository.streamAllIds()).thenReturn(Stream.of(1L, 3L));
+        List<IndexedDocument> flushed = new ArrayList<>();
+        doAnswer(invocation -> flushed.addAll(drain(invocation.getArgument(0))))
+                .when(segmentStore).append(any(), eq(4L), any());
+
+        assertEquals(1, postSearchService.initialize());
+
+        assertEquals(1L, postSearchService.search("loom", 10).get(0).id());
+        assertTrue(postSearchService.search("stale", 10).isEmpty());
+        assertEquals(3L, postSearchService.search("segments", 10).get(0).id());
+        assertTrue(postSearchService.search("gone", 10).isEmpty());
+        assertEquals(List.of(3L, 4L), flushed.stream().map(IndexedDocument::id).toList());
+        assertTrue(flushed.get(1).deleted());
+        verify(postRepository, never()).streamAllByOrderByIdAsc();
+    }
+
+    /**
+     * Tests that an unreadable segment falls back to a full rebuild.
+     */
+    @Test
+    void testInitializeRebuildsOnCorruptSegment() throws IOException {
+        when(segmentStore.open()).thenReturn(new Manifest(1, List.of("segment-0000000001.seg"), 1, WATERMARK));
+        when(postRepository.findMaxId()).thenReturn(1L);
+        doThrow(new IOException("Checksum mismatch")).when(segmentStore).load(any());
+        when(postRepository.streamAllByOrderByIdAsc())
+                .thenReturn(Stream.of(new Post(1L, "Recovered", "Rebuilt from the table.", null)));
+
+        assertEquals(1, postSearchService.initialize());
+
+        assertEquals(1L, postSearchService.search("recovered", 10).get(0).id());
+        verify(segmentStore).replace(any(), eq(1L), any());
+        verify(postRepository, never()).streamChangedSince(anyLong(), any());
+    }
+
+    /**
+     * Tests that change events update the index without touching the
+     * database, and are flushed as documents and tombstones.
+     */
+    @Test
+    void testOnPostChangedAndFlush() throws IOException {
+        when(segmentStore.open()).thenReturn(Manifest.EMPTY);
+        when(postRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.empty());
+        postSearchService.initialize();
+        Post post = new Post(7L, "Search", "Inverted index with BM25.", null);
+        post.setVersion(0L);
+
+        postSearchService.onPostChanged(PostChangedEvent.saved(post));
+        assertEquals(7L, postSearchService.search("bm25", 10).get(0).id());
+        postSearchService.onPostChanged(PostChangedEvent.saved(new Post(8L, "Other", "Kept.", null)));
+        postSearchService.onPostChanged(PostChangedEvent.deleted(7L));
+        assertTrue(postSearchService.search("bm25", 10).isEmpty());
+
+        List<IndexedDocument> flushed = new ArrayList<>();
+        doAnswer(invocation -> flushed.addAll(drain(invocation.getArgument(0))))
+                .when(segmentStore).append(any(), eq(8L), any());
+        postSearchService.flush();
+
+        assertEquals(List.of(7L, 8L), flushed.stream().map(IndexedDocument::id).toList());
+        assertTrue(flushed.get(0).deleted());
+        assertFalse(flushed.get(1).deleted());
+        postSearchService.flush();
+        verify(segmentStore, times(1)).append(any(), anyLong(), any());
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.blog.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link SegmentStore}.
+ */
+class SegmentStoreTest {
+
+    private static final Instant WATERMARK = Instant.parse("2025-01-01T00:00:00Z");
+
+    @TempDir
+    private Path directory;
+
+    private static IndexedDocument document(long id, long version, String term) {
+        return new IndexedDocument(id, version, Map.of(term, 2, "shared", 1), "Title " + id, "Excerpt " + id);
+    }
+
+    private static List<IndexedDocument> load(SegmentStore store) throws IOException {
+        List<IndexedDocument> documents = new ArrayList<>();
+        store.load(documents::add);
+        return documents;
+    }
+
+    /**
+     * Tests that documents and tombstones survive a write and a re-open.
+     */
+    @Test
+    void testAppendAndReopen() throws IOException {
+        SegmentStore store = new SegmentStore(directory);
+        assertEquals(Manifest.EMPTY, store.open());
+
+        store.append(List.of(document(1, 0, "loom"), document(2, 3, "r2dbc")).iterator(), 2, WATERMARK);
+        store.append(List.of(IndexedDocument.tombstone(1)).iterator(), 1, WATERMARK.plusSeconds(60));
+
+        SegmentStore reopened = new SegmentStore(directory);
+        Manifest manifest = reopened.open();
+        assertEquals(2, manifest.segments().size());
+        assertEquals(2, manifest.maxPostId());
+        assertEquals(WATERMARK.plusSeconds(60), manifest.watermark());
+
+        List<IndexedDocument> documents = load(reopened);
+        assertEquals(List.of(document(1, 0, "loom"), document(2, 3, "r2dbc"), IndexedDocument.tombstone(1)),
+                documents);
+        assertTrue(documents.get(2).deleted());
+    }
+
+    /**
+     * Tests that merging keeps the newest entry per post and drops tombstones.
+     */
+    @Test
+    void testMerge() throws IOException {
+        SegmentStore store = new SegmentStore(directory);
+        store.open();
+        store.append(List.of(document(1, 0, "old"), document(2, 0, "kept")).iterator(), 2, WATERMARK);
+        store.append(List.of(document(1, 1, "new"), document(3, 0, "gone")).iterator(), 3, WATERMARK);
+        store.append(List.of(IndexedDocument.tombstone(3)).iterator(), 3, WATERMARK);
+
+        store.merge();
+
+        assertEquals(1, store.segmentCount());
+        assertEquals(List.of(document(1, 1, "new"), document(2, 0, "kept")), load(store));
+        assertEquals(3, store.manifest().maxPostId());
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.filter(f -> f.toString().endsWith(".seg")).count());
+        }
+    }
+
+    /**
+     * Tests that a damaged segment is rejected rather than partially loaded.
+     */
+    @Test
+    void testCorruptSegment() throws IOException {
+        SegmentStore store = new SegmentStore(directory);
+        store.open();
+        store.append(List.of(document(1, 0, "loom")).iterator(), 1, WATERMARK);
+
+        Path segment = directory.resolve(store.manifest().segments().get(0));
+        byte[] bytes = Files.readAllBytes(segment);
+        bytes[12] ^= 0x7f;
+        Files.write(segment, bytes, StandardOpenOption.TRUNCATE_EXISTING);
+
+        SegmentStore reopened = new SegmentStore(directory);
+        reopened.open();
+        assertThrows(IOException.class, () -> load(reopened));
+    }
+
+    /**
+     * Tests that segment files left behind by an interrupted write are removed.
+     */
+    @Test
+    void testOpenDeletesUnreferencedSegments() throws IOException {
+        SegmentStore store = new SegmentStore(directory);
+        store.open();
+        store.append(List.of(document(1, 0, "loom")).iterator(), 1, WATERMARK);
+        Path orphan = directory.resolve("segment-0000000099.seg");
+        Files.write(orphan, new byte[] { 1, 2, 3 });
+
+        new SegmentStore(directory).open();
+
+        assertFalse(Files.exists(orphan));
+        assertEquals(1, load(store).size());
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.blog.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link Tokenizer}.
+ */
+class TokenizerTest {
+
+    /**
+     * Tests that punctuation separates terms and case is folded.
+     */
+    @Test
+    void testTokenize() {
+        assertEquals(List.of("spring", "boot", "3", "café"), Tokenizer.tokenize("Spring-Boot 3: Café!"));
+    }
+
+    /**
+     * Tests empty and null input.
+     */
+    @Test
+    void testTokenizeEmpty() {
+        assertTrue(Tokenizer.tokenize(null).isEmpty());
+        assertTrue(Tokenizer.tokenize(" ,.; ").isEmpty());
+    }
+
+    /**
+     * Tests that overlong terms are truncated.
+     */
+    @Test
+    void testTokenizeTruncatesLongTerms() {
+        String term = Tokenizer.tokenize("x".repeat(200)).get(0);
+        assertEquals(Tokenizer.MAX_TERM_LENGTH, term.length());
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.blog.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.blog.dto.CommentBatchResult;
+import com.example.blog.entity.Comment;
+import com.example.blog.entity.Post;
+import com.example.blog.repository.CommentRepository;
+
+/**
+ * Verifies that batched comment ingestion is sent to the database in JDBC
+ * batches rather than one statement per comment.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import(CommentService.class)
+class CommentBatchInsertTest {
+
+    private static final int COMMENTS = 120;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+
+    private Long postId;
+
+    /**
+     * Persists the target post and resets statistics.
+     */
+    @BeforeEach
+    void setUp() {
+        postId = entityManager.persistFlushFind(new Post("Batch target", "Batch content")).getId();
+        entityManager.clear();
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * 120 comments are inserted with a small, fixed number of statements and
+     * an invalid item is reported without aborting the batch.
+     */
+    @Test
+    void testAddCommentsUsesJdbcBatches() {
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < COMMENTS; i++) {
+            Comment comment = new Comment();
+            comment.setContent(i == 7 ? " " : "Batched comment " + i);
+            comments.add(comment);
+        }
+
+        List<CommentBatchResult> results = commentService.addComments(postId, comments);
+
+        assertEquals(COMMENTS, results.size());
+        assertEquals(CommentBatchResult.Status.REJECTED, results.get(7).status());
+        assertEquals(COMMENTS - 1, results.stream().filter(r -> r.id() != null).count());
+        assertEquals(COMMENTS - 1, commentRepository.count());
+        // 1 post lookup + ~3 generator round trips + 3 insert batches; far below one per comment
+        assertTrue(statistics.getPrepareStatementCount() < 15,
+                "expected batched inserts, got " + statistics.getPrepareStatementCount() + " statements");
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.blog.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.blog.event.CommentsChangedEvent;
+import com.example.blog.repository.PostRepository;
+
+/**
+ * Unit tests for {@link CommentCountRepairJob}.
+ * <p>
+ * Verifies that the job covers the whole ID space in fixed-size chunks,
+ * rewrites only drifted posts and announces each of them.
+ * </p>
+ */
+@ExtendWith(MockitoExtension.class)
+class CommentCountRepairJobTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private CommentCountRepairJob repairJob;
+
+    /**
+     * Tests chunking, and that each repaired post is announced so its cached
+     * representation is evicted on every node.
+     */
+    @Test
+    void testRepairCommentCounts() {
+        ReflectionTestUtils.setField(repairJob, "chunkSize", 10);
+        when(postRepository.findMaxId()).thenReturn(25L);
+        when(postRepository.findIdsWithDriftedCommentCount(1, 10)).thenReturn(List.of());
+        when(postRepository.findIdsWithDriftedCommentCount(11, 20)).thenReturn(List.of(12L, 17L));
+        when(postRepository.findIdsWithDriftedCommentCount(21, 30)).thenReturn(List.of(25L));
+        when(postRepository.repairCommentCounts(eq(List.of(12L, 17L)), any())).thenReturn(2);
+        when(postRepository.repairCommentCounts(eq(List.of(25L)), any())).thenReturn(1);
+
+        assertEquals(3, repairJob.repairCommentCounts());
+        verify(postRepository, times(2)).repairCommentCounts(anyCollection(), any());
+        verify(eventPublisher).publishEvent(new CommentsChangedEvent(12L));
+        verify(eventPublisher).publishEvent(new CommentsChangedEvent(17L));
+        verify(eventPublisher).publishEvent(new CommentsChangedEvent(25L));
+    }
+
+    /**
+     * Tests that an empty table is a no-op.
+     */
+    @Test
+    void testRepairCommentCountsEmptyTable() {
+        when(postRepository.findMaxId()).thenReturn(0L);
+
+        assertEquals(0, repairJob.repairCommentCounts());
+        verify(postRepository, never()).findIdsWithDriftedCommentCount(anyLong(), anyLong());
+        verifyNoInteractions(eventPublisher);
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.blog.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link CommentJournal}.
+ */
+class CommentJournalTest {
+
+    @TempDir
+    private Path directory;
+
+    /**
+     * Tests that appended entries are recovered in order after a reopen and
+     * that sequence numbers continue from there.
+     */
+    @Test
+    void testAppendAndRecover() throws IOException {
+        Path file = directory.resolve("comments.journal");
+        try (CommentJournal journal = new CommentJournal(file, true)) {
+            journal.recover(0);
+            assertEquals(1, journal.append(7L, "First").sequence());
+            assertEquals(2, journal.append(8L, "Zweiter – ünïcode").sequence());
+        }
+
+        try (CommentJournal journal = new CommentJournal(file, true)) {
+            assertEquals(List.of(new CommentJournal.Entry(1, 7L, "First"),
+                    new CommentJournal.Entry(2, 8L, "Zweiter – ünïcode")), journal.recover(0));
+            assertEquals(3, journal.append(7L, "Third").sequence());
+        }
+    }
+
+    /**
+     * Tests that an entry torn by a crash is discarded and overwritten.
+     */
+    @Test
+    void testRecoverDiscardsTornTail() throws IOException {
+        Path file = directory.resolve("comments.journal");
+        try (CommentJournal journal = new CommentJournal(file, false)) {
+            journal.recover(0);
+            journal.append(1L, "Kept");
+            journal.append(1L, "Torn");
+        }
+        Path segment = segment(file, 1);
+        long size = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 3);
+        }
+
+        try (CommentJournal journal = new CommentJournal(file, false)) {
+            assertEquals(List.of(new CommentJournal.Entry(1, 1L, "Kept")), journal.recover(0));
+            journal.append(1L, "After");
+        }
+        try (CommentJournal journal = new CommentJournal(file, false)) {
+            assertEquals(List.of(new CommentJournal.Entry(1, 1L, "Kept"), new CommentJournal.Entry(2, 1L, "After")),
+                    journal.recover(0));
+        }
+    }
+
+    /**
+     * Tests that the active segment is emptied only once everything in it is
+     * committed, and that sequence numbers keep increasing afterwards.
+     */
+    @Test
+    void testReleaseEmptiesCommittedSegment() throws IOException {
+        Path file = directory.resolve("comments.journal");
+        try (CommentJournal journal = new CommentJournal(file, false)) {
+            journal.recover(0);
+            journal.append(1L, "One");
+            journal.append(1L, "Two");
+
+            assertFalse(journal.release(1));
+            assertTrue(journal.release(2));
+            assertEquals(0, Files.size(segment(file, 1)));
+            assertEquals(3, journal.append(1L, "Three").sequence());
+        }
+
+        try (CommentJournal journal = new CommentJournal(file, false)) {
+            assertEquals(List.of(new CommentJournal.Entry(3, 1L, "Three")), journal.recover(2));
+            assertEquals(4, journal.append(1L, "Four").sequence());
+        }
+        try (CommentJournal journal = new CommentJournal(file, false)) {
+            journal.recover(10);
+            assertEquals(11, journal.append(1L, "Five").sequence());
+        }
+    }
+
+    /**
+     * Tests that a full segment is sealed while entries are still pending,
+     * and that sealed segments are deleted once all their entries are
+     * committed, without waiting for the journal to drain.
+     */
+    @Test
+    void testReleaseRollsAndDropsSegments() throws IOException {
+        Path file = directory.resolve("comments.journal");
+        try (CommentJournal journal = new CommentJournal(file, false, 1)) {
+            journal.recover(0);
+            journal.append(1L, "One");
+            journal.append(1L, "Two");
+
+            assertFalse(journal.release(1)); // seals 1-2, nothing deletable yet
+            assertEquals(2, journal.segments());
+            assertEquals(3, journal.append(1L, "Three").sequence());
+            assertTrue(Files.exists(segment(file, 3)));
+
+            assertTrue(journal.release(2)); // seals 3 and deletes 1-2
+            assertFalse(Files.exists(segment(file, 1)));
+            assertEquals(2, journal.segments());
+
+            journal.append(1L, "Four");
+            assertTrue(journal.release(3));
+            assertFalse(Files.exists(segment(file, 3)));
+        }
+
+        try (CommentJournal journal = new CommentJournal(file, false, 1)) {
+            assertEquals(List.of(new CommentJournal.Entry(4, 1L, "Four")), journal.recover(3));
+        }
+    }
+
+    /**
+     * Tests that recovery deletes sealed segments at or below the checkpoint
+     * unread and skips committed entries in the rest.
+     */
+    @Test
+    void testRecoverSkipsCommittedSegments() throws IOException {
+        Path file = directory.resolve("comments.journal");
+        try (CommentJournal journal = new CommentJournal(file, false, 1)) {
+            journal.recover(0);
+            journal.append(1L, "One");
+            journal.release(0);
+            journal.append(1L, "Two");
+            journal.append(1L, "Three");
+            journal.release(0);
+            journal.append(1L, "Four");
+        }
+
+        try (CommentJournal journal = new CommentJournal(file, false, 1)) {
+            assertEquals(List.of(new CommentJournal.Entry(3, 1L, "Three"), new CommentJournal.Entry(4, 1L, "Four")),
+                    journal.recover(2));
+            assertFalse(Files.exists(segment(file, 1)));
+            assertEquals(2, journal.segments());
+            assertEquals(5, journal.append(1L, "Five").sequence());
+        }
+    }
+
+    /**
+     * Tests that one force covers every entry written before it, so entries
+     * waiting behind a force do not each force again.
+     */
+    @Test
+    void testSyncCoversEarlierEntries() throws IOException {
+        try (CommentJournal journal = new CommentJournal(directory.resolve("comments.journal"), true)) {
+            journal.recover(0);
+            CommentJournal.Entry first = journal.write(1L, "First");
+            CommentJournal.Entry second = journal.write(1L, "Second");
+
+            journal.sync(second.sequence());
+            journal.sync(first.sequence());
+
+            assertEquals(1, journal.forces());
+        }
+    }
+
+    /**
+     * Tests that concurrent appends get distinct sequence numbers, are all
+     * recovered, and never need more forces than appends.
+     */
+    @Test
+    void testConcurrentAppends() throws Exception {
+        Path file = directory.resolve("comments.journal");
+        int threads = 8;
+        int perThread = 50;
+        try (CommentJournal journal = new CommentJournal(file, true)) {
+            journal.recover(0);
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    long postId = t;
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < perThread; i++) {
+                            journal.append(postId, "Comment " + i);
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+            assertEquals(threads * perThread, journal.lastSequence());
+            assertTrue(journal.forces() <= threads * perThread);
+        }
+
+        try (CommentJournal journal = new CommentJournal(file, true)) {
+            List<CommentJournal.Entry> entries = journal.recover(0);
+            assertEquals(threads * perThread, entries.size());
+            for (int i = 0; i < entries.size(); i++) {
+                assertEquals(i + 1, entries.get(i).sequence());
+            }
+        }
+    }
+
+    private static Path segment(Path file, long firstSequence) {
+        return file.resolveSibling(file.getFileName() + "." + String.format("%020d", firstSequence));
+    }
+}
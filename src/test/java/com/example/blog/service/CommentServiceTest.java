@@ -1,29 +1,46 @@
 package com.example.blog.service;
 
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 
+import com.example.blog.dto.CommentBatchResult;
 import com.example.blog.entity.Comment;
 import com.example.blog.entity.Post;
+import com.example.blog.event.CommentsChangedEvent;
+import com.example.blog.pagination.Cursor;
+import com.example.blog.pagination.CursorPage;
 import com.example.blog.repository.CommentRepository;
 import com.example.blog.repository.PostRepository;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+
 /**
  * Unit test class for {@link CommentService}.
  * <p>
@@ -37,6 +54,7 @@ import com.example.blog.repository.PostRepository;
  *     <li>Retrieving comments by post ID</li>
  *     <li>Adding a comment to an existing post</li>
  *     <li>Handling cases where the post does not exist</li>
+ *     <li>Batched insertion with per-item validation</li>
  * </ul>
  *
  * <p>
@@ -54,6 +72,12 @@ public class CommentServiceTest {
     @Mock
     private PostRepository postRepository;
 
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CommentService commentService;
 
@@ -107,6 +131,50 @@ public class CommentServiceTest {
         verify(commentRepository, times(1)).findByPostId(1L); // Ensures method call occurred once
     }
 
+    /**
+     * Tests keyset paging of comments newest-first.
+     * <p>
+     * Expected Behavior:
+     * </p>
+     * <ul>
+     *     <li>The first descending page seeks below {@code Long.MAX_VALUE}.</li>
+     *     <li>The cursor points at the last comment when the slice has more.</li>
+     * </ul>
+     */
+    @Test
+    void testGetCommentsPage_NewestFirst() {
+        PageRequest page = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "id"));
+        when(commentRepository.findByPostIdAndIdLessThan(1L, Long.MAX_VALUE, page))
+                .thenReturn(new SliceImpl<>(Arrays.asList(comment2, comment1), page, true));
+
+        CursorPage<Comment> result = commentService.getCommentsPage(1L, null, 2, Sort.Direction.DESC);
+
+        assertEquals(2, result.items().size());
+        assertEquals(Cursor.encode(1L), result.nextCursor());
+        verify(commentRepository, never()).findByPostId(1L);
+    }
+
+    /**
+     * Tests keyset paging of comments oldest-first on the last page.
+     * <p>
+     * Expected Behavior:
+     * </p>
+     * <ul>
+     *     <li>Seeks above the cursor and reports no further page.</li>
+     * </ul>
+     */
+    @Test
+    void testGetCommentsPage_OldestFirstLastPage() {
+        PageRequest page = PageRequest.of(0, 5, Sort.by(Sort.Direction.ASC, "id"));
+        when(commentRepository.findByPostIdAndIdGreaterThan(1L, 1L, page))
+                .thenReturn(new SliceImpl<>(Arrays.asList(comment2), page, false));
+
+        CursorPage<Comment> result = commentService.getCommentsPage(1L, 1L, 5, Sort.Direction.ASC);
+
+        assertEquals(1, result.items().size());
+        assertNull(result.nextCursor());
+    }
+
     /**
      * Tests the successful addition of a comment to an existing post.
      * <p>
@@ -114,20 +182,24 @@ public class CommentServiceTest {
      * </p>
      * <ul>
      *     <li>The comment should be saved and returned.</li>
-     *     <li>The repository methods {@code findById()} and {@code save()} should be called.</li>
+     *     <li>The comment count is incremented with one UPDATE and {@code save()} is called.</li>
+     *     <li>The post is never loaded.</li>
      * </ul>
      */
     @Test
     void testAddComment_Success() {
-        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(postRepository.incrementCommentCount(eq(1L), eq(1L), any(Instant.class))).thenReturn(1);
+        when(postRepository.getReferenceById(1L)).thenReturn(post);
         when(commentRepository.save(any(Comment.class))).thenReturn(comment1);
 
         Comment savedComment = commentService.addComment(1L, comment1);
 
         assertNotNull(savedComment); // Ensures a comment is successfully saved
         assertEquals("First comment", savedComment.getContent()); // Verifies content correctness
-        verify(postRepository, times(1)).findById(1L); // Ensures post lookup occurred
+        verify(postRepository, times(1)).incrementCommentCount(eq(1L), eq(1L), any(Instant.class)); // Single UPDATE
+        verify(postRepository, never()).findById(1L); // The post itself is never loaded
         verify(commentRepository, times(1)).save(comment1); // Ensures comment was saved
+        verify(eventPublisher).publishEvent(new CommentsChangedEvent(1L)); // Other nodes evict the post
     }
 
     /**
@@ -137,18 +209,89 @@ public class CommentServiceTest {
      * </p>
      * <ul>
      *     <li>Should return {@code null} if the post does not exist.</li>
-     *     <li>The repository method {@code findById()} should be called.</li>
+     *     <li>The count UPDATE should be attempted and report no rows.</li>
      *     <li>The repository method {@code save()} should never be called.</li>
      * </ul>
      */
     @Test
     void testAddComment_PostNotFound() {
-        when(postRepository.findById(1L)).thenReturn(Optional.empty());
+        when(postRepository.incrementCommentCount(eq(1L), eq(1L), any(Instant.class))).thenReturn(0);
 
         Comment savedComment = commentService.addComment(1L, comment1);
 
         assertNull(savedComment); // Ensures null is returned for a non-existent post
-        verify(postRepository, times(1)).findById(1L); // Ensures post lookup was attempted
+        verify(postRepository, times(1)).incrementCommentCount(eq(1L), eq(1L), any(Instant.class)); // Ensures post check was attempted
         verify(commentRepository, never()).save(any(Comment.class)); // Ensures comment was NOT saved
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    /**
+     * Tests adding an invalid comment.
+     * <p>
+     * Expected Behavior:
+     * </p>
+     * <ul>
+     *     <li>A {@link ConstraintViolationException} is thrown.</li>
+     *     <li>Neither the count UPDATE nor {@code save()} is issued.</li>
+     * </ul>
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testAddComment_Invalid() {
+        ConstraintViolation<Comment> violation = mock(ConstraintViolation.class);
+        when(validator.validate(comment1)).thenReturn(Set.of(violation));
+
+        assertThrows(ConstraintViolationException.class, () -> commentService.addComment(1L, comment1));
+
+        verify(postRepository, never()).incrementCommentCount(any(), any(Long.class), any(Instant.class));
+        verify(commentRepository, never()).save(any(Comment.class));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    /**
+     * Tests a batch containing one valid and one invalid comment.
+     * <p>
+     * Expected Behavior:
+     * </p>
+     * <ul>
+     *     <li>The comment count is incremented once, by the number of valid comments.</li>
+     *     <li>Only the valid comment is saved; the invalid one is reported.</li>
+     * </ul>
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testAddComments_PartialSuccess() {
+        ConstraintViolation<Comment> violation = mock(ConstraintViolation.class);
+        when(violation.getMessage()).thenReturn("Comment cannot be blank");
+        when(postRepository.incrementCommentCount(eq(1L), eq(1L), any(Instant.class))).thenReturn(1);
+        when(postRepository.getReferenceById(1L)).thenReturn(post);
+        when(validator.validate(comment1)).thenReturn(Set.of());
+        when(validator.validate(comment2)).thenReturn(Set.of(violation));
+
+        List<CommentBatchResult> results = commentService.addComments(1L, Arrays.asList(comment1, comment2));
+
+        assertEquals(2, results.size());
+        assertEquals(CommentBatchResult.created(0, 1L), results.get(0));
+        assertEquals(CommentBatchResult.rejected(1, "Comment cannot be blank"), results.get(1));
+        verify(postRepository, times(1)).incrementCommentCount(eq(1L), eq(1L), any(Instant.class));
+        verify(commentRepository, times(1)).saveAll(List.of(comment1));
+    }
+
+    /**
+     * Tests a batch for a non-existent post.
+     * <p>
+     * Expected Behavior:
+     * </p>
+     * <ul>
+     *     <li>Should return {@code null} and save nothing.</li>
+     * </ul>
+     */
+    @Test
+    void testAddComments_PostNotFound() {
+        when(validator.validate(comment1)).thenReturn(Set.of());
+        when(postRepository.incrementCommentCount(eq(1L), eq(1L), any(Instant.class))).thenReturn(0);
+
+        assertNull(commentService.addComments(1L, Arrays.asList(comment1)));
+        verify(commentRepository, never()).saveAll(any());
     }
 }
@@ -0,0 +1,192 @@
+package com.example.blog.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.blog.config.CacheConfig;
+import com.example.blog.dto.CommentReceipt;
+import com.example.blog.entity.Comment;
+import com.example.blog.entity.JournalCheckpoint;
+import com.example.blog.entity.Post;
+import com.example.blog.repository.CommentRepository;
+import com.example.blog.repository.JournalCheckpointRepository;
+import com.example.blog.repository.PostRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolationException;
+
+/**
+ * Verifies that write-behind comments are persisted by the flusher, advance
+ * the journal checkpoint, and are replayed exactly once after a restart.
+ */
+@DataJpaTest(properties = "blog.comments.write-behind.enabled=true")
+@ActiveProfiles("test")
+@ImportAutoConfiguration({ CacheAutoConfiguration.class, ValidationAutoConfiguration.class,
+        MetricsAutoConfiguration.class, SimpleMetricsExportAutoConfiguration.class })
+@Import({ CommentWriteBehindQueue.class, CacheConfig.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CommentWriteBehindQueueTest {
+
+    @TempDir
+    private static Path directory;
+
+    @Autowired
+    private CommentWriteBehindQueue queue;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private JournalCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void journal(DynamicPropertyRegistry registry) {
+        registry.add("blog.comments.write-behind.journal", () -> directory.resolve("comments.journal").toString());
+    }
+
+    /**
+     * Removes the rows written by each test.
+     */
+    @AfterEach
+    void tearDown() {
+        commentRepository.deleteAll();
+        postRepository.deleteAll();
+    }
+
+    private static Comment comment(String content) {
+        Comment comment = new Comment();
+        comment.setContent(content);
+        return comment;
+    }
+
+    private void awaitCheckpoint(long sequence) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (checkpointRepository.findById(queue.checkpointName())
+                .map(c -> c.getSequence() < sequence).orElse(true)) {
+            assertTrue(System.nanoTime() < deadline, "flusher did not reach " + sequence);
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Tests that accepted comments are inserted and counted in the background.
+     */
+    @Test
+    void testSubmitIsFlushed() throws InterruptedException {
+        Long postId = postRepository.save(new Post("Busy post", "Popular content")).getId();
+
+        CommentReceipt last = null;
+        for (int i = 0; i < 25; i++) {
+            last = queue.submit(postId, comment("Queued " + i));
+        }
+        awaitCheckpoint(last.ticket());
+
+        assertEquals(queue.checkpointName(), CommentWriteBehindQueue.CHECKPOINT_PREFIX + last.journal());
+
+        assertEquals(25, commentRepository.findByPostId(postId).size());
+        assertEquals(25, postRepository.findById(postId).orElseThrow().getCommentCount());
+        assertEquals(0, queue.pending());
+    }
+
+    /**
+     * Tests that invalid comments are rejected before they are journaled.
+     */
+    @Test
+    void testSubmitRejectsInvalidComment() {
+        assertThrows(ConstraintViolationException.class, () -> queue.submit(1L, comment(" ")));
+    }
+
+    /**
+     * Tests that journal entries above the checkpoint are written by
+     * {@code write} and that comments for missing posts are dropped.
+     */
+    @Test
+    void testWriteGroup() {
+        Long postId = postRepository.save(new Post("Replay target", "Content")).getId();
+        long before = checkpointRepository.findById(queue.checkpointName()).orElseThrow().getSequence();
+
+        long committed = queue.write(List.of(
+                new CommentJournal.Entry(before + 1, postId, "Replayed"),
+                new CommentJournal.Entry(before + 2, Long.MAX_VALUE, "Orphan")));
+
+        assertEquals(before + 2, committed);
+        assertEquals(before + 2, checkpointRepository.findById(queue.checkpointName())
+                .orElseThrow().getSequence());
+        assertEquals(1, commentRepository.count());
+    }
+
+    /**
+     * Tests that a group retried one by one drops only the comment that fails
+     * on its own, moves the checkpoint past it and counts it.
+     */
+    @Test
+    void testWriteEachDropsPoisonComment() {
+        Long postId = postRepository.save(new Post("Poisoned group", "Content")).getId();
+        long before = checkpointRepository.findById(queue.checkpointName()).orElseThrow().getSequence();
+        double droppedBefore = meterRegistry.counter(CommentWriteBehindQueue.DROPPED_METRIC).count();
+        List<CommentJournal.Entry> group = new ArrayList<>(List.of(
+                new CommentJournal.Entry(before + 1, postId, "Before"),
+                new CommentJournal.Entry(before + 2, postId, "x".repeat(501)),
+                new CommentJournal.Entry(before + 3, postId, "After")));
+
+        assertEquals(before + 3, queue.writeEach(group));
+
+        assertTrue(group.isEmpty());
+        assertEquals(before + 3, checkpointRepository.findById(queue.checkpointName())
+                .orElseThrow().getSequence());
+        assertEquals(List.of("After", "Before"), commentRepository.findByPostId(postId).stream()
+                .map(Comment::getContent).sorted().toList());
+        assertEquals(2, postRepository.findById(postId).orElseThrow().getCommentCount());
+        assertEquals(droppedBefore + 1, meterRegistry.counter(CommentWriteBehindQueue.DROPPED_METRIC).count());
+    }
+
+    /**
+     * Tests that the checkpoint belongs to this node's journal: it is named
+     * after the ID stored next to the journal, another node's progress does
+     * not move it, and it never moves backwards.
+     */
+    @Test
+    void testCheckpointIsPerJournal() throws IOException {
+        String journalId = Files.readString(directory.resolve("comments.journal.id")).strip();
+        assertEquals(CommentWriteBehindQueue.CHECKPOINT_PREFIX + journalId, queue.checkpointName());
+        checkpointRepository.save(new JournalCheckpoint(CommentWriteBehindQueue.CHECKPOINT_PREFIX + "other-node", 1_000_000));
+        Long postId = postRepository.save(new Post("Shared post", "Content")).getId();
+        long before = checkpointRepository.findById(queue.checkpointName()).orElseThrow().getSequence();
+
+        queue.write(List.of(new CommentJournal.Entry(before + 1, postId, "Mine")));
+
+        assertEquals(before + 1, checkpointRepository.findById(queue.checkpointName()).orElseThrow().getSequence());
+        assertEquals(0, checkpointRepository.advance(queue.checkpointName(), before));
+        assertEquals(1_000_000, checkpointRepository.findById(CommentWriteBehindQueue.CHECKPOINT_PREFIX + "other-node")
+                .orElseThrow().getSequence());
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.blog.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.blog.config.CacheConfig;
+import com.example.blog.dto.PostJson;
+import com.example.blog.entity.Comment;
+import com.example.blog.entity.Post;
+
+/**
+ * Verifies the read-through post JSON cache against H2.
+ * <p>
+ * Asserts on Hibernate statistics that a cache hit issues no SQL. Eviction
+ * after committed writes is covered by
+ * {@code ClusterCacheInvalidationTest}, since these tests roll back.
+ * </p>
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureCache(cacheProvider = CacheType.CAFFEINE)
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({ CacheConfig.class, PostService.class, CommentService.class })
+class PostCacheTest {
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+
+    private Long postId;
+
+    /**
+     * Persists a post and starts from an empty cache and fresh statistics.
+     */
+    @BeforeEach
+    void setUp() {
+        postId = entityManager.persistFlushFind(new Post("Cached title", "Cached content")).getId();
+        entityManager.clear();
+        cacheManager.getCache(CacheConfig.POST_JSON).clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * The second read of the same post is served from the cache, without a
+     * version lookup or any other statement.
+     */
+    @Test
+    void testCacheHitIssuesNoStatements() {
+        PostJson first = postService.getPostJson(postId);
+        long afterMiss = statistics.getPrepareStatementCount();
+        PostJson second = postService.getPostJson(postId);
+
+        assertSame(first, second);
+        assertEquals(1, afterMiss, "the miss should load post and comments in one query");
+        assertEquals(afterMiss, statistics.getPrepareStatementCount());
+        assertTrue(new String(first.body(), StandardCharsets.UTF_8).contains("Cached title"));
+    }
+
+    /**
+     * A missing post is remembered as absent, so repeated reads of an
+     * unknown ID do not reach the database either.
+     */
+    @Test
+    void testMissingPostIsCachedAsAbsent() {
+        assertNull(postService.getPostJson(postId + 1000));
+        long afterMiss = statistics.getPrepareStatementCount();
+        assertNull(postService.getPostJson(postId + 1000));
+        assertEquals(afterMiss, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Adding a comment bumps the post version, so the rebuilt JSON carries a
+     * new ETag.
+     */
+    @Test
+    void testAddCommentBumpsVersion() {
+        Long versionBefore = postService.getPostJson(postId).version();
+        commentService.addComment(postId, new Comment(null, "Fresh comment", entityManager.find(Post.class, postId)));
+        entityManager.flush();
+        entityManager.clear();
+        cacheManager.getCache(CacheConfig.POST_JSON).evict(postId); // done after commit outside this slice
+
+        PostJson rebuilt = postService.getPostJson(postId);
+        assertEquals(versionBefore + 1, rebuilt.version());
+        assertTrue(new String(rebuilt.body(), StandardCharsets.UTF_8).contains("Fresh comment"));
+    }
+}
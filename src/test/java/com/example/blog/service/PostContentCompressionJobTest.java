@@ -0,0 +1,151 @@
+package com.example.blog.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.blog.entity.CompressedTextConverter;
+import com.example.blog.entity.Post;
+import com.example.blog.entity.ScanCheckpoint;
+import com.example.blog.repository.PostRepository;
+import com.example.blog.repository.ScanCheckpointRepository;
+
+/**
+ * Unit tests for {@link PostContentCompressionJob}.
+ * <p>
+ * Verifies that the job scans the ID space it has not scanned yet in
+ * fixed-size chunks, records its progress, and rewrites only the legacy rows
+ * it finds, guarded by their version; posts that changed meanwhile are
+ * retried and never skipped over.
+ * </p>
+ */
+@ExtendWith(MockitoExtension.class)
+class PostContentCompressionJobTest {
+
+    private static final int MIN = CompressedTextConverter.MIN_COMPRESS_BYTES;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private ScanCheckpointRepository checkpointRepository;
+
+    @InjectMocks
+    private PostContentCompressionJob job;
+
+    /**
+     * Tests chunking and version-guarded rewrites. A post whose version was
+     * bumped by a new comment is read again and rewritten on the retry.
+     */
+    @Test
+    void testCompressLegacyContent() {
+        ReflectionTestUtils.setField(job, "chunkSize", 10);
+        Post legacy = new Post(12L, "Legacy Title", "Legacy content", null);
+        legacy.setVersion(3L);
+        Post commented = new Post(14L, "Commented Title", "Commented content", null);
+        commented.setVersion(1L);
+        Post reread = new Post(14L, "Commented Title", "Commented content", null);
+        reread.setVersion(2L);
+        when(postRepository.findMaxId()).thenReturn(25L);
+        when(postRepository.findUncompressedContentIds(1, 10, MIN)).thenReturn(List.of());
+        when(postRepository.findUncompressedContentIds(11, 20, MIN)).thenReturn(List.of(12L, 14L), List.of(14L));
+        when(postRepository.findUncompressedContentIds(21, 25, MIN)).thenReturn(List.of());
+        when(postRepository.findAllById(List.of(12L, 14L))).thenReturn(List.of(legacy, commented));
+        when(postRepository.findAllById(List.of(14L))).thenReturn(List.of(reread));
+        when(postRepository.rewriteContent(12L, "Legacy content", "Legacy content", 3L)).thenReturn(1);
+        when(postRepository.rewriteContent(14L, "Commented content", "Commented content", 1L)).thenReturn(0);
+        when(postRepository.rewriteContent(14L, "Commented content", "Commented content", 2L)).thenReturn(1);
+
+        assertEquals(2, job.compressLegacyContent());
+        verify(postRepository, times(2)).findAllById(any());
+        verify(checkpointRepository).saveAndFlush(
+                argThat(c -> PostContentCompressionJob.CHECKPOINT.equals(c.getName()) && c.getLastId() == 0));
+        verify(checkpointRepository).advance(PostContentCompressionJob.CHECKPOINT, 10);
+        verify(checkpointRepository).advance(PostContentCompressionJob.CHECKPOINT, 20);
+        verify(checkpointRepository).advance(PostContentCompressionJob.CHECKPOINT, 25);
+    }
+
+    /**
+     * Tests that a skipped post whose content was rewritten meanwhile (and so
+     * stored compressed) no longer matches the scan and is not retried.
+     */
+    @Test
+    void testCompressLegacyContentDropsRewrittenPosts() {
+        ReflectionTestUtils.setField(job, "chunkSize", 10);
+        Post edited = new Post(4L, "Edited Title", "Old content", null);
+        edited.setVersion(1L);
+        when(postRepository.findMaxId()).thenReturn(10L);
+        when(postRepository.findUncompressedContentIds(1, 10, MIN)).thenReturn(List.of(4L), List.of());
+        when(postRepository.findAllById(List.of(4L))).thenReturn(List.of(edited));
+        when(postRepository.rewriteContent(4L, "Old content", "Old content", 1L)).thenReturn(0);
+
+        assertEquals(0, job.compressLegacyContent());
+        verify(postRepository, times(1)).findAllById(any());
+        verify(checkpointRepository).advance(PostContentCompressionJob.CHECKPOINT, 10);
+    }
+
+    /**
+     * Tests that a post changing on every attempt stops the run just below
+     * it, so the next run retries it instead of leaving it uncompressed.
+     */
+    @Test
+    void testCompressLegacyContentStopsBelowBusyPost() {
+        ReflectionTestUtils.setField(job, "chunkSize", 10);
+        Post busy = new Post(17L, "Busy Title", "Busy content", null);
+        busy.setVersion(5L);
+        when(postRepository.findMaxId()).thenReturn(25L);
+        when(postRepository.findUncompressedContentIds(1, 10, MIN)).thenReturn(List.of());
+        when(postRepository.findUncompressedContentIds(11, 20, MIN)).thenReturn(List.of(17L));
+        when(postRepository.findAllById(List.of(17L))).thenReturn(List.of(busy));
+        when(postRepository.rewriteContent(17L, "Busy content", "Busy content", 5L)).thenReturn(0);
+
+        assertEquals(0, job.compressLegacyContent());
+        verify(postRepository, times(PostContentCompressionJob.MAX_ATTEMPTS)).findAllById(any());
+        verify(checkpointRepository).advance(PostContentCompressionJob.CHECKPOINT, 10);
+        verify(checkpointRepository).advance(PostContentCompressionJob.CHECKPOINT, 16);
+        verify(checkpointRepository, never()).advance(PostContentCompressionJob.CHECKPOINT, 20);
+        verify(postRepository, never()).findUncompressedContentIds(21, 25, MIN);
+    }
+
+    /**
+     * Tests that a run resumes after the last scanned ID, so rows already
+     * examined (including incompressible content stored plain) are not
+     * loaded again.
+     */
+    @Test
+    void testCompressLegacyContentResumes() {
+        ReflectionTestUtils.setField(job, "chunkSize", 10);
+        when(checkpointRepository.findById(PostContentCompressionJob.CHECKPOINT))
+                .thenReturn(Optional.of(new ScanCheckpoint(PostContentCompressionJob.CHECKPOINT, 25)));
+        when(postRepository.findMaxId()).thenReturn(25L, 32L);
+
+        assertEquals(0, job.compressLegacyContent());
+        verify(postRepository, never()).findUncompressedContentIds(anyLong(), anyLong(), anyInt());
+
+        assertEquals(0, job.compressLegacyContent());
+        verify(postRepository).findUncompressedContentIds(26, 32, MIN);
+        verify(checkpointRepository).advance(PostContentCompressionJob.CHECKPOINT, 32);
+        verify(postRepository, never()).findAllById(any());
+    }
+
+    /**
+     * Tests that an empty table is a no-op.
+     */
+    @Test
+    void testCompressLegacyContentEmptyTable() {
+        when(postRepository.findMaxId()).thenReturn(0L);
+
+        assertEquals(0, job.compressLegacyContent());
+        verify(postRepository, never()).findUncompressedContentIds(anyLong(), anyLong(), anyInt());
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.blog.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.blog.dto.PostJson;
+import com.example.blog.dto.PostPatch;
+import com.example.blog.entity.Comment;
+import com.example.blog.entity.Post;
+import com.example.blog.pagination.CursorPage;
+import com.example.blog.repository.CommentRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Verifies the fetch plans used when serializing posts and comments.
+ * <p>
+ * Runs {@link PostService} against H2 with Hibernate statistics enabled and
+ * pins the number of prepared statements, so a regression to one query per
+ * post or per comment (N+1) fails the build.
+ * </p>
+ *
+ * <h3>Test Coverage:</h3>
+ * <ul>
+ * <li>A page of posts with comments loads in a fixed number of statements</li>
+ * <li>A single post with comments loads in one statement</li>
+ * <li>Comments of a post load without touching the posts table</li>
+ * <li>Updates, patches and deletes run without loading the post or its comments</li>
+ * </ul>
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import(PostService.class)
+class PostFetchPlanTest {
+
+    private static final int POSTS = 12;
+    private static final int COMMENTS_PER_POST = 3;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private Statistics statistics;
+
+    private Long firstPostId;
+
+    /**
+     * Persists {@value #POSTS} posts with {@value #COMMENTS_PER_POST} comments
+     * each, then clears the persistence context and resets statistics.
+     */
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < POSTS; i++) {
+            Post post = entityManager.persist(new Post("Post title " + i, "Content " + i));
+            if (firstPostId == null) {
+                firstPostId = post.getId();
+            }
+            for (int j = 0; j < COMMENTS_PER_POST; j++) {
+                entityManager.persist(new Comment(null, "Comment " + j, post));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * A page of posts is one seek query plus one batch query for all comments.
+     */
+    @Test
+    void testPageOfPostsUsesFixedStatementCount() throws Exception {
+        CursorPage<Post> page = postService.getPostsPage(null, POSTS);
+        String json = objectMapper.writeValueAsString(page.items());
+
+        assertEquals(POSTS, page.items().size());
+        assertTrue(json.contains("Comment " + (COMMENTS_PER_POST - 1)));
+        assertEquals(2, statistics.getPrepareStatementCount(), "posts + one batched comment fetch");
+    }
+
+    /**
+     * A single post is loaded together with its comments by the entity graph.
+     */
+    @Test
+    void testPostByIdUsesSingleStatement() {
+        PostJson post = postService.getPostJson(firstPostId);
+
+        assertTrue(new String(post.body(), StandardCharsets.UTF_8).contains("Comment " + (COMMENTS_PER_POST - 1)));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Comments of a post are serialized without loading their (lazy) post.
+     */
+    @Test
+    void testCommentsByPostIdDoNotLoadPost() throws Exception {
+        String json = objectMapper.writeValueAsString(commentRepository.findByPostId(firstPostId));
+
+        assertFalse(json.contains("Post title"));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityStatistics(Post.class.getName()).getLoadCount());
+    }
+
+    /**
+     * An update is one UPDATE plus one version read; nothing is loaded.
+     */
+    @Test
+    void testUpdateDoesNotLoadPost() {
+        assertNotNull(postService.updatePost(firstPostId, new Post("Rewritten title", "Rewritten content")));
+        assertNull(postService.updatePost(-1L, new Post("Rewritten title", "Rewritten content")));
+
+        assertEquals(3, statistics.getPrepareStatementCount(), "UPDATE + version read, then a missed UPDATE");
+        assertEquals(0, statistics.getEntityLoadCount());
+        entityManager.clear();
+        assertEquals("Rewritten title", entityManager.find(Post.class, firstPostId).getTitle());
+    }
+
+    /**
+     * A title patch is one UPDATE plus one version read; nothing is loaded
+     * and the content is kept.
+     */
+    @Test
+    void testTitlePatchDoesNotLoadPost() {
+        assertNotNull(postService.patchPost(firstPostId, new PostPatch("Patched title", null)));
+
+        assertEquals(2, statistics.getPrepareStatementCount(), "UPDATE title + version read");
+        assertEquals(0, statistics.getEntityLoadCount());
+        entityManager.clear();
+        Post post = entityManager.find(Post.class, firstPostId);
+        assertEquals("Patched title", post.getTitle());
+        assertEquals("Content 0", post.getContent());
+    }
+
+    /**
+     * A delete is two set-based statements however many comments the post
+     * has; nothing is loaded.
+     */
+    @Test
+    void testDeleteUsesTwoStatements() {
+        assertTrue(postService.deletePost(firstPostId));
+
+        assertEquals(2, statistics.getPrepareStatementCount(), "DELETE comments + DELETE post");
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertNull(entityManager.find(Post.class, firstPostId));
+        assertEquals((POSTS - 1) * COMMENTS_PER_POST, commentRepository.count());
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.blog.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.blog.dto.PostImportSummary;
+import com.example.blog.repository.PostRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Verifies the streaming bulk import against H2.
+ * <p>
+ * Runs without a test-managed transaction so that every chunk commits on its
+ * own, as it does in production.
+ * </p>
+ */
+@DataJpaTest(properties = "blog.import.chunk-size=100")
+@ActiveProfiles("test")
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import(PostImportService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PostImportServiceTest {
+
+    private static final int POSTS = 250;
+
+    @Autowired
+    private PostImportService postImportService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAllInBatch();
+    }
+
+    private List<String> importPosts(String body, PostImportSummary expected) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PostImportSummary summary = postImportService.importPosts(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+        assertEquals(expected, summary);
+        return out.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+
+    /**
+     * A JSON array is imported in chunks with JDBC batching; invalid records
+     * are reported by position and skipped, and unknown fields are ignored.
+     */
+    @Test
+    void testImportJsonArray() throws IOException {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < POSTS; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            String title = i == 10 ? "" : "Imported post " + i;
+            body.append("{\"id\":99,\"title\":\"").append(title)
+                    .append("\",\"content\":\"Body ").append(i)
+                    .append("\",\"comments\":[{\"content\":\"ignored\"}]}");
+        }
+        body.append(",42]");
+
+        List<String> report = importPosts(body.toString(), new PostImportSummary(POSTS + 1, POSTS - 1, 2, true));
+
+        assertEquals(POSTS - 1, postRepository.count());
+        assertTrue(report.get(0).startsWith("{\"type\":\"rejected\",\"index\":10,"), report.get(0));
+        assertTrue(report.contains("{\"type\":\"rejected\",\"index\":250,\"error\":\"Expected a JSON object\"}"));
+        assertTrue(report.contains("{\"type\":\"progress\",\"processed\":101,\"imported\":100,\"rejected\":1}"));
+        assertEquals("{\"type\":\"done\",\"processed\":251,\"imported\":249,\"rejected\":2}",
+                report.get(report.size() - 1));
+        // ~5 generator round trips + 5 insert batches of 50; far below one statement per post
+        assertTrue(statistics.getPrepareStatementCount() < 25,
+                "expected batched inserts, got " + statistics.getPrepareStatementCount() + " statements");
+    }
+
+    /**
+     * NDJSON is accepted, and malformed JSON stops the import while keeping
+     * the records read before it.
+     */
+    @Test
+    void testImportNdjsonStopsAtMalformedJson() throws IOException {
+        String body = """
+                {"title":"First import","content":"One"}
+                {"title":"Second import","content":"Two"}
+                {"title":"Broken import","content":
+                """;
+
+        List<String> report = importPosts(body, new PostImportSummary(2, 2, 0, false));
+
+        assertEquals(2, postRepository.count());
+        assertTrue(report.get(0).startsWith("{\"type\":\"aborted\""), report.get(0));
+        assertEquals("{\"type\":\"done\",\"processed\":2,\"imported\":2,\"rejected\":0}", report.get(2));
+    }
+}
@@ -4,9 +4,14 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,9 +20,25 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+
+import com.example.blog.dto.PostJson;
+import com.example.blog.dto.PostPatch;
+import com.example.blog.dto.PostSummary;
+import com.example.blog.dto.PostVersion;
 import com.example.blog.entity.Post;
+import com.example.blog.event.PostChangedEvent;
+import com.example.blog.pagination.Cursor;
+import com.example.blog.pagination.CursorPage;
+import com.example.blog.repository.CommentRepository;
 import com.example.blog.repository.PostRepository;
 
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+
 /**
  * Unit tests for {@link PostService} using JUnit 5 and Mockito.
  * <p>
@@ -31,6 +52,18 @@ class PostServiceTest {
     @Mock
     private PostRepository postRepository;
 
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private PostService postService;
 
@@ -63,28 +96,93 @@ class PostServiceTest {
     }
 
     /**
-     * Tests retrieval of a post by ID when it exists.
-     * Expected: Should return the correct post.
+     * Tests keyset pagination when more rows exist than the page size.
+     * Expected: Should trim the look-ahead row and return a cursor to the last kept post.
+     */
+    @Test
+    void testGetPostsPage_HasNext() {
+        Post second = new Post(2L, "Second Title", "Second Content", null);
+        when(postRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2)))
+                .thenReturn(Arrays.asList(post, second));
+
+        CursorPage<Post> page = postService.getPostsPage(null, 1);
+        assertEquals(1, page.items().size());
+        assertEquals(Cursor.encode(1L), page.nextCursor());
+    }
+
+    /**
+     * Tests keyset pagination on the last page.
+     * Expected: Should return all rows and no cursor.
      */
     @Test
-    void testGetPostById_Exists() {
-        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+    void testGetPostsPage_LastPage() {
+        when(postRepository.findByIdGreaterThanOrderByIdAsc(5L, Limit.of(11)))
+                .thenReturn(Arrays.asList(post));
+
+        CursorPage<Post> page = postService.getPostsPage(5L, 10);
+        assertEquals(1, page.items().size());
+        assertFalse(page.hasNext());
+    }
+
+    /**
+     * Tests paging through summaries.
+     * Expected: Should delegate to the projection query and compute the cursor.
+     */
+    @Test
+    void testGetPostSummariesPage() {
+        PostSummary first = new PostSummary(1L, "Test Title", "Test", 0);
+        PostSummary second = new PostSummary(2L, "Other Title", "Other", 3);
+        when(postRepository.findSummariesAfter(0L, Limit.of(2))).thenReturn(Arrays.asList(first, second));
+
+        CursorPage<PostSummary> page = postService.getPostSummariesPage(null, 1);
+        assertEquals(1, page.items().size());
+        assertEquals(Cursor.encode(1L), page.nextCursor());
+        verify(postRepository, never()).findAll();
+    }
+
+    /**
+     * Tests the NDJSON export.
+     * Expected: Should write exactly one JSON object per line, with nothing
+     * between the newline and the next object, and detach each post.
+     */
+    @Test
+    void testExportPosts() throws Exception {
+        Post second = new Post(2L, "Second Title", "Line one\nline two", null);
+        when(postRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(post, second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = postService.exportPosts(out);
+
+        assertEquals(2, written);
+        assertArrayEquals(("{\"id\":1,\"title\":\"Test Title\",\"content\":\"Test Content\"}\n"
+                + "{\"id\":2,\"title\":\"Second Title\",\"content\":\"Line one\\nline two\"}\n")
+                .getBytes(StandardCharsets.UTF_8), out.toByteArray());
+        verify(entityManager).detach(post);
+        verify(entityManager).detach(second);
+    }
 
-        Post result = postService.getPostById(1L);
+    /**
+     * Tests retrieval of a post's JSON by ID when it exists.
+     * Expected: Should return the serialized post.
+     */
+    @Test
+    void testGetPostJson_Exists() {
+        when(postRepository.findWithCommentsById(1L)).thenReturn(Optional.of(post));
+
+        PostJson result = postService.getPostJson(1L);
         assertNotNull(result);
-        assertEquals("Test Title", result.getTitle());
+        assertTrue(new String(result.body(), StandardCharsets.UTF_8).contains("\"title\":\"Test Title\""));
     }
 
     /**
-     * Tests retrieval of a post by ID when it does not exist.
+     * Tests retrieval of a post's JSON by ID when it does not exist.
      * Expected: Should return null.
      */
     @Test
-    void testGetPostById_NotExists() {
-        when(postRepository.findById(1L)).thenReturn(Optional.empty());
+    void testGetPostJson_NotExists() {
+        when(postRepository.findWithCommentsById(1L)).thenReturn(Optional.empty());
 
-        Post result = postService.getPostById(1L);
-        assertNull(result);
+        assertNull(postService.getPostJson(1L));
     }
 
     /**
@@ -98,24 +196,29 @@ class PostServiceTest {
         Post result = postService.createPost(post);
         assertNotNull(result);
         assertEquals("Test Title", result.getTitle());
+        verify(eventPublisher).publishEvent(PostChangedEvent.saved(post));
     }
 
     /**
      * Tests updating an existing post.
-     * Expected: Should return the updated post with new values.
+     * Expected: Should issue one UPDATE without loading the post and return
+     * the new version stamp.
      */
     @Test
     void testUpdatePost_Exists() {
         Post updatedPostDetails = new Post();
         updatedPostDetails.setTitle("Updated Title");
         updatedPostDetails.setContent("Updated Content");
+        PostVersion version = new PostVersion(1L, 3L, Instant.parse("2025-01-01T00:00:00Z"));
 
-        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
-        when(postRepository.save(any(Post.class))).thenReturn(updatedPostDetails);
+        when(validator.validate(updatedPostDetails)).thenReturn(Set.of());
+        when(postRepository.updateTitleAndContent(eq(1L), eq("Updated Title"), eq("Updated Content"), any()))
+                .thenReturn(1);
+        when(postRepository.findVersionById(1L)).thenReturn(Optional.of(version));
 
-        Post result = postService.updatePost(1L, updatedPostDetails);
-        assertNotNull(result);
-        assertEquals("Updated Title", result.getTitle());
+        assertEquals(version, postService.updatePost(1L, updatedPostDetails));
+        verify(postRepository, never()).findById(any());
+        verify(eventPublisher).publishEvent(new PostChangedEvent(1L, "Updated Title", "Updated Content", 3L, false));
     }
 
     /**
@@ -124,21 +227,81 @@ class PostServiceTest {
      */
     @Test
     void testUpdatePost_NotExists() {
-        when(postRepository.findById(1L)).thenReturn(Optional.empty());
+        when(validator.validate(post)).thenReturn(Set.of());
+        when(postRepository.updateTitleAndContent(eq(1L), any(), any(), any())).thenReturn(0);
+
+        assertNull(postService.updatePost(1L, post));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    /**
+     * Tests updating a post with invalid values.
+     * Expected: Should throw without touching the database.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testUpdatePost_Invalid() {
+        when(validator.validate(post)).thenReturn(Set.of(mock(ConstraintViolation.class)));
+
+        assertThrows(ConstraintViolationException.class, () -> postService.updatePost(1L, post));
+        verifyNoInteractions(postRepository, eventPublisher);
+    }
+
+    /**
+     * Tests patching only the title of a post.
+     * Expected: Should issue the title-only UPDATE and publish an event
+     * without content.
+     */
+    @Test
+    void testPatchPost_TitleOnly() {
+        PostVersion version = new PostVersion(1L, 4L, Instant.parse("2025-01-01T00:00:00Z"));
+        when(postRepository.updateTitle(eq(1L), eq("Fixed Title"), any())).thenReturn(1);
+        when(postRepository.findVersionById(1L)).thenReturn(Optional.of(version));
 
-        Post result = postService.updatePost(1L, post);
-        assertNull(result);
+        assertEquals(version, postService.patchPost(1L, new PostPatch("Fixed Title", null)));
+        verify(postRepository, never()).updateContent(any(), any(), any());
+        verify(postRepository, never()).updateTitleAndContent(any(), any(), any(), any());
+        verify(eventPublisher).publishEvent(PostChangedEvent.patched(1L, "Fixed Title", null, 4L));
+    }
+
+    /**
+     * Tests an empty patch.
+     * Expected: Should write nothing and return the current version stamp.
+     */
+    @Test
+    void testPatchPost_Empty() {
+        PostVersion version = new PostVersion(1L, 2L, null);
+        when(postRepository.findVersionById(1L)).thenReturn(Optional.of(version));
+
+        assertEquals(version, postService.patchPost(1L, new PostPatch(null, null)));
+        verify(postRepository, never()).updateTitle(any(), any(), any());
+        verifyNoInteractions(eventPublisher);
     }
 
     /**
      * Tests deleting a post.
-     * Expected: Should invoke deleteById() method of repository once.
+     * Expected: Should delete the comments and then the post with one
+     * statement each, without loading either.
      */
     @Test
     void testDeletePost() {
-        doNothing().when(postRepository).deleteById(1L);
+        when(postRepository.deleteByIdInBulk(1L)).thenReturn(1);
+
+        assertTrue(postService.deletePost(1L));
+        verify(commentRepository).deleteAllByPostIdInBulk(1L);
+        verify(postRepository, never()).deleteById(any());
+        verify(eventPublisher).publishEvent(PostChangedEvent.deleted(1L));
+    }
+
+    /**
+     * Tests deleting a post that does not exist.
+     * Expected: Should return false and publish nothing.
+     */
+    @Test
+    void testDeletePost_NotExists() {
+        when(postRepository.deleteByIdInBulk(1L)).thenReturn(0);
 
-        assertDoesNotThrow(() -> postService.deletePost(1L));
-        verify(postRepository, times(1)).deleteById(1L);
+        assertFalse(postService.deletePost(1L));
+        verifyNoInteractions(eventPublisher);
     }
 }
@@ -0,0 +1,73 @@
+package com.example.blog.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.blog.dto.CommentView;
+import com.example.blog.dto.PostJson;
+import com.example.blog.dto.PostView;
+import com.example.blog.entity.Comment;
+import com.example.blog.entity.Post;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Unit tests for {@link ViewSerializers}.
+ */
+class ViewSerializersTest {
+
+    /**
+     * Configured like Spring Boot's default {@code ObjectMapper}.
+     */
+    private final ObjectMapper mapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private static Post post() {
+        Post post = new Post(7L, "Hand-tuned \"JSON\"", "Body with ünïcode\nand a newline", null);
+        post.setVersion(3L);
+        post.setUpdatedAt(Instant.parse("2025-03-01T10:15:30.123456Z"));
+        post.setCommentCount(2);
+        Comment first = new Comment(11L, "First", post);
+        first.setVersion(0L);
+        first.setUpdatedAt(Instant.parse("2025-03-01T10:00:00Z"));
+        Comment second = new Comment(12L, "Second", post); // never written: null version and timestamp
+        post.getComments().addAll(List.of(first, second));
+        return post;
+    }
+
+    /**
+     * Tests that the cached bytes are exactly what serializing the entity
+     * used to produce.
+     */
+    @Test
+    void testPostJsonMatchesEntitySerialization() throws Exception {
+        Post post = post();
+
+        String expected = mapper.writeValueAsString(post);
+        String actual = new String(PostJson.of(PostView.from(post)).body(), StandardCharsets.UTF_8);
+
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * Tests that views serialized through an {@code ObjectMapper} use the
+     * hand-written serializers.
+     */
+    @Test
+    void testObjectMapperUsesViewSerializers() throws Exception {
+        Post post = post();
+
+        assertEquals(mapper.writeValueAsString(post), mapper.writeValueAsString(PostView.from(post)));
+        assertEquals(mapper.writeValueAsString(post.getComments()),
+                mapper.writeValueAsString(post.getComments().stream().map(CommentView::from).toList()));
+    }
+}